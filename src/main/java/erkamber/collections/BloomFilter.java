@@ -0,0 +1,126 @@
+package erkamber.collections;
+
+/**
+ * A thread-safe Bloom filter of long keys, sized for an expected number of keys and a target false positive rate.
+ * <p>
+ * The filter never reports an added key as absent. It may report a key that was never added as present,
+ * with a probability close to the target rate as long as no more than the expected number of keys is added.
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+
+    private final long numberOfBits;
+
+    private final int numberOfHashes;
+
+    private long numberOfKeys;
+
+    public BloomFilter(long expectedKeys, double falsePositiveRate) {
+
+        if (expectedKeys <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+
+            throw new IllegalArgumentException("Expected keys must be positive and the false positive rate must be between 0 and 1");
+        }
+
+        long optimalBits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+
+        this.bits = new long[(int) Math.min((optimalBits + Long.SIZE - 1) / Long.SIZE, Integer.MAX_VALUE - 8)];
+        this.numberOfBits = (long) bits.length * Long.SIZE;
+        this.numberOfHashes = Math.max(1, (int) Math.round((double) numberOfBits / expectedKeys * Math.log(2)));
+    }
+
+    /**
+     * Adds a key to the filter.
+     *
+     * @param key The key to be added.
+     * @return True if the key was certainly not in the filter before, false if it might have been.
+     */
+    public synchronized boolean add(long key) {
+
+        long firstHash = mix(key);
+        long secondHash = mix(key ^ 0x9E3779B97F4A7C15L) | 1;
+
+        boolean added = false;
+
+        for (int i = 0; i < numberOfHashes; i++) {
+
+            long bitIndex = Math.floorMod(firstHash + i * secondHash, numberOfBits);
+
+            int wordIndex = (int) (bitIndex >>> 6);
+            long mask = 1L << bitIndex;
+
+            if ((bits[wordIndex] & mask) == 0) {
+
+                bits[wordIndex] |= mask;
+                added = true;
+            }
+        }
+
+        if (added) {
+
+            numberOfKeys++;
+        }
+
+        return added;
+    }
+
+    /**
+     * Checks whether a key might have been added to the filter.
+     *
+     * @param key The key to be checked.
+     * @return False if the key was certainly never added, true if it might have been.
+     */
+    public synchronized boolean mightContain(long key) {
+
+        long firstHash = mix(key);
+        long secondHash = mix(key ^ 0x9E3779B97F4A7C15L) | 1;
+
+        for (int i = 0; i < numberOfHashes; i++) {
+
+            long bitIndex = Math.floorMod(firstHash + i * secondHash, numberOfBits);
+
+            if ((bits[(int) (bitIndex >>> 6)] & (1L << bitIndex)) == 0) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Retrieves the number of keys that were added while not yet present in the filter.
+     */
+    public synchronized long size() {
+
+        return numberOfKeys;
+    }
+
+    /**
+     * Estimates the false positive rate of the filter with its current number of keys.
+     */
+    public synchronized double estimateFalsePositiveRate() {
+
+        return Math.pow(1 - Math.exp(-(double) numberOfHashes * numberOfKeys / numberOfBits), numberOfHashes);
+    }
+
+    public long getNumberOfBits() {
+
+        return numberOfBits;
+    }
+
+    /**
+     * Spreads the bits of a key over the whole hash, using the finalizer of MurmurHash3.
+     */
+    private static long mix(long key) {
+
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB93FE53B3D95L;
+        key ^= key >>> 33;
+
+        return key;
+    }
+}
@@ -0,0 +1,100 @@
+package erkamber.collections;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A thread-safe map holding at most a fixed number of entries, evicting the least recently used entry when full.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public class BoundedLruCache<K, V> {
+
+    private final int maxSize;
+
+    private final LinkedHashMap<K, V> entries;
+
+    public BoundedLruCache(int maxSize) {
+
+        if (maxSize <= 0) {
+
+            throw new IllegalArgumentException("Cache size must be Positive number");
+        }
+
+        this.maxSize = maxSize;
+
+        // Access order makes every get move the entry to the end, so the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+
+                return size() > BoundedLruCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+
+        return entries.get(key);
+    }
+
+    public synchronized boolean containsKey(K key) {
+
+        return entries.containsKey(key);
+    }
+
+    public synchronized void put(K key, V value) {
+
+        entries.put(key, value);
+    }
+
+    /**
+     * Returns the cached value of a key, loading and caching it if absent. Null values are not cached.
+     * The loader runs outside the lock, so concurrent misses of the same key may load it more than once.
+     *
+     * @param key    The key to look up.
+     * @param loader Loads the value of a missing key.
+     * @return The cached or loaded value.
+     */
+    public V computeIfAbsent(K key, Function<K, V> loader) {
+
+        V value = get(key);
+
+        if (value != null) {
+
+            return value;
+        }
+
+        value = loader.apply(key);
+
+        if (value != null) {
+
+            put(key, value);
+        }
+
+        return value;
+    }
+
+    public synchronized void remove(K key) {
+
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+
+        entries.clear();
+    }
+
+    public synchronized int size() {
+
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+
+        return maxSize;
+    }
+}
@@ -0,0 +1,156 @@
+package erkamber.collections;
+
+import java.util.Arrays;
+
+/**
+ * A HyperLogLog sketch estimating the number of distinct long values added to it, in a fixed number of one-byte registers.
+ * <p>
+ * The standard error of the estimate is about 1.04 / sqrt(number of registers). Two sketches are merged by taking the
+ * maximum of every register, so sketches of separate time windows can be combined into the sketch of the whole window.
+ * The sketch is not thread-safe.
+ */
+public class HyperLogLog {
+
+    public static final int PRECISION = 11;
+
+    public static final int NUMBER_OF_REGISTERS = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / NUMBER_OF_REGISTERS);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+
+        this.registers = new byte[NUMBER_OF_REGISTERS];
+    }
+
+    private HyperLogLog(byte[] registers) {
+
+        this.registers = registers;
+    }
+
+    /**
+     * Restores a sketch from the registers returned by {@link #toByteArray()}.
+     *
+     * @throws IllegalArgumentException If the number of registers does not match the precision of this class.
+     */
+    public static HyperLogLog fromByteArray(byte[] registers) {
+
+        if (registers.length != NUMBER_OF_REGISTERS) {
+
+            throw new IllegalArgumentException("Expected " + NUMBER_OF_REGISTERS + " registers, got " + registers.length);
+        }
+
+        return new HyperLogLog(Arrays.copyOf(registers, NUMBER_OF_REGISTERS));
+    }
+
+    /**
+     * Adds a value to the sketch.
+     *
+     * @return True if a register changed, which means the value was certainly not added before.
+     */
+    public boolean add(long value) {
+
+        long hash = mix(value);
+
+        int registerIndex = (int) (hash >>> (Long.SIZE - PRECISION));
+
+        // Rank of the first set bit in the remaining bits, capped when all of them are zero
+        byte rank = (byte) Math.min(Long.numberOfLeadingZeros(hash << PRECISION) + 1, Long.SIZE - PRECISION + 1);
+
+        if (rank > registers[registerIndex]) {
+
+            registers[registerIndex] = rank;
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Merges another sketch into this one, so this sketch estimates the distinct values added to either.
+     */
+    public void merge(HyperLogLog other) {
+
+        for (int i = 0; i < NUMBER_OF_REGISTERS; i++) {
+
+            if (other.registers[i] > registers[i]) {
+
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Estimates the number of distinct values added to the sketch, using linear counting while many registers are empty.
+     */
+    public long estimate() {
+
+        double inverseSum = 0;
+
+        int emptyRegisters = 0;
+
+        for (byte register : registers) {
+
+            inverseSum += 1.0 / (1L << register);
+
+            if (register == 0) {
+
+                emptyRegisters++;
+            }
+        }
+
+        double estimate = ALPHA * NUMBER_OF_REGISTERS * NUMBER_OF_REGISTERS / inverseSum;
+
+        if (estimate <= 2.5 * NUMBER_OF_REGISTERS && emptyRegisters > 0) {
+
+            estimate = NUMBER_OF_REGISTERS * Math.log((double) NUMBER_OF_REGISTERS / emptyRegisters);
+        }
+
+        return Math.round(estimate);
+    }
+
+    public byte[] toByteArray() {
+
+        return Arrays.copyOf(registers, NUMBER_OF_REGISTERS);
+    }
+
+    /**
+     * Copies the sketch, so the copy is not changed by values added to this sketch afterwards.
+     */
+    public HyperLogLog copy() {
+
+        return new HyperLogLog(toByteArray());
+    }
+
+    /**
+     * Two sketches are equal if all their registers are equal, which means merging one into the other changes nothing.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        HyperLogLog that = (HyperLogLog) o;
+        return Arrays.equals(registers, that.registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(registers);
+    }
+
+    /**
+     * Spreads the bits of a value over the whole hash, using the finalizer of MurmurHash3.
+     */
+    private static long mix(long value) {
+
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB93FE53B3D95L;
+        value ^= value >>> 33;
+
+        return value;
+    }
+}
@@ -0,0 +1,220 @@
+package erkamber.collections;
+
+import java.util.Arrays;
+
+/**
+ * A set of ints kept in a sorted primitive array, for compact posting lists of IDs.
+ * <p>
+ * Lookups use binary search and the set operations merge the sorted arrays in linear time without boxing.
+ * Instances are not thread-safe; callers guard them with their own lock.
+ */
+public class SortedIntSet {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] values;
+
+    private int size;
+
+    public SortedIntSet() {
+
+        this.values = new int[INITIAL_CAPACITY];
+    }
+
+    private SortedIntSet(int[] values, int size) {
+
+        this.values = values;
+        this.size = size;
+    }
+
+    public int size() {
+
+        return size;
+    }
+
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    public boolean contains(int value) {
+
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    /**
+     * Adds a value, keeping the values sorted. Appending a value larger than all others costs O(1).
+     *
+     * @param value The value to be added.
+     * @return True if the value was added, false if it was already present.
+     */
+    public boolean add(int value) {
+
+        int index = size == 0 || value > values[size - 1] ? -(size + 1) : Arrays.binarySearch(values, 0, size, value);
+
+        if (index >= 0) {
+
+            return false;
+        }
+
+        int insertionIndex = -(index + 1);
+
+        if (size == values.length) {
+
+            values = Arrays.copyOf(values, size * 2);
+        }
+
+        System.arraycopy(values, insertionIndex, values, insertionIndex + 1, size - insertionIndex);
+
+        values[insertionIndex] = value;
+        size++;
+
+        return true;
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param value The value to be removed.
+     * @return True if the value was removed, false if it was not present.
+     */
+    public boolean remove(int value) {
+
+        int index = Arrays.binarySearch(values, 0, size, value);
+
+        if (index < 0) {
+
+            return false;
+        }
+
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+
+        return true;
+    }
+
+    /**
+     * Retrieves the smallest values greater than a given value, in ascending order.
+     *
+     * @param afterValue The exclusive lower bound.
+     * @param limit      The maximum number of values to retrieve.
+     * @return The values greater than afterValue, at most limit of them.
+     */
+    public int[] getValuesAfter(int afterValue, int limit) {
+
+        int index = Arrays.binarySearch(values, 0, size, afterValue);
+
+        int startIndex = index >= 0 ? index + 1 : -(index + 1);
+
+        int endIndex = (int) Math.min(size, (long) startIndex + limit);
+
+        return Arrays.copyOfRange(values, startIndex, endIndex);
+    }
+
+    /**
+     * Creates the intersection of two sets, walking the smaller set and binary searching the rest of the larger one.
+     */
+    public static SortedIntSet intersect(SortedIntSet first, SortedIntSet second) {
+
+        SortedIntSet smaller = first.size <= second.size ? first : second;
+
+        SortedIntSet larger = smaller == first ? second : first;
+
+        int[] result = new int[Math.max(smaller.size, INITIAL_CAPACITY)];
+
+        int resultSize = 0;
+
+        int largerIndex = 0;
+
+        for (int i = 0; i < smaller.size && largerIndex < larger.size; i++) {
+
+            int index = Arrays.binarySearch(larger.values, largerIndex, larger.size, smaller.values[i]);
+
+            if (index >= 0) {
+
+                result[resultSize++] = smaller.values[i];
+                largerIndex = index + 1;
+
+            } else {
+
+                largerIndex = -(index + 1);
+            }
+        }
+
+        return new SortedIntSet(result, resultSize);
+    }
+
+    /**
+     * Creates the union of two sets with a linear merge.
+     */
+    public static SortedIntSet union(SortedIntSet first, SortedIntSet second) {
+
+        int[] result = new int[Math.max(first.size + second.size, INITIAL_CAPACITY)];
+
+        int resultSize = 0;
+
+        int i = 0;
+
+        int j = 0;
+
+        while (i < first.size && j < second.size) {
+
+            int firstValue = first.values[i];
+
+            int secondValue = second.values[j];
+
+            if (firstValue <= secondValue) {
+
+                result[resultSize++] = firstValue;
+                i++;
+
+                if (firstValue == secondValue) {
+                    j++;
+                }
+
+            } else {
+
+                result[resultSize++] = secondValue;
+                j++;
+            }
+        }
+
+        while (i < first.size) {
+            result[resultSize++] = first.values[i++];
+        }
+
+        while (j < second.size) {
+            result[resultSize++] = second.values[j++];
+        }
+
+        return new SortedIntSet(result, resultSize);
+    }
+
+    /**
+     * Creates the set of values of the first set that are not in the second set with a linear merge.
+     */
+    public static SortedIntSet difference(SortedIntSet first, SortedIntSet second) {
+
+        int[] result = new int[Math.max(first.size, INITIAL_CAPACITY)];
+
+        int resultSize = 0;
+
+        int j = 0;
+
+        for (int i = 0; i < first.size; i++) {
+
+            int value = first.values[i];
+
+            while (j < second.size && second.values[j] < value) {
+                j++;
+            }
+
+            if (j >= second.size || second.values[j] != value) {
+
+                result[resultSize++] = value;
+            }
+        }
+
+        return new SortedIntSet(result, resultSize);
+    }
+}
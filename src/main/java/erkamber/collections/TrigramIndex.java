@@ -0,0 +1,205 @@
+package erkamber.collections;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A thread-safe index from the case-insensitive trigrams (three consecutive characters) of texts to the IDs of the texts.
+ * <p>
+ * A text can only contain a substring of at least three characters if it contains every trigram of the substring,
+ * so intersecting the posting lists of those trigrams yields a small candidate set for a substring search.
+ * The candidates are a superset of the matches and have to be verified against the texts themselves.
+ */
+public class TrigramIndex {
+
+    public static final int TRIGRAM_LENGTH = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, SortedIntSet> idsByTrigram = new HashMap<>();
+
+    // Trigrams of every indexed text, needed to remove the text again
+    private final Map<Integer, long[]> trigramsByID = new HashMap<>();
+
+    /**
+     * Indexes a text, replacing the previously indexed text with the same ID.
+     *
+     * @param id   The ID of the text.
+     * @param text The text to be indexed.
+     */
+    public void put(int id, String text) {
+
+        long[] trigrams = extractTrigrams(text);
+
+        lock.writeLock().lock();
+
+        try {
+
+            removeUnderLock(id);
+
+            for (long trigram : trigrams) {
+
+                idsByTrigram.computeIfAbsent(trigram, key -> new SortedIntSet()).add(id);
+            }
+
+            trigramsByID.put(id, trigrams);
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an indexed text.
+     *
+     * @param id The ID of the text.
+     */
+    public void remove(int id) {
+
+        lock.writeLock().lock();
+
+        try {
+
+            removeUnderLock(id);
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+
+        lock.writeLock().lock();
+
+        try {
+
+            idsByTrigram.clear();
+            trigramsByID.clear();
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+
+        lock.readLock().lock();
+
+        try {
+
+            return trigramsByID.size();
+
+        } finally {
+
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the IDs of the texts that may contain a substring, ignoring case.
+     *
+     * @param substring The searched substring.
+     * @return The candidate IDs in ascending order, or null if the substring is shorter than {@value #TRIGRAM_LENGTH}
+     * characters and the index cannot narrow the search.
+     */
+    public int[] findCandidateIDs(String substring) {
+
+        long[] trigrams = extractTrigrams(substring);
+
+        if (trigrams.length == 0) {
+
+            return null;
+        }
+
+        lock.readLock().lock();
+
+        try {
+
+            List<SortedIntSet> postingLists = new ArrayList<>(trigrams.length);
+
+            for (long trigram : trigrams) {
+
+                SortedIntSet ids = idsByTrigram.get(trigram);
+
+                if (ids == null) {
+
+                    return new int[0];
+                }
+
+                postingLists.add(ids);
+            }
+
+            // Intersect from the rarest trigram, so the intermediate results stay small
+            postingLists.sort(Comparator.comparingInt(SortedIntSet::size));
+
+            SortedIntSet candidates = postingLists.get(0);
+
+            for (int i = 1; i < postingLists.size() && !candidates.isEmpty(); i++) {
+
+                candidates = SortedIntSet.intersect(candidates, postingLists.get(i));
+            }
+
+            return candidates.getValuesAfter(Integer.MIN_VALUE, candidates.size());
+
+        } finally {
+
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeUnderLock(int id) {
+
+        long[] trigrams = trigramsByID.remove(id);
+
+        if (trigrams == null) {
+
+            return;
+        }
+
+        for (long trigram : trigrams) {
+
+            SortedIntSet ids = idsByTrigram.get(trigram);
+
+            ids.remove(id);
+
+            if (ids.isEmpty()) {
+
+                idsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Extracts the distinct lower-case trigrams of a text, each packed into a long of three 16-bit characters.
+     */
+    private static long[] extractTrigrams(String text) {
+
+        if (text == null || text.length() < TRIGRAM_LENGTH) {
+
+            return new long[0];
+        }
+
+        Set<Long> trigrams = new HashSet<>();
+
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+
+            trigrams.add(((long) Character.toLowerCase(text.charAt(i)) << 32)
+                    | ((long) Character.toLowerCase(text.charAt(i + 1)) << 16)
+                    | Character.toLowerCase(text.charAt(i + 2)));
+        }
+
+        long[] distinctTrigrams = new long[trigrams.size()];
+
+        int index = 0;
+
+        for (Long trigram : trigrams) {
+
+            distinctTrigrams[index++] = trigram;
+        }
+
+        return distinctTrigrams;
+    }
+}
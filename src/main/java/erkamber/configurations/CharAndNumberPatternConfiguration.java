@@ -2,12 +2,14 @@ package erkamber.configurations;
 
 import org.springframework.context.annotation.Configuration;
 
+import java.util.regex.Pattern;
+
 @Configuration
 public class CharAndNumberPatternConfiguration {
 
-    String charAndNumberPattern = "([A-Za-z_]{5,15})\\w+";
+    Pattern charAndNumberPattern = Pattern.compile("([A-Za-z_]{5,15})\\w+");
 
-    public String getCharAndNumberPattern() {
+    public Pattern getCharAndNumberPattern() {
 
         return charAndNumberPattern;
     }
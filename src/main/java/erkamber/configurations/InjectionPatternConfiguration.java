@@ -2,20 +2,25 @@ package erkamber.configurations;
 
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Configuration
 public class InjectionPatternConfiguration {
 
-    String injectionPattern = ".*[;|&$`\\\'\"<>].*";
+    // Characters that may start a shell or markup injection
+    String injectionCharacters = ";|&$`'\"<>";
 
-    String sqlInjectionPattern = ".*\\b(ALTER|CREATE|DELETE|DROP|EXEC(UTE){0,1}|INSERT( +INTO){0,1}|MERGE|SELECT|UPDATE)\\b.*";
+    // Upper-case SQL keywords that are rejected when they appear as a whole word
+    List<String> sqlInjectionKeywords = List.of("ALTER", "CREATE", "DELETE", "DROP", "EXEC", "EXECUTE", "INSERT", "MERGE",
+            "SELECT", "UPDATE");
 
-    public String getInjectionPattern() {
+    public String getInjectionCharacters() {
 
-        return injectionPattern;
+        return injectionCharacters;
     }
 
-    public String getSqlInjectionPattern() {
+    public List<String> getSqlInjectionKeywords() {
 
-        return sqlInjectionPattern;
+        return sqlInjectionKeywords;
     }
 }
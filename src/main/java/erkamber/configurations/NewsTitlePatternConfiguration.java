@@ -2,12 +2,14 @@ package erkamber.configurations;
 
 import org.springframework.context.annotation.Configuration;
 
+import java.util.regex.Pattern;
+
 @Configuration
 public class NewsTitlePatternConfiguration {
 
-    String newsTitlePattern = "^[a-zA-Z0-9?!,.\\s]+$";
+    Pattern newsTitlePattern = Pattern.compile("^[a-zA-Z0-9?!,.\\s]+$");
 
-    public String getNewsTitlePattern() {
+    public Pattern getNewsTitlePattern() {
 
         return newsTitlePattern;
     }
@@ -2,12 +2,14 @@ package erkamber.configurations;
 
 import org.springframework.context.annotation.Configuration;
 
+import java.util.regex.Pattern;
+
 @Configuration
 public class OnlyCharPatternConfiguration {
 
-    String onlyCharPattern = "^[A-Za-z]+$";
+    Pattern onlyCharPattern = Pattern.compile("^[A-Za-z]+$");
 
-    public String getOnlyCharPattern() {
+    public Pattern getOnlyCharPattern() {
 
         return onlyCharPattern;
     }
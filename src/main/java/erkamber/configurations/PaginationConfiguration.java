@@ -0,0 +1,37 @@
+package erkamber.configurations;
+
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PaginationConfiguration {
+
+    int defaultPageSize = 20;
+
+    int maxPageSize = 100;
+
+    public int getDefaultPageSize() {
+
+        return defaultPageSize;
+    }
+
+    public int getMaxPageSize() {
+
+        return maxPageSize;
+    }
+
+    /**
+     * Resolves the page size of a request, falling back to the default size and capping it at the maximum size.
+     *
+     * @param requestedPageSize The page size requested by the client, or null if none was provided.
+     * @return The page size to be used.
+     */
+    public int getPageSize(Integer requestedPageSize) {
+
+        if (requestedPageSize == null || requestedPageSize <= 0) {
+
+            return defaultPageSize;
+        }
+
+        return Math.min(requestedPageSize, maxPageSize);
+    }
+}
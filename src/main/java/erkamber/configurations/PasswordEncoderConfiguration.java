@@ -1,15 +1,29 @@
 package erkamber.configurations;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 @Configuration
 public class PasswordEncoderConfiguration {
 
-    BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    int bcryptStrength;
+
+    BCryptPasswordEncoder passwordEncoder;
+
+    public PasswordEncoderConfiguration(@Value("${newslinker.security.bcrypt-strength:10}") int bcryptStrength) {
+
+        this.bcryptStrength = bcryptStrength;
+        this.passwordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+    }
 
     public BCryptPasswordEncoder passwordEncoder() {
 
         return passwordEncoder;
     }
+
+    public int getBcryptStrength() {
+
+        return bcryptStrength;
+    }
 }
@@ -2,12 +2,14 @@ package erkamber.configurations;
 
 import org.springframework.context.annotation.Configuration;
 
+import java.util.regex.Pattern;
+
 @Configuration
 public class PasswordPatternConfiguration {
 
-    String passwordPattern = "^(?=.*[a-z])(?=.*[A-Z])(?=.*[@-_~])(?=.*[0-9])[A-Za-z@-_~0-9|]{6,20}$";
+    Pattern passwordPattern = Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*[@-_~])(?=.*[0-9])[A-Za-z@-_~0-9|]{6,20}$");
 
-    public String getPasswordPattern() {
+    public Pattern getPasswordPattern() {
 
         return passwordPattern;
     }
@@ -3,6 +3,7 @@ package erkamber.controllers;
 
 import erkamber.dtos.CommentDetailedDto;
 import erkamber.dtos.CommentDto;
+import erkamber.dtos.CursorPageDto;
 import erkamber.services.interfaces.CommentService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.mail.MessagingException;
 import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Positive;
 import java.net.URI;
 import java.time.LocalDate;
@@ -37,9 +39,12 @@ public class CommentController {
     }
 
     @GetMapping("/comments")
-    public ResponseEntity<List<CommentDetailedDto>> getAllComments() {
+    public ResponseEntity<CursorPageDto<CommentDetailedDto>> getAllComments(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                            @RequestParam(value = "size", required = false)
+                                                                            @Positive(message = "Page size must be a Positive number!")
+                                                                            Integer size) {
 
-        return ResponseEntity.ok(commentService.getAllComments());
+        return ResponseEntity.ok(commentService.getAllComments(cursor, size));
     }
 
     @GetMapping(value = "/comments", params = {"newsId", "beforeCreationDate"})
@@ -65,14 +70,19 @@ public class CommentController {
     }
 
     @GetMapping(value = "/comments", params = {"newsId", "creationDate"})
-    public ResponseEntity<List<CommentDetailedDto>> getCommentsByNewsIDAndCreationDate(@RequestParam("newsId")
-                                                                                       @Positive(message = "News ID must be a Positive number!")
-                                                                                       int newsID,
-                                                                                       @RequestParam("creationDate")
-                                                                                       @DateTimeFormat(pattern = "yyyy-MM-dd")
-                                                                                       LocalDate creationDate) {
-
-        return ResponseEntity.ok(commentService.getCommentsByNewsIDAndIDCreationDate(newsID, creationDate));
+    public ResponseEntity<CursorPageDto<CommentDetailedDto>> getCommentsByNewsIDAndCreationDate(@RequestParam("newsId")
+                                                                                                @Positive(message = "News ID must be a Positive number!")
+                                                                                                int newsID,
+                                                                                                @RequestParam("creationDate")
+                                                                                                @DateTimeFormat(pattern = "yyyy-MM-dd")
+                                                                                                LocalDate creationDate,
+                                                                                                @RequestParam(value = "cursor", required = false)
+                                                                                                String cursor,
+                                                                                                @RequestParam(value = "size", required = false)
+                                                                                                @Positive(message = "Page size must be a Positive number!")
+                                                                                                Integer size) {
+
+        return ResponseEntity.ok(commentService.getCommentsByNewsIDAndIDCreationDate(newsID, creationDate, cursor, size));
     }
 
     @GetMapping(value = "/comments", params = {"newsId"})
@@ -91,6 +101,19 @@ public class CommentController {
         return ResponseEntity.ok(commentService.getCommentsByUserID(userID));
     }
 
+    @GetMapping(value = "/comments", params = {"contains"})
+    public ResponseEntity<CursorPageDto<CommentDetailedDto>> getCommentsByContainingWord(@RequestParam("contains")
+                                                                                         @NotBlank(message = "Searched word cannot be Blank!!")
+                                                                                         String contains,
+                                                                                         @RequestParam(value = "cursor", required = false)
+                                                                                         String cursor,
+                                                                                         @RequestParam(value = "size", required = false)
+                                                                                         @Positive(message = "Page size must be a Positive number!")
+                                                                                         Integer size) {
+
+        return ResponseEntity.ok(commentService.getCommentsByContainingWord(contains, cursor, size));
+    }
+
     @GetMapping("/comments/{commentId}")
     public ResponseEntity<CommentDetailedDto> getViewByID(@PathVariable int commentId) {
 
@@ -1,6 +1,7 @@
 package erkamber.controllers;
 
 
+import erkamber.dtos.CursorPageDto;
 import erkamber.dtos.FeedbackDto;
 import erkamber.services.implementations.FeedbackServiceImpl;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -38,9 +39,12 @@ public class FeedbackController {
     }
 
     @GetMapping("/feedbacks")
-    public ResponseEntity<List<FeedbackDto>> getAllFeedbacks() {
+    public ResponseEntity<CursorPageDto<FeedbackDto>> getAllFeedbacks(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                      @RequestParam(value = "size", required = false)
+                                                                      @Positive(message = "Page size must be a Positive number!")
+                                                                      Integer size) {
 
-        return ResponseEntity.ok(feedbackService.getAllFeedbacks());
+        return ResponseEntity.ok(feedbackService.getAllFeedbacks(cursor, size));
     }
 
     @GetMapping(value = "/feedbacks", params = {"authorId"})
@@ -103,12 +107,17 @@ public class FeedbackController {
 
 
     @GetMapping(value = "/feedbacks", params = {"contains"})
-    public ResponseEntity<List<FeedbackDto>> getFeedbackByContainingWord(@RequestParam("contains")
-                                                                         @NotNull(message = "Searched word cannot be Null!!")
-                                                                         @NotEmpty(message = "Searched word cannot be Empty!!")
-                                                                         @NotBlank(message = "Searched word cannot be Blank!!")
-                                                                         String contains) {
-
-        return ResponseEntity.ok(feedbackService.getFeedbackByContainingWord(contains));
+    public ResponseEntity<CursorPageDto<FeedbackDto>> getFeedbackByContainingWord(@RequestParam("contains")
+                                                                                  @NotNull(message = "Searched word cannot be Null!!")
+                                                                                  @NotEmpty(message = "Searched word cannot be Empty!!")
+                                                                                  @NotBlank(message = "Searched word cannot be Blank!!")
+                                                                                  String contains,
+                                                                                  @RequestParam(value = "cursor", required = false)
+                                                                                  String cursor,
+                                                                                  @RequestParam(value = "size", required = false)
+                                                                                  @Positive(message = "Page size must be a Positive number!")
+                                                                                  Integer size) {
+
+        return ResponseEntity.ok(feedbackService.getFeedbackByContainingWord(contains, cursor, size));
     }
 }
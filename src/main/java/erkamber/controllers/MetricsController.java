@@ -0,0 +1,72 @@
+package erkamber.controllers;
+
+import erkamber.dtos.CascadeDeleteMetricsDto;
+import erkamber.dtos.PasswordHashingMetricsDto;
+import erkamber.dtos.TagDictionaryMetricsDto;
+import erkamber.dtos.ViewDeduplicationMetricsDto;
+import erkamber.dtos.ViewRecordingMetricsDto;
+import erkamber.services.interfaces.CascadeDeleteService;
+import erkamber.services.interfaces.PasswordHashingService;
+import erkamber.services.interfaces.TagService;
+import erkamber.services.interfaces.ViewDeduplicationService;
+import erkamber.services.interfaces.ViewRecordingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = {"http://localhost:3000", "https://news-linker-fe.vercel.app"})
+@RestController
+@RequestMapping("/api/v1")
+@Validated
+public class MetricsController {
+
+    private final PasswordHashingService passwordHashingService;
+
+    private final TagService tagService;
+
+    private final ViewRecordingService viewRecordingService;
+
+    private final ViewDeduplicationService viewDeduplicationService;
+
+    private final CascadeDeleteService cascadeDeleteService;
+
+    public MetricsController(PasswordHashingService passwordHashingService, TagService tagService,
+                             ViewRecordingService viewRecordingService, ViewDeduplicationService viewDeduplicationService,
+                             CascadeDeleteService cascadeDeleteService) {
+        this.passwordHashingService = passwordHashingService;
+        this.tagService = tagService;
+        this.viewRecordingService = viewRecordingService;
+        this.viewDeduplicationService = viewDeduplicationService;
+        this.cascadeDeleteService = cascadeDeleteService;
+    }
+
+    @GetMapping("/metrics/password-hashing")
+    public ResponseEntity<PasswordHashingMetricsDto> getPasswordHashingMetrics() {
+
+        return ResponseEntity.ok(passwordHashingService.getMetrics());
+    }
+
+    @GetMapping("/metrics/tag-dictionary")
+    public ResponseEntity<TagDictionaryMetricsDto> getTagDictionaryMetrics() {
+
+        return ResponseEntity.ok(tagService.getTagDictionaryMetrics());
+    }
+
+    @GetMapping("/metrics/view-recording")
+    public ResponseEntity<ViewRecordingMetricsDto> getViewRecordingMetrics() {
+
+        return ResponseEntity.ok(viewRecordingService.getMetrics());
+    }
+
+    @GetMapping("/metrics/view-deduplication")
+    public ResponseEntity<ViewDeduplicationMetricsDto> getViewDeduplicationMetrics() {
+
+        return ResponseEntity.ok(viewDeduplicationService.getMetrics());
+    }
+
+    @GetMapping("/metrics/cascade-deletes")
+    public ResponseEntity<CascadeDeleteMetricsDto> getCascadeDeleteMetrics() {
+
+        return ResponseEntity.ok(cascadeDeleteService.getMetrics());
+    }
+}
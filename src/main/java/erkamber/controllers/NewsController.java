@@ -1,5 +1,6 @@
 package erkamber.controllers;
 
+import erkamber.dtos.CursorPageDto;
 import erkamber.dtos.NewsDetailedDto;
 import erkamber.dtos.NewsDto;
 import erkamber.services.interfaces.NewsService;
@@ -42,14 +43,34 @@ public class NewsController {
     }
 
     @GetMapping("/news")
-    public ResponseEntity<List<NewsDetailedDto>> getAllNews() {
-        List<NewsDetailedDto> allNews = this.newsService.getAllNews();
+    public ResponseEntity<CursorPageDto<NewsDetailedDto>> getAllNews(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                     @RequestParam(value = "size", required = false)
+                                                                     @Positive(message = "Page size must be a Positive number!")
+                                                                     Integer size) {
 
-        return ResponseEntity.ok(allNews);
+        return ResponseEntity.ok(newsService.getAllNews(cursor, size));
+    }
+
+    @GetMapping("/news/search")
+    public ResponseEntity<CursorPageDto<NewsDetailedDto>> searchNews(@RequestParam("query") String query,
+                                                                     @RequestParam(value = "cursor", required = false) String cursor,
+                                                                     @RequestParam(value = "size", required = false)
+                                                                     @Positive(message = "Page size must be a Positive number!")
+                                                                     Integer size) {
+
+        return ResponseEntity.ok(newsService.searchNews(query, cursor, size));
+    }
+
+    @PostMapping("/news/search/rebuild")
+    public ResponseEntity<Integer> rebuildSearchIndex() {
+
+        return ResponseEntity.ok(newsService.rebuildSearchIndex());
     }
 
     @GetMapping("/news/trending/{topNewsCount}")
-    public ResponseEntity<List<NewsDetailedDto>> getTrendingNews(@PathVariable int topNewsCount) {
+    public ResponseEntity<List<NewsDetailedDto>> getTrendingNews(@PathVariable
+                                                                 @Positive(message = "Trending News count must be a Positive number!")
+                                                                 int topNewsCount) {
 
         List<NewsDetailedDto> trendingNews = this.newsService.getTopTrendingNews(topNewsCount);
 
@@ -139,11 +160,22 @@ public class NewsController {
     }
 
     @DeleteMapping(value = "/news", params = {"userId"})
-    public void deleteNewsByAuthorID(@RequestParam("userId")
-                                     @Positive(message = "Author ID must be a Positive number!")
-                                     int authorID) {
+    public ResponseEntity<Void> deleteNewsByAuthorID(@RequestParam("userId")
+                                                     @Positive(message = "Author ID must be a Positive number!")
+                                                     int authorID,
+                                                     @RequestParam(value = "background", defaultValue = "false")
+                                                     boolean background) {
+
+        if (background) {
+
+            newsService.deleteNewsByAuthorIDInBackground(authorID);
+
+            return ResponseEntity.accepted().build();
+        }
 
         newsService.deleteNewsByAuthorID(authorID);
+
+        return ResponseEntity.ok().build();
     }
 
     @DeleteMapping(value = "/news", params = {"newsId"})
@@ -1,5 +1,7 @@
 package erkamber.controllers;
 
+import erkamber.dtos.CursorPageDto;
+import erkamber.dtos.NewsDetailedDto;
 import erkamber.dtos.NewsTagDetailedDto;
 import erkamber.dtos.NewsTagDto;
 import erkamber.requests.NewsTagDtoResponse;
@@ -65,6 +67,18 @@ public class NewsTagController {
         return ResponseEntity.ok(newsTagService.getNewsOfTag(tagID));
     }
 
+    @GetMapping("/newsTags/news")
+    public ResponseEntity<CursorPageDto<NewsDetailedDto>> findNewsByTags(@RequestParam(value = "all", required = false) List<Integer> allTagIDs,
+                                                                         @RequestParam(value = "any", required = false) List<Integer> anyTagIDs,
+                                                                         @RequestParam(value = "not", required = false) List<Integer> notTagIDs,
+                                                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                                                         @RequestParam(value = "size", required = false)
+                                                                         @Positive(message = "Page size must be a Positive number!")
+                                                                         Integer size) {
+
+        return ResponseEntity.ok(newsTagService.findNewsByTags(allTagIDs, anyTagIDs, notTagIDs, cursor, size));
+    }
+
     @DeleteMapping(value = "/newsTags", params = {"tagId"})
     public ResponseEntity<Integer> deleteNewsTagByTagID(@RequestParam("tagId")
                                                         @Positive(message = "Tag ID must be a Positive number!")
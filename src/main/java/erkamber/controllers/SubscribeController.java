@@ -1,5 +1,6 @@
 package erkamber.controllers;
 
+import erkamber.dtos.CursorPageDto;
 import erkamber.dtos.SubscribeDetailedDto;
 import erkamber.dtos.SubscribeDto;
 import erkamber.services.interfaces.SubscribeService;
@@ -33,9 +34,12 @@ public class SubscribeController {
     }
 
     @GetMapping("/subscribe")
-    public ResponseEntity<List<SubscribeDetailedDto>> getAllSubscriptions() {
+    public ResponseEntity<CursorPageDto<SubscribeDetailedDto>> getAllSubscriptions(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                                   @RequestParam(value = "size", required = false)
+                                                                                   @Positive(message = "Page size must be a Positive number!")
+                                                                                   Integer size) {
 
-        return ResponseEntity.ok(subscribeService.getAllSubscriptions());
+        return ResponseEntity.ok(subscribeService.getAllSubscriptions(cursor, size));
     }
 
     @GetMapping(value = "/subscribe", params = {"subscriberId"})
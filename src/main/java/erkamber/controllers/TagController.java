@@ -2,6 +2,7 @@ package erkamber.controllers;
 
 
 import erkamber.dtos.TagDto;
+import erkamber.services.implementations.TagPopularityServiceImpl;
 import erkamber.services.interfaces.TagService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -44,6 +45,16 @@ public class TagController {
         return ResponseEntity.ok(tagService.getTrendingTags());
     }
 
+    @GetMapping(value = "/tags/trending", params = {"days"})
+    public ResponseEntity<List<TagDto>> getTrendingTagsOfLastDays(@RequestParam("days")
+                                                                  @Positive(message = "Days must be a Positive number!")
+                                                                  @Max(value = TagPopularityServiceImpl.MAX_TRENDING_DAYS,
+                                                                          message = "Days must be at most 30!")
+                                                                  int days) {
+
+        return ResponseEntity.ok(tagService.getTrendingTags(days));
+    }
+
     @GetMapping("/tags/{tagId}")
     public ResponseEntity<TagDto> getTagByTagID(@PathVariable int tagId) {
 
@@ -136,10 +136,21 @@ public class UserController {
     }
 
     @DeleteMapping(value = "/users", params = {"userId"})
-    public void deleteUserByUserID(@RequestParam("userId")
-                                   @Positive(message = "User ID must be a Positive number!")
-                                   int userID) {
+    public ResponseEntity<Void> deleteUserByUserID(@RequestParam("userId")
+                                                   @Positive(message = "User ID must be a Positive number!")
+                                                   int userID,
+                                                   @RequestParam(value = "background", defaultValue = "false")
+                                                   boolean background) {
+
+        if (background) {
+
+            userService.deleteUserByIDInBackground(userID);
+
+            return ResponseEntity.accepted().build();
+        }
 
         userService.deleteUserByID(userID);
+
+        return ResponseEntity.ok().build();
     }
 }
@@ -1,8 +1,13 @@
 package erkamber.controllers;
 
 
+import erkamber.dtos.CursorPageDto;
+import erkamber.dtos.DailyViewCountDto;
+import erkamber.dtos.UniqueReadersDto;
 import erkamber.dtos.ViewDetailedDto;
 import erkamber.dtos.ViewDto;
+import erkamber.services.implementations.UniqueReaderServiceImpl;
+import erkamber.services.interfaces.UniqueReaderService;
 import erkamber.services.interfaces.ViewService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +15,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 import java.net.URI;
 import java.time.LocalDate;
@@ -23,8 +29,11 @@ public class ViewController {
 
     private final ViewService viewService;
 
-    public ViewController(ViewService viewService) {
+    private final UniqueReaderService uniqueReaderService;
+
+    public ViewController(ViewService viewService, UniqueReaderService uniqueReaderService) {
         this.viewService = viewService;
+        this.uniqueReaderService = uniqueReaderService;
     }
 
     @PostMapping("/views")
@@ -37,9 +46,12 @@ public class ViewController {
     }
 
     @GetMapping("/views")
-    public ResponseEntity<List<ViewDetailedDto>> getAllViews() {
+    public ResponseEntity<CursorPageDto<ViewDetailedDto>> getAllViews(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                      @RequestParam(value = "size", required = false)
+                                                                      @Positive(message = "Page size must be a Positive number!")
+                                                                      Integer size) {
 
-        return ResponseEntity.ok(viewService.getAllViews());
+        return ResponseEntity.ok(viewService.getAllViews(cursor, size));
     }
 
     @GetMapping(value = "/views/count", params = {"newsId"})
@@ -50,6 +62,46 @@ public class ViewController {
         return ResponseEntity.ok(viewService.getNumberOfViewsOfNews(newsID));
     }
 
+    @GetMapping(value = "/views/daily-counts", params = {"newsId", "startDate", "endDate"})
+    public ResponseEntity<List<DailyViewCountDto>> getDailyViewCountsOfNews(@RequestParam("newsId")
+                                                                            @Positive(message = "News ID must be a Positive number!")
+                                                                            int newsID,
+                                                                            @RequestParam("startDate")
+                                                                            @DateTimeFormat(pattern = "yyyy-MM-dd")
+                                                                            LocalDate startDate,
+                                                                            @RequestParam("endDate")
+                                                                            @DateTimeFormat(pattern = "yyyy-MM-dd")
+                                                                            LocalDate endDate) {
+
+        return ResponseEntity.ok(viewService.getDailyViewCountsOfNews(newsID, startDate, endDate));
+    }
+
+    @GetMapping(value = "/views/unique-readers", params = {"newsId"})
+    public ResponseEntity<UniqueReadersDto> getUniqueReadersOfNews(@RequestParam("newsId")
+                                                                   @Positive(message = "News ID must be a Positive number!")
+                                                                   int newsID,
+                                                                   @RequestParam(value = "days", defaultValue = "7")
+                                                                   @Positive(message = "Days must be a Positive number!")
+                                                                   @Max(value = UniqueReaderServiceImpl.MAX_WINDOW_DAYS,
+                                                                           message = "Days must be at most 90!")
+                                                                   int days) {
+
+        return ResponseEntity.ok(uniqueReaderService.getUniqueReadersOfNews(newsID, days));
+    }
+
+    @GetMapping(value = "/views/unique-readers", params = {"reporterId"})
+    public ResponseEntity<UniqueReadersDto> getUniqueReadersOfReporter(@RequestParam("reporterId")
+                                                                       @Positive(message = "Reporter ID must be a Positive number!")
+                                                                       int reporterID,
+                                                                       @RequestParam(value = "days", defaultValue = "7")
+                                                                       @Positive(message = "Days must be a Positive number!")
+                                                                       @Max(value = UniqueReaderServiceImpl.MAX_WINDOW_DAYS,
+                                                                               message = "Days must be at most 90!")
+                                                                       int days) {
+
+        return ResponseEntity.ok(uniqueReaderService.getUniqueReadersOfReporter(reporterID, days));
+    }
+
     @GetMapping(value = "/views", params = {"userId"})
     public ResponseEntity<List<ViewDetailedDto>> findViewByViewUserID(@RequestParam("userId")
                                                                       @Positive(message = "User ID must be a Positive number!")
@@ -1,5 +1,6 @@
 package erkamber.controllers;
 
+import erkamber.dtos.CursorPageDto;
 import erkamber.dtos.VoteDto;
 import erkamber.services.interfaces.VoteService;
 import org.springframework.http.ResponseEntity;
@@ -36,9 +37,24 @@ public class VoteController {
     }
 
     @GetMapping("/votes")
-    public ResponseEntity<List<VoteDto>> getAllVotes() {
+    public ResponseEntity<CursorPageDto<VoteDto>> getAllVotes(@RequestParam(value = "cursor", required = false) String cursor,
+                                                              @RequestParam(value = "size", required = false)
+                                                              @Positive(message = "Page size must be a Positive number!")
+                                                              Integer size) {
 
-        return ResponseEntity.ok(voteService.getAllVotes());
+        return ResponseEntity.ok(voteService.getAllVotes(cursor, size));
+    }
+
+    @GetMapping("/news/{newsId}/votes")
+    public ResponseEntity<CursorPageDto<VoteDto>> getVotesByNewsID(@PathVariable
+                                                                   @Positive(message = "News ID must be a Positive number!")
+                                                                   int newsId,
+                                                                   @RequestParam(value = "cursor", required = false) String cursor,
+                                                                   @RequestParam(value = "size", required = false)
+                                                                   @Positive(message = "Page size must be a Positive number!")
+                                                                   Integer size) {
+
+        return ResponseEntity.ok(voteService.getVotesByNewsID(newsId, cursor, size));
     }
 
     @GetMapping("/upVotes")
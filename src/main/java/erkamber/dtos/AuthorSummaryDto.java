@@ -0,0 +1,26 @@
+package erkamber.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.constraints.PositiveOrZero;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorSummaryDto {
+
+    @PositiveOrZero
+    private int userID;
+
+    private String userName;
+
+    private String userDisplayName;
+
+    private String userPhoto;
+
+    private boolean userReporter;
+}
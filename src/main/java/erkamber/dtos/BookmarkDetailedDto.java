@@ -16,7 +16,7 @@ public class BookmarkDetailedDto {
     private int bookmarkID;
 
     @NotNull(message = "User cannot be Null")
-    private UserDto user;
+    private AuthorSummaryDto user;
 
     @NotNull(message = "News cannot be Null")
     private NewsDetailedDto news;
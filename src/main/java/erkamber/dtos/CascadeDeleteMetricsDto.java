@@ -0,0 +1,29 @@
+package erkamber.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CascadeDeleteMetricsDto {
+
+    private int chunkSize;
+
+    private int queuedBackgroundDeletes;
+
+    private long completedBackgroundDeletes;
+
+    private long failedBackgroundDeletes;
+
+    private long rejectedBackgroundDeletes;
+
+    private long deletedNews;
+
+    private long deletedComments;
+
+    private long deletedUsers;
+}
@@ -16,7 +16,7 @@ public class CommentDetailedDto {
     private int commentID;
 
     @Positive
-    private UserDto author;
+    private AuthorSummaryDto author;
 
     @Positive
     private int commentNewsID;
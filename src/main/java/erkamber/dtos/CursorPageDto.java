@@ -0,0 +1,21 @@
+package erkamber.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Positive;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    private List<T> content;
+
+    private String nextCursor;
+
+    @Positive(message = "Page size must be Positive number")
+    private int pageSize;
+}
@@ -0,0 +1,19 @@
+package erkamber.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyViewCountDto {
+
+    private LocalDate viewDate;
+
+    private long viewCount;
+}
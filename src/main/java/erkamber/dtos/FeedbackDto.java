@@ -18,7 +18,7 @@ public class FeedbackDto {
     @PositiveOrZero
     int feedbackID;
 
-    UserDto authorDto;
+    AuthorSummaryDto authorDto;
 
     @NotBlank(message = "Feedback Content cannot be Blank")
     @NotEmpty(message = "Feedback Content cannot be Empty")
@@ -17,7 +17,7 @@ public class NewsDetailedDto {
     private int newsID;
 
     @NotNull
-    private UserDto authorDto;
+    private AuthorSummaryDto authorDto;
 
     @NotBlank(message = "News Title cannot be Blank")
     @NotEmpty(message = "News Title cannot be Empty")
@@ -48,7 +48,9 @@ public class NewsDetailedDto {
 
     private List<CommentDetailedDto> listOfComments;
 
-    private List<VoteDto> listOfUpVotes;
-
-    private List<VoteDto> listOfDownVotes;
+    /**
+     * The vote of the user viewing the article, or null if the article is not viewed by a logged user or the user has not voted.
+     * Every voter of the article is available through the paginated votes endpoint of the article.
+     */
+    private VoteDto callerVote;
 }
@@ -0,0 +1,31 @@
+package erkamber.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordHashingMetricsDto {
+
+    private int bcryptStrength;
+
+    private int poolSize;
+
+    private int activeWorkers;
+
+    private int queueDepth;
+
+    private int queueCapacity;
+
+    private long completedOperations;
+
+    private long rejectedOperations;
+
+    private double averageHashLatencyMillis;
+
+    private double maxHashLatencyMillis;
+}
@@ -15,8 +15,8 @@ public class SubscribeDetailedDto {
     private int subscribeID;
 
 
-    private UserDto subscriberID;
+    private AuthorSummaryDto subscriberID;
 
 
-    private UserDto subscribedToID;
+    private AuthorSummaryDto subscribedToID;
 }
@@ -0,0 +1,21 @@
+package erkamber.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagDictionaryMetricsDto {
+
+    private int dictionarySize;
+
+    private long hits;
+
+    private long misses;
+
+    private double hitRatio;
+}
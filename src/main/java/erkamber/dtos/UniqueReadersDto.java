@@ -0,0 +1,23 @@
+package erkamber.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UniqueReadersDto {
+
+    private int subjectID;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private long uniqueReaders;
+}
@@ -1,5 +1,6 @@
 package erkamber.dtos;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
 import javax.validation.constraints.*;
@@ -40,6 +41,7 @@ public class UserDto {
     @NotEmpty(message = "Password cannot be Empty")
     @NotNull(message = "Password cannot be Null")
     @Size(min = 5, max = 35, message = "Password must be 5 and 35 characters long")
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String userPassword;
 
     private String userPhoto;
@@ -0,0 +1,29 @@
+package erkamber.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ViewDeduplicationMetricsDto {
+
+    private LocalDate day;
+
+    private long expectedDailyViews;
+
+    private long filterBits;
+
+    private long distinctViewsOfDay;
+
+    private long countedViews;
+
+    private long duplicateViews;
+
+    private double estimatedFalsePositiveRate;
+}
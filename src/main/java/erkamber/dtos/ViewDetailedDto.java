@@ -22,5 +22,5 @@ public class ViewDetailedDto {
 
     private NewsDto newsDto;
 
-    private UserDto userDto;
+    private AuthorSummaryDto userDto;
 }
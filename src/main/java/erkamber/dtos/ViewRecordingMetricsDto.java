@@ -0,0 +1,31 @@
+package erkamber.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ViewRecordingMetricsDto {
+
+    private int queueDepth;
+
+    private int queueCapacity;
+
+    private int batchSize;
+
+    private long recordedViews;
+
+    private long writtenViews;
+
+    private long writtenBatches;
+
+    private long rejectedViews;
+
+    private long failedBatches;
+
+    private long droppedViews;
+}
@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = @Index(name = "idx_comments_news_creation_date", columnList = "news_id, comment_creation_date"))
 @Getter
 @Setter
 public class Comment {
@@ -0,0 +1,39 @@
+package erkamber.entities;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_view_counts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_view_counts_news_date", columnNames = {"news_id", "view_date"}),
+        indexes = @Index(name = "idx_daily_view_counts_view_date", columnList = "view_date"))
+@Getter
+@Setter
+public class DailyViewCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "daily_view_count_id", unique = true, updatable = false, insertable = false, nullable = false)
+    private int dailyViewCountID;
+
+    @Column(name = "news_id", unique = false, updatable = false, insertable = true, nullable = false)
+    private int newsID;
+
+    @Column(name = "view_date", unique = false, updatable = false, insertable = true, nullable = false)
+    private LocalDate viewDate;
+
+    @Column(name = "view_count", unique = false, updatable = true, insertable = true, nullable = false)
+    private long viewCount;
+
+    public DailyViewCount() {
+    }
+
+    public DailyViewCount(int newsID, LocalDate viewDate, long viewCount) {
+        this.newsID = newsID;
+        this.viewDate = viewDate;
+        this.viewCount = viewCount;
+    }
+}
@@ -0,0 +1,44 @@
+package erkamber.entities;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "unique_reader_sketches",
+        uniqueConstraints = @UniqueConstraint(name = "uk_unique_reader_sketches_subject_day",
+                columnNames = {"subject_type", "subject_id", "sketch_date"}),
+        indexes = @Index(name = "idx_unique_reader_sketches_date", columnList = "sketch_date"))
+@Getter
+@Setter
+public class UniqueReaderSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "sketch_id", unique = true, updatable = false, insertable = false, nullable = false)
+    private int sketchID;
+
+    @Column(name = "subject_type", length = 10, unique = false, updatable = false, insertable = true, nullable = false)
+    private String subjectType;
+
+    @Column(name = "subject_id", unique = false, updatable = false, insertable = true, nullable = false)
+    private int subjectID;
+
+    @Column(name = "sketch_date", unique = false, updatable = false, insertable = true, nullable = false)
+    private LocalDate sketchDate;
+
+    @Column(name = "registers", unique = false, updatable = true, insertable = true, nullable = false)
+    private byte[] registers;
+
+    public UniqueReaderSketch() {
+    }
+
+    public UniqueReaderSketch(String subjectType, int subjectID, LocalDate sketchDate, byte[] registers) {
+        this.subjectType = subjectType;
+        this.subjectID = subjectID;
+        this.sketchDate = sketchDate;
+        this.registers = registers;
+    }
+}
@@ -8,7 +8,9 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
-@Table(name = "views")
+@Table(name = "views", indexes = {
+        @Index(name = "idx_views_creation_date", columnList = "view_creation_date"),
+        @Index(name = "idx_views_news_creation_date", columnList = "view_news_id, view_creation_date")})
 @Getter
 @Setter
 public class View {
@@ -0,0 +1,28 @@
+package erkamber.entities;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "view_counts")
+@Getter
+@Setter
+public class ViewCount {
+
+    @Id
+    @Column(name = "news_id", unique = true, updatable = false, insertable = true, nullable = false)
+    private int newsID;
+
+    @Column(name = "view_count", unique = false, updatable = true, insertable = true, nullable = false)
+    private long viewCount;
+
+    public ViewCount() {
+    }
+
+    public ViewCount(int newsID, long viewCount) {
+        this.newsID = newsID;
+        this.viewCount = viewCount;
+    }
+}
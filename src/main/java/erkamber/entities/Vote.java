@@ -7,7 +7,9 @@ import lombok.Setter;
 import javax.persistence.*;
 
 @Entity
-@Table(name = "votes")
+@Table(name = "votes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_votes_user_content", columnNames = {"user_id", "content_id", "votedContentType"}),
+        indexes = @Index(name = "idx_votes_content", columnList = "content_id, votedContentType"))
 @Getter
 @Setter
 public class Vote {
@@ -1,16 +0,0 @@
-package erkamber.enums;
-
-public enum TopTrendingNewsListSize {
-
-    TRENDING_NEWS_LIST_SIZE;
-
-    private int topTrendingNewsListSize;
-
-    public int getTopTrendingNewsListSize() {
-        return topTrendingNewsListSize;
-    }
-
-    public void setTopTrendingNewsListSize(int size) {
-        this.topTrendingNewsListSize = size;
-    }
-}
\ No newline at end of file
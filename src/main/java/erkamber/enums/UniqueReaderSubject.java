@@ -0,0 +1,18 @@
+package erkamber.enums;
+
+public enum UniqueReaderSubject {
+
+    NEWS("news"),
+
+    REPORTER("reporter");
+
+    private final String type;
+
+    UniqueReaderSubject(String type) {
+        this.type = type;
+    }
+
+    public String getType() {
+        return type;
+    }
+}
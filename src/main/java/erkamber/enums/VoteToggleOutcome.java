@@ -0,0 +1,10 @@
+package erkamber.enums;
+
+public enum VoteToggleOutcome {
+
+    ADDED,
+
+    REMOVED,
+
+    SWAPPED
+}
@@ -109,4 +109,10 @@ public class GlobalExceptionHandler {
         logger.error("Caught exception: ", exception);
         return new ResponseEntity<>(exception.getMessage(), HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<String> handleTooManyRequestsException(TooManyRequestsException exception) {
+        logger.warn("Rejected request: {}", exception.getMessage());
+        return new ResponseEntity<>(exception.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+    }
 }
@@ -1,9 +1,9 @@
 package erkamber.mappers;
 
+import erkamber.dtos.AuthorSummaryDto;
 import erkamber.dtos.BookmarkDetailedDto;
 import erkamber.dtos.BookmarkDto;
 import erkamber.dtos.NewsDetailedDto;
-import erkamber.dtos.UserDto;
 import erkamber.entities.Bookmark;
 import org.springframework.stereotype.Component;
 
@@ -23,9 +23,9 @@ public class BookmarkMapper {
         return new Bookmark(bookmarkDto.getBookmarkID(), bookmarkDto.getUserID(), bookmarkDto.getNewsID());
     }
 
-    public BookmarkDetailedDto mapToBookmarkDetailedDto(int bookmarkID, UserDto userDto, NewsDetailedDto newsDetailedDto) {
+    public BookmarkDetailedDto mapToBookmarkDetailedDto(int bookmarkID, AuthorSummaryDto authorSummaryDto, NewsDetailedDto newsDetailedDto) {
 
-        return new BookmarkDetailedDto(bookmarkID, userDto, newsDetailedDto);
+        return new BookmarkDetailedDto(bookmarkID, authorSummaryDto, newsDetailedDto);
     }
 
     public List<BookmarkDto> mapListOfBookmarksToBookmarksDtos(List<Bookmark> listOfBookmarks) {
@@ -1,8 +1,8 @@
 package erkamber.mappers;
 
+import erkamber.dtos.AuthorSummaryDto;
 import erkamber.dtos.CommentDetailedDto;
 import erkamber.dtos.CommentDto;
-import erkamber.dtos.UserDto;
 import erkamber.entities.Comment;
 import org.springframework.stereotype.Component;
 
@@ -23,9 +23,9 @@ public class CommentMapper {
                 commentDto.getCreationDate());
     }
 
-    public CommentDetailedDto mapToCommentDetailedDto(Comment comment, UserDto userDto) {
+    public CommentDetailedDto mapToCommentDetailedDto(Comment comment, AuthorSummaryDto authorSummaryDto) {
 
-        return new CommentDetailedDto(comment.getCommentID(), userDto, comment.getCommentNewsID(),
+        return new CommentDetailedDto(comment.getCommentID(), authorSummaryDto, comment.getCommentNewsID(),
                 comment.getCommentContent(), comment.getCommentUpVotes(), comment.getCommentDownVotes(),
                 comment.getCreationDate());
     }
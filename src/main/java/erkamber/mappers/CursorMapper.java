@@ -0,0 +1,201 @@
+package erkamber.mappers;
+
+import erkamber.dtos.CursorPageDto;
+import erkamber.exceptions.InvalidInputException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Maps keyset (seek) pagination cursors to and from opaque tokens.
+ * <p>
+ * A cursor holds the ID of the last row of the previous page, so the next page is read with
+ * {@code WHERE id > cursor ORDER BY id LIMIT size + 1}, which costs the same on every page.
+ * <p>
+ * Result lists that are ranked rather than ordered by ID, such as search results, are paged with offset cursors instead,
+ * which hold the number of results already returned and cannot be used as keyset cursors or the other way round.
+ */
+@Component
+public class CursorMapper {
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    private static final String OFFSET_CURSOR_PREFIX = "offset:";
+
+    public String mapIDToCursor(int lastID) {
+
+        return encode(CURSOR_PREFIX + lastID);
+    }
+
+    public String mapOffsetToCursor(int offset) {
+
+        return encode(OFFSET_CURSOR_PREFIX + offset);
+    }
+
+    /**
+     * Maps an opaque cursor token back to the ID of the last row of the previous page.
+     *
+     * @param cursor The cursor token provided by the client, or null for the first page.
+     * @return The last seen ID, or 0 for the first page.
+     * @throws InvalidInputException If the cursor token is malformed.
+     */
+    public int mapCursorToID(String cursor) {
+
+        if (cursor == null || cursor.isBlank()) {
+
+            return 0;
+        }
+
+        return decode(cursor, CURSOR_PREFIX);
+    }
+
+    /**
+     * Maps an opaque offset cursor token back to the number of results already returned.
+     *
+     * @param cursor    The cursor token provided by the client, or null for the first page.
+     * @param maxOffset The largest offset a cursor can hold.
+     * @return The offset of the page, or 0 for the first page.
+     * @throws InvalidInputException If the cursor token is malformed, is not an offset cursor, or holds an offset
+     *                               that is negative or larger than maxOffset.
+     */
+    public int mapCursorToOffset(String cursor, int maxOffset) {
+
+        if (cursor == null || cursor.isBlank()) {
+
+            return 0;
+        }
+
+        int offset = decode(cursor, OFFSET_CURSOR_PREFIX);
+
+        if (offset < 0 || offset > maxOffset) {
+
+            throw new InvalidInputException("Invalid page cursor!");
+        }
+
+        return offset;
+    }
+
+    private static String encode(String cursor) {
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decode(String cursor, String prefix) {
+
+        try {
+
+            String decodedCursor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            if (!decodedCursor.startsWith(prefix)) {
+
+                throw new InvalidInputException("Invalid page cursor!");
+            }
+
+            return Integer.parseInt(decodedCursor.substring(prefix.length()));
+
+        } catch (IllegalArgumentException exception) {
+
+            throw new InvalidInputException("Invalid page cursor!");
+        }
+    }
+
+    /**
+     * Creates the Pageable used to fetch a page. One extra row is requested to know whether a next page exists.
+     *
+     * @param pageSize The size of the page.
+     * @return A Pageable limiting the query to pageSize + 1 rows.
+     */
+    public Pageable mapToPageable(int pageSize) {
+
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    /**
+     * Loads the rows of a page from sorted candidate IDs that may include non-matching rows, such as the candidates
+     * of a search index. The candidates after the cursor are loaded and verified one chunk at a time, until the page
+     * and its look-ahead row are filled or the candidates run out. A chunk never holds more than pageSize + 1 IDs,
+     * so the number of bound parameters per query does not grow with the number of candidates.
+     *
+     * @param sortedCandidateIDs The candidate IDs in ascending order.
+     * @param lastID             The last ID of the previous page, or 0 for the first page.
+     * @param pageSize           The size of the page.
+     * @param rowLoader          Loads the rows of a chunk of IDs, in any order.
+     * @param idExtractor        Extracts the keyset ID of a row.
+     * @param isMatching         Verifies that a loaded row really matches.
+     * @return Up to pageSize + 1 matching rows in ascending ID order, to be passed to
+     * {@link #mapToCursorPage(List, int, ToIntFunction, Function)}.
+     */
+    public <E> List<E> loadVerifiedRows(int[] sortedCandidateIDs, int lastID, int pageSize, Function<List<Integer>, List<E>> rowLoader,
+                                        ToIntFunction<E> idExtractor, Predicate<E> isMatching) {
+
+        int searchPosition = Arrays.binarySearch(sortedCandidateIDs, lastID);
+
+        int position = searchPosition >= 0 ? searchPosition + 1 : -searchPosition - 1;
+
+        List<E> verifiedRows = new ArrayList<>(pageSize + 1);
+
+        while (verifiedRows.size() <= pageSize && position < sortedCandidateIDs.length) {
+
+            int chunkEnd = Math.min(sortedCandidateIDs.length, position + pageSize + 1);
+
+            List<Integer> chunkIDs = new ArrayList<>(chunkEnd - position);
+
+            for (int index = position; index < chunkEnd; index++) {
+
+                chunkIDs.add(sortedCandidateIDs[index]);
+            }
+
+            List<E> chunkRows = new ArrayList<>(rowLoader.apply(chunkIDs));
+
+            chunkRows.sort(Comparator.comparingInt(idExtractor));
+
+            for (E row : chunkRows) {
+
+                if (verifiedRows.size() > pageSize) {
+
+                    break;
+                }
+
+                if (isMatching.test(row)) {
+
+                    verifiedRows.add(row);
+                }
+            }
+
+            position = chunkEnd;
+        }
+
+        return verifiedRows;
+    }
+
+    /**
+     * Maps the rows fetched with {@link #mapToPageable(int)} to a page, creating the cursor of the next page.
+     *
+     * @param fetchedRows The rows fetched for the page, including the extra look-ahead row if present.
+     * @param pageSize    The size of the page.
+     * @param idExtractor Extracts the keyset ID of a row.
+     * @param converter   Converts the rows of the page to DTOs.
+     * @return The page of DTOs with the cursor of the next page, or a null cursor if this is the last page.
+     */
+    public <E, T> CursorPageDto<T> mapToCursorPage(List<E> fetchedRows, int pageSize, ToIntFunction<E> idExtractor,
+                                                   Function<List<E>, List<T>> converter) {
+
+        boolean hasNextPage = fetchedRows.size() > pageSize;
+
+        List<E> pageRows = hasNextPage ? new ArrayList<>(fetchedRows.subList(0, pageSize)) : fetchedRows;
+
+        String nextCursor = hasNextPage ? mapIDToCursor(idExtractor.applyAsInt(pageRows.get(pageRows.size() - 1))) : null;
+
+        return new CursorPageDto<>(converter.apply(pageRows), nextCursor, pageSize);
+    }
+}
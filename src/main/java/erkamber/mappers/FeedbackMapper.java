@@ -1,17 +1,17 @@
 package erkamber.mappers;
 
 
+import erkamber.dtos.AuthorSummaryDto;
 import erkamber.dtos.FeedbackDto;
-import erkamber.dtos.UserDto;
 import erkamber.entities.Feedback;
 import org.springframework.stereotype.Component;
 
 @Component
 public class FeedbackMapper {
 
-    public FeedbackDto mapFeedbackToFeedbackDto(Feedback feedback, UserDto userDto) {
+    public FeedbackDto mapFeedbackToFeedbackDto(Feedback feedback, AuthorSummaryDto authorSummaryDto) {
 
-        return new FeedbackDto(feedback.getFeedbackID(), userDto, feedback.getFeedbackContent(),
+        return new FeedbackDto(feedback.getFeedbackID(), authorSummaryDto, feedback.getFeedbackContent(),
                 feedback.getFeedbackCreationDate());
     }
 
@@ -22,13 +22,13 @@ public class NewsMapper {
                 newsDto.getNewsUpVotes(), newsDto.getNewsDownVotes(), newsDto.getNewsCreationDate());
     }
 
-    public NewsDetailedDto mapToNewsDtoDetailed(NewsDto newsDto, UserDto userDto, int numberOfViews, List<TagDto> listOfNewsTags,
+    public NewsDetailedDto mapToNewsDtoDetailed(NewsDto newsDto, AuthorSummaryDto authorDto, int numberOfViews, List<TagDto> listOfNewsTags,
                                                 List<MediaDto> listOfNewsMedia, List<CommentDetailedDto> listOfComments,
-                                                List<VoteDto> listOfUpVotes, List<VoteDto> listOfDownVotes) {
+                                                VoteDto callerVote) {
 
-        return new NewsDetailedDto(newsDto.getNewsID(), userDto, newsDto.getNewsTitle(), newsDto.getNewsContent(),
+        return new NewsDetailedDto(newsDto.getNewsID(), authorDto, newsDto.getNewsTitle(), newsDto.getNewsContent(),
                 newsDto.getNewsUpVotes(), newsDto.getNewsDownVotes(), numberOfViews, newsDto.getNewsCreationDate(),
-                listOfNewsTags, listOfNewsMedia, listOfComments, listOfUpVotes, listOfDownVotes);
+                listOfNewsTags, listOfNewsMedia, listOfComments, callerVote);
     }
 
     public List<NewsDto> mapListOfNewsToNewsDto(List<News> listOfNews) {
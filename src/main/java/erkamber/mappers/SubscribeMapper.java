@@ -1,8 +1,8 @@
 package erkamber.mappers;
 
+import erkamber.dtos.AuthorSummaryDto;
 import erkamber.dtos.SubscribeDetailedDto;
 import erkamber.dtos.SubscribeDto;
-import erkamber.dtos.UserDto;
 import erkamber.entities.Subscribe;
 import org.springframework.stereotype.Component;
 
@@ -19,7 +19,7 @@ public class SubscribeMapper {
         return new Subscribe(subscribeDto.getSubscribeID(), subscribeDto.getSubscriberID(), subscribeDto.getReporterID());
     }
 
-    public SubscribeDetailedDto mapToSubscribeDetailedDto(int subscribeID, UserDto subscriberDto, UserDto subscribedToDto) {
+    public SubscribeDetailedDto mapToSubscribeDetailedDto(int subscribeID, AuthorSummaryDto subscriberDto, AuthorSummaryDto subscribedToDto) {
 
         return new SubscribeDetailedDto(subscribeID, subscriberDto, subscribedToDto);
     }
@@ -1,8 +1,10 @@
 package erkamber.mappers;
 
 
+import erkamber.dtos.AuthorSummaryDto;
 import erkamber.dtos.UserDto;
 import erkamber.entities.User;
+import erkamber.projections.AuthorSummary;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -14,7 +16,14 @@ public class UserMapper {
     public UserDto mapUserToUserDto(User user) {
 
         return new UserDto(user.getUserID(), user.getUserFirstName(), user.getUserLastName(), user.getUserName(),
-                user.getUserEmail(), user.getUserPassword(), user.getUserPhoto(), user.isUserReporter());
+                user.getUserEmail(), null, user.getUserPhoto(), user.isUserReporter());
+    }
+
+    public AuthorSummaryDto mapAuthorSummaryToAuthorSummaryDto(AuthorSummary authorSummary) {
+
+        return new AuthorSummaryDto(authorSummary.getUserID(), authorSummary.getUserName(),
+                authorSummary.getUserFirstName() + " " + authorSummary.getUserLastName(), authorSummary.getUserPhoto(),
+                authorSummary.isUserReporter());
     }
 
     public User mapUserDtoToUser(UserDto userDto) {
@@ -1,8 +1,8 @@
 package erkamber.mappers;
 
 
+import erkamber.dtos.AuthorSummaryDto;
 import erkamber.dtos.NewsDto;
-import erkamber.dtos.UserDto;
 import erkamber.dtos.ViewDetailedDto;
 import erkamber.dtos.ViewDto;
 import erkamber.entities.View;
@@ -21,9 +21,9 @@ public class ViewMapper {
         return new View(viewDto.getViewID(), viewDto.getViewCreationDate(), viewDto.getViewNewsID(), viewDto.getViewUserID());
     }
 
-    public ViewDetailedDto mapToViewDetailedDto(ViewDto view, NewsDto newsDto, UserDto userDto) {
+    public ViewDetailedDto mapToViewDetailedDto(ViewDto view, NewsDto newsDto, AuthorSummaryDto authorSummaryDto) {
 
-        return new ViewDetailedDto(view.getViewID(), view.getViewCreationDate(), newsDto, userDto);
+        return new ViewDetailedDto(view.getViewID(), view.getViewCreationDate(), newsDto, authorSummaryDto);
     }
 
 }
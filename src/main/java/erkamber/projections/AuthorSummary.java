@@ -0,0 +1,20 @@
+package erkamber.projections;
+
+/**
+ * Projection of the user columns shown wherever a user is embedded as the author of other content.
+ * Queries returning it select only these columns, never the password hash or the email.
+ */
+public interface AuthorSummary {
+
+    int getUserID();
+
+    String getUserName();
+
+    String getUserFirstName();
+
+    String getUserLastName();
+
+    String getUserPhoto();
+
+    boolean isUserReporter();
+}
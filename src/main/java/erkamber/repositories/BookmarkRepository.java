@@ -2,8 +2,13 @@ package erkamber.repositories;
 
 import erkamber.entities.Bookmark;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,4 +19,14 @@ public interface BookmarkRepository extends JpaRepository<Bookmark, Integer> {
     List<Bookmark> getBookmarksByNewsID(int newsID);
 
     Bookmark getBookmarkByUserIDAndNewsID(int userID, int newsID);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Bookmark b WHERE b.userID = :userID")
+    int deleteBookmarksByUserID(@Param("userID") int userID);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Bookmark b WHERE b.newsID IN :newsIDs")
+    int deleteBookmarksByNewsIDs(@Param("newsIDs") Collection<Integer> newsIDs);
 }
@@ -1,11 +1,17 @@
 package erkamber.repositories;
 
 import erkamber.entities.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,5 +29,39 @@ public interface CommentRepository extends JpaRepository<Comment, Integer> {
 
     List<Comment> findCommentsByCommentNewsIDAndCreationDateAfterOrderByCommentIDAsc(int commentNewsID, LocalDateTime creationDate);
 
-    List<Comment> findCommentsByCommentContentContaining(String content);
+    List<Comment> findCommentsByCommentContentContainingAndCommentIDGreaterThanOrderByCommentIDAsc(String content, int commentID,
+                                                                                        Pageable pageable);
+
+    List<Comment> findCommentsByCommentNewsIDInOrderByCommentIDAsc(Collection<Integer> newsIDs);
+
+    List<Comment> findCommentsByCommentIDGreaterThanOrderByCommentIDAsc(int commentID, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c WHERE c.commentNewsID = :newsID AND c.creationDate >= :startDate AND c.creationDate < :endDate " +
+            "AND c.commentID > :commentID ORDER BY c.commentID ASC")
+    List<Comment> findCommentsOfNewsCreatedBetween(@Param("newsID") int newsID, @Param("startDate") LocalDateTime startDate,
+                                                   @Param("endDate") LocalDateTime endDate, @Param("commentID") int commentID,
+                                                   Pageable pageable);
+
+    @Query("SELECT c.commentID FROM Comment c WHERE c.commentAuthorID = :authorID")
+    List<Integer> findCommentIDsByAuthorID(@Param("authorID") int authorID);
+
+    @Query("SELECT c.commentID FROM Comment c WHERE c.commentNewsID IN :newsIDs")
+    List<Integer> findCommentIDsByNewsIDs(@Param("newsIDs") Collection<Integer> newsIDs);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.commentAuthorID = :authorID")
+    int deleteCommentsByAuthorID(@Param("authorID") int authorID);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.commentNewsID IN :newsIDs")
+    int deleteCommentsByNewsIDs(@Param("newsIDs") Collection<Integer> newsIDs);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Comment c SET c.commentUpVotes = c.commentUpVotes + :upVotesDelta, " +
+            "c.commentDownVotes = c.commentDownVotes + :downVotesDelta WHERE c.commentID = :commentID")
+    int updateCommentVotes(@Param("commentID") int commentID, @Param("upVotesDelta") int upVotesDelta,
+                           @Param("downVotesDelta") int downVotesDelta);
 }
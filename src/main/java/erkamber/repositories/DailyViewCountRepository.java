@@ -0,0 +1,44 @@
+package erkamber.repositories;
+
+import erkamber.entities.DailyViewCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DailyViewCountRepository extends JpaRepository<DailyViewCount, Integer> {
+
+    List<DailyViewCount> findDailyViewCountsByNewsIDAndViewDateBetweenOrderByViewDateAsc(int newsID, LocalDate startDate,
+                                                                                        LocalDate endDate);
+
+    @Query("SELECT MAX(d.viewDate) FROM DailyViewCount d")
+    Optional<LocalDate> findLastRolledUpDate();
+
+    @Query("SELECT d.newsID, d.viewDate, d.viewCount FROM DailyViewCount d WHERE d.viewDate >= :startDate")
+    List<Object[]> findViewCountsGroupedByNewsIDAndDay(@Param("startDate") LocalDate startDate);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO daily_view_counts (news_id, view_date, view_count) " +
+            "SELECT view_news_id, view_creation_date, COUNT(*) FROM views " +
+            "WHERE view_creation_date BETWEEN :startDate AND :endDate GROUP BY view_news_id, view_creation_date " +
+            "ON CONFLICT (news_id, view_date) DO UPDATE SET view_count = EXCLUDED.view_count", nativeQuery = true)
+    int rollUpViewsBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE daily_view_counts SET view_count = GREATEST(view_count - :numberOfViews, 0) " +
+            "WHERE news_id = :newsID AND view_date = :viewDate", nativeQuery = true)
+    int subtractViews(@Param("newsID") int newsID, @Param("viewDate") LocalDate viewDate, @Param("numberOfViews") long numberOfViews);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DailyViewCount d WHERE d.newsID IN :newsIDs")
+    int deleteDailyViewCountsOfNews(@Param("newsIDs") Collection<Integer> newsIDs);
+}
@@ -2,8 +2,13 @@ package erkamber.repositories;
 
 import erkamber.entities.Feedback;
 import erkamber.entities.Media;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -20,5 +25,16 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Integer> {
 
     List<Feedback> findFeedbackByFeedbackCreationDateBetween(LocalDateTime startDate, LocalDateTime endDate);
 
-    List<Feedback> findFeedbackByFeedbackContentContaining(String feedbackContentContaining);
+    List<Feedback> findFeedbackByFeedbackContentContainingAndFeedbackIDGreaterThanOrderByFeedbackIDAsc(String feedbackContentContaining,
+                                                                                                int feedbackID, Pageable pageable);
+
+    List<Feedback> findFeedbackByFeedbackIDGreaterThanOrderByFeedbackIDAsc(int feedbackID, Pageable pageable);
+
+    @Query("SELECT f.feedbackID FROM Feedback f WHERE f.authorID = :authorID")
+    List<Integer> findFeedbackIDsByAuthorID(@Param("authorID") int authorID);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Feedback f WHERE f.authorID = :authorID")
+    int deleteFeedbacksByAuthorID(@Param("authorID") int authorID);
 }
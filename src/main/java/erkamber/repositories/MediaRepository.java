@@ -2,8 +2,13 @@ package erkamber.repositories;
 
 import erkamber.entities.Media;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +18,11 @@ public interface MediaRepository extends JpaRepository<Media, Integer> {
     List<Media> findMediaByMediaNewsID(int mediaNewsID);
 
     Optional<Media> findMediaByMediaString(String mediaString);
+
+    List<Media> findMediaByMediaNewsIDIn(Collection<Integer> mediaNewsIDs);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Media m WHERE m.mediaNewsID IN :newsIDs")
+    int deleteMediasByNewsIDs(@Param("newsIDs") Collection<Integer> newsIDs);
 }
@@ -1,15 +1,23 @@
 package erkamber.repositories;
 
 import erkamber.entities.News;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface NewsRepository extends JpaRepository<News, Integer> {
 
     List<News> findNewsByUserIDOrderByNewsIDAsc(int userID);
 
+    boolean existsByUserID(int userID);
+
     List<News> findNewsByNewsTitleOrderByNewsIDAsc(String newsTitle);
 
     List<News> findNewsByNewsUpVotes(int upVotes);
@@ -27,4 +35,23 @@ public interface NewsRepository extends JpaRepository<News, Integer> {
     List<News> findNewsByNewsCreationDateBetween(LocalDate startDate, LocalDate endDate);
 
     List<News> findNewsByNewsContentContaining(String newsContent);
-}
\ No newline at end of file
+
+    List<News> findNewsByNewsIDGreaterThanOrderByNewsIDAsc(int newsID, Pageable pageable);
+
+    @Query("SELECT n.newsID FROM News n WHERE n.userID = :userID ORDER BY n.newsID ASC")
+    List<Integer> findNewsIDsByUserID(@Param("userID") int userID, Pageable pageable);
+
+    @Query("SELECT n.newsID FROM News n WHERE n.userID = :userID AND n.newsID > :afterNewsID ORDER BY n.newsID ASC")
+    List<Integer> findNewsIDsByUserIDAfter(@Param("userID") int userID, @Param("afterNewsID") int afterNewsID, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM News n WHERE n.newsID IN :newsIDs")
+    int deleteNewsByNewsIDs(@Param("newsIDs") Collection<Integer> newsIDs);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE News n SET n.newsUpVotes = n.newsUpVotes + :upVotesDelta, n.newsDownVotes = n.newsDownVotes + :downVotesDelta " +
+            "WHERE n.newsID = :newsID")
+    int updateNewsVotes(@Param("newsID") int newsID, @Param("upVotesDelta") int upVotesDelta, @Param("downVotesDelta") int downVotesDelta);
+}
@@ -2,7 +2,13 @@ package erkamber.repositories;
 
 import erkamber.entities.NewsTag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +19,25 @@ public interface NewsTagRepository extends JpaRepository<NewsTag, Integer> {
     List<NewsTag> findNewsTagsByNewsID(int newsID);
 
     List<NewsTag> findNewsTagsByTagID(int tagID);
+
+    List<NewsTag> findNewsTagsByNewsIDIn(Collection<Integer> newsIDs);
+
+    @Query("SELECT nt.tagID, n.newsCreationDate FROM NewsTag nt, News n WHERE n.newsID = nt.newsID AND nt.newsID IN :newsIDs")
+    List<Object[]> findTagIDsAndNewsCreationDatesByNewsIDs(@Param("newsIDs") Collection<Integer> newsIDs);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NewsTag nt WHERE nt.newsID IN :newsIDs")
+    int deleteNewsTagsByNewsIDs(@Param("newsIDs") Collection<Integer> newsIDs);
+
+    @Query("SELECT nt.tagID, nt.newsID FROM NewsTag nt ORDER BY nt.newsID")
+    List<Object[]> findTagIDsAndNewsIDsOrderByNewsID();
+
+    @Query("SELECT nt.tagID, COUNT(nt) FROM NewsTag nt WHERE nt.tagID IN (SELECT t.tagID FROM Tag t) GROUP BY nt.tagID")
+    List<Object[]> countNewsTagsGroupedByTagID();
+
+    @Query(value = "SELECT nt.tag_id, CAST(n.news_creation_date AS DATE), COUNT(*) FROM news_tags nt " +
+            "JOIN news n ON n.news_id = nt.news_id JOIN tags t ON t.tags_id = nt.tag_id " +
+            "WHERE n.news_creation_date >= :startDate GROUP BY nt.tag_id, CAST(n.news_creation_date AS DATE)", nativeQuery = true)
+    List<Object[]> countNewsTagsGroupedByTagIDAndCreationDay(@Param("startDate") LocalDate startDate);
 }
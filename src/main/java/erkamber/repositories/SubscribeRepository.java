@@ -1,7 +1,12 @@
 package erkamber.repositories;
 
 import erkamber.entities.Subscribe;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,4 +18,11 @@ public interface SubscribeRepository extends JpaRepository<Subscribe, Integer> {
     List<Subscribe> findSubscribeBySubscriberID(int subscriberID);
 
     List<Subscribe> findSubscribeByReporterID(int reporterID);
+
+    List<Subscribe> findSubscribeBySubscribeIDGreaterThanOrderBySubscribeIDAsc(int subscribeID, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Subscribe s WHERE s.subscriberID = :userID OR s.reporterID = :userID")
+    int deleteSubscriptionsOfUser(@Param("userID") int userID);
 }
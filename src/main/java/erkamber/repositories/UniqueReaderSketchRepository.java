@@ -0,0 +1,31 @@
+package erkamber.repositories;
+
+import erkamber.entities.UniqueReaderSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface UniqueReaderSketchRepository extends JpaRepository<UniqueReaderSketch, Integer> {
+
+    List<UniqueReaderSketch> findUniqueReaderSketchesBySubjectTypeAndSketchDateAndSubjectIDIn(String subjectType, LocalDate sketchDate,
+                                                                                            Collection<Integer> subjectIDs);
+
+    List<UniqueReaderSketch> findUniqueReaderSketchesBySubjectTypeAndSubjectIDAndSketchDateBetween(String subjectType, int subjectID,
+                                                                                                 LocalDate startDate, LocalDate endDate);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UniqueReaderSketch s WHERE s.subjectType = :subjectType AND s.subjectID IN :subjectIDs")
+    int deleteSketchesOfSubjects(@Param("subjectType") String subjectType, @Param("subjectIDs") Collection<Integer> subjectIDs);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UniqueReaderSketch s WHERE s.sketchDate < :cutoffDate")
+    int deleteSketchesBefore(@Param("cutoffDate") LocalDate cutoffDate);
+}
@@ -1,8 +1,10 @@
 package erkamber.repositories;
 
 import erkamber.entities.User;
+import erkamber.projections.AuthorSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +21,8 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     List<User> findUserByUserFirstName(String firstName);
 
     List<User> findUserByUserLastName(String lastName);
+
+    Optional<AuthorSummary> findAuthorSummaryByUserID(int userID);
+
+    List<AuthorSummary> findAuthorSummariesByUserIDIn(Collection<Integer> userIDs);
 }
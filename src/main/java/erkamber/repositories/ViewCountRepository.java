@@ -0,0 +1,27 @@
+package erkamber.repositories;
+
+import erkamber.entities.ViewCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ViewCountRepository extends JpaRepository<ViewCount, Integer> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO view_counts (news_id, view_count) VALUES (:newsID, GREATEST(:delta, 0)) " +
+            "ON CONFLICT (news_id) DO UPDATE SET view_count = GREATEST(view_counts.view_count + :delta, 0)", nativeQuery = true)
+    int addToViewCount(@Param("newsID") int newsID, @Param("delta") long delta);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO view_counts (news_id, view_count) " +
+            "SELECT news_id, SUM(view_count) FROM (" +
+            "SELECT news_id, view_count FROM daily_view_counts " +
+            "UNION ALL SELECT view_news_id, COUNT(*) FROM views WHERE view_creation_date > " +
+            "COALESCE((SELECT MAX(view_date) FROM daily_view_counts), DATE '-infinity') GROUP BY view_news_id" +
+            ") all_view_counts GROUP BY news_id ON CONFLICT (news_id) DO NOTHING", nativeQuery = true)
+    int seedViewCountsFromViews();
+}
@@ -1,10 +1,17 @@
 package erkamber.repositories;
 
 import erkamber.entities.View;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ViewRepository extends JpaRepository<View, Integer> {
 
@@ -19,4 +26,41 @@ public interface ViewRepository extends JpaRepository<View, Integer> {
     List<View> findViewByViewCreationDateBetween(LocalDate startDate, LocalDate endDate);
 
     List<View> findViewByViewUserID(int userID);
+
+    List<View> findViewByViewIDGreaterThanOrderByViewIDAsc(int viewID, Pageable pageable);
+
+    @Query("SELECT v.viewNewsID, v.viewCreationDate, COUNT(v) FROM View v WHERE v.viewCreationDate >= :startDate " +
+            "GROUP BY v.viewNewsID, v.viewCreationDate")
+    List<Object[]> countViewsGroupedByNewsIDAndDay(@Param("startDate") LocalDate startDate);
+
+    @Query("SELECT v.viewCreationDate, COUNT(v) FROM View v WHERE v.viewNewsID = :newsID " +
+            "AND v.viewCreationDate BETWEEN :startDate AND :endDate GROUP BY v.viewCreationDate")
+    List<Object[]> countViewsOfNewsGroupedByDay(@Param("newsID") int newsID, @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT MIN(v.viewCreationDate) FROM View v")
+    Optional<LocalDate> findFirstViewCreationDate();
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM views WHERE view_id IN " +
+            "(SELECT view_id FROM views WHERE view_creation_date < :cutoffDate LIMIT :batchSize)", nativeQuery = true)
+    int deleteViewsCreatedBefore(@Param("cutoffDate") LocalDate cutoffDate, @Param("batchSize") int batchSize);
+
+    @Query("SELECT v.viewUserID, v.viewNewsID FROM View v WHERE v.viewCreationDate = :creationDate")
+    List<Object[]> findViewerIDsAndNewsIDsByViewCreationDate(@Param("creationDate") LocalDate creationDate);
+
+    @Query("SELECT v.viewNewsID, v.viewCreationDate, COUNT(v) FROM View v WHERE v.viewUserID = :userID " +
+            "GROUP BY v.viewNewsID, v.viewCreationDate")
+    List<Object[]> countViewsOfUserGroupedByNewsIDAndDay(@Param("userID") int userID);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM View v WHERE v.viewUserID = :userID")
+    int deleteViewsByUserID(@Param("userID") int userID);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM View v WHERE v.viewNewsID IN :newsIDs")
+    int deleteViewsByNewsIDs(@Param("newsIDs") Collection<Integer> newsIDs);
 }
@@ -1,9 +1,16 @@
 package erkamber.repositories;
 
 import erkamber.entities.Vote;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface VoteRepository extends JpaRepository<Vote, Integer> {
 
@@ -12,4 +19,97 @@ public interface VoteRepository extends JpaRepository<Vote, Integer> {
     List<Vote> getVoteByVotedContentID(int contentID);
 
     List<Vote> getVoteByIsUpVoteAndVotedContentIDAndVotedContentType(boolean isUpvote, int contentID, String contentType);
+
+    List<Vote> getVoteByVotedContentIDAndVotedContentTypeAndVoteIDGreaterThanOrderByVoteIDAsc(int contentID, String contentType,
+                                                                                               int voteID, Pageable pageable);
+
+    List<Vote> getVoteByVoteIDGreaterThanOrderByVoteIDAsc(int voteID, Pageable pageable);
+
+    Optional<Vote> findVoteByUserIDAndVotedContentIDAndVotedContentType(int userID, int contentID, String contentType);
+
+    @Query("SELECT COALESCE(SUM(CASE WHEN v.isUpVote = true THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN v.isUpVote = false THEN 1 ELSE 0 END), 0) " +
+            "FROM Vote v WHERE v.votedContentID = :contentID AND v.votedContentType = :contentType")
+    List<Object[]> countUpVotesAndDownVotesOfContent(@Param("contentID") int contentID, @Param("contentType") String contentType);
+
+    /**
+     * Takes the votes of a user off the vote counters of the news articles they voted on, with one statement.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE news SET news_up_votes = GREATEST(news_up_votes - user_votes.up_votes, 0), " +
+            "news_down_votes = GREATEST(news_down_votes - user_votes.down_votes, 0) " +
+            "FROM (SELECT content_id, COUNT(*) FILTER (WHERE is_upvote) AS up_votes, COUNT(*) FILTER (WHERE NOT is_upvote) AS down_votes " +
+            "    FROM votes WHERE user_id = :userID AND voted_content_type = 'news' GROUP BY content_id) user_votes " +
+            "WHERE news.news_id = user_votes.content_id", nativeQuery = true)
+    int subtractNewsVotesOfUser(@Param("userID") int userID);
+
+    /**
+     * Takes the votes of a user off the vote counters of the comments they voted on, with one statement.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE comments SET up_votes = GREATEST(up_votes - user_votes.up_votes, 0), " +
+            "down_votes = GREATEST(down_votes - user_votes.down_votes, 0) " +
+            "FROM (SELECT content_id, COUNT(*) FILTER (WHERE is_upvote) AS up_votes, COUNT(*) FILTER (WHERE NOT is_upvote) AS down_votes " +
+            "    FROM votes WHERE user_id = :userID AND voted_content_type = 'comment' GROUP BY content_id) user_votes " +
+            "WHERE comments.comment_id = user_votes.content_id", nativeQuery = true)
+    int subtractCommentVotesOfUser(@Param("userID") int userID);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.userID = :userID")
+    int deleteVotesByUserID(@Param("userID") int userID);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.userID = :userID AND v.votedContentType = :contentType")
+    int deleteVotesByUserIDAndContentType(@Param("userID") int userID, @Param("contentType") String contentType);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.votedContentType = :contentType AND v.votedContentID IN :contentIDs")
+    int deleteVotesByContentTypeAndContentIDs(@Param("contentType") String contentType,
+                                              @Param("contentIDs") Collection<Integer> contentIDs);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM votes WHERE voted_content_type = 'comment' " +
+            "AND content_id IN (SELECT comment_id FROM comments WHERE news_id IN (:newsIDs))", nativeQuery = true)
+    int deleteVotesOnCommentsOfNews(@Param("newsIDs") Collection<Integer> newsIDs);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM votes WHERE voted_content_type = 'comment' " +
+            "AND content_id IN (SELECT comment_id FROM comments WHERE author_id = :authorID)", nativeQuery = true)
+    int deleteVotesOnCommentsOfAuthor(@Param("authorID") int authorID);
+
+    /**
+     * Adds, removes or swaps the vote of a user on a content in one statement, using the unique (user, content, type) index.
+     * A vote in the same direction as the existing vote removes it, a vote in the other direction swaps it,
+     * and a first vote is inserted.
+     *
+     * @return One row of (outcome, vote ID), where the outcome is ADDED, REMOVED or SWAPPED, or no row if a concurrent
+     * request inserted the same vote first.
+     */
+    @Transactional
+    @Query(value = "WITH existing AS (" +
+            "    SELECT vote_id, is_upvote FROM votes" +
+            "    WHERE user_id = :userID AND content_id = :contentID AND voted_content_type = :contentType FOR UPDATE), " +
+            "removed AS (" +
+            "    DELETE FROM votes WHERE vote_id IN (SELECT vote_id FROM existing WHERE is_upvote = :isUpVote)" +
+            "    RETURNING vote_id), " +
+            "swapped AS (" +
+            "    UPDATE votes SET is_upvote = :isUpVote WHERE vote_id IN (SELECT vote_id FROM existing WHERE is_upvote <> :isUpVote)" +
+            "    RETURNING vote_id), " +
+            "added AS (" +
+            "    INSERT INTO votes (content_id, user_id, voted_content_type, is_upvote)" +
+            "    SELECT :contentID, :userID, :contentType, :isUpVote WHERE NOT EXISTS (SELECT 1 FROM existing)" +
+            "    ON CONFLICT (user_id, content_id, voted_content_type) DO NOTHING" +
+            "    RETURNING vote_id) " +
+            "SELECT 'ADDED', vote_id FROM added " +
+            "UNION ALL SELECT 'REMOVED', vote_id FROM removed " +
+            "UNION ALL SELECT 'SWAPPED', vote_id FROM swapped", nativeQuery = true)
+    List<Object[]> toggleVote(@Param("userID") int userID, @Param("contentID") int contentID,
+                              @Param("contentType") String contentType, @Param("isUpVote") boolean isUpVote);
 }
@@ -10,6 +10,7 @@ import erkamber.services.interfaces.BookmarkService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -143,9 +144,7 @@ public class BookmarkServiceImpl implements BookmarkService {
     @Override
     public void deleteBookmarkByUserID(int userID) {
 
-        List<Bookmark> bookmarksByUserID = bookmarkRepository.getBookmarksByUserID(userID);
-
-        bookmarkRepository.deleteAll(bookmarksByUserID);
+        bookmarkRepository.deleteBookmarksByUserID(userID);
     }
 
     /**
@@ -156,8 +155,6 @@ public class BookmarkServiceImpl implements BookmarkService {
     @Override
     public void deleteBookmarkByNewsID(int newsID) {
 
-        List<Bookmark> bookmarksByNewsID = bookmarkRepository.getBookmarksByNewsID(newsID);
-
-        bookmarkRepository.deleteAll(bookmarksByNewsID);
+        bookmarkRepository.deleteBookmarksByNewsIDs(Collections.singletonList(newsID));
     }
 }
@@ -0,0 +1,596 @@
+package erkamber.services.implementations;
+
+import erkamber.dtos.CascadeDeleteMetricsDto;
+import erkamber.entities.View;
+import erkamber.enums.VoteTypeNews;
+import erkamber.exceptions.TooManyRequestsException;
+import erkamber.repositories.*;
+import erkamber.services.interfaces.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deletes news articles and users together with everything that depends on them.
+ * <p>
+ * Every dependent table is cleared with one set-based DELETE ... WHERE statement instead of loading the rows and
+ * deleting them one by one, and all the statements of a delete run in a single transaction. The derived view counters,
+ * rollups, sketches and in-memory indexes are cleaned up once the transaction has committed.
+ * <p>
+ * Queued views of the deleted content are removed before the transaction starts, so the view flusher does not write them
+ * while the content is being deleted, and again after the commit, for views recorded while the transaction ran.
+ * <p>
+ * Prolific authors can have thousands of articles, so their deletion can also run in the background, where the
+ * articles are deleted in chunks with one short transaction per chunk instead of one long transaction. The queue of
+ * background deletes is bounded, and deletes that do not fit are rejected with a {@link TooManyRequestsException}.
+ */
+@Service
+public class CascadeDeleteServiceImpl implements CascadeDeleteService {
+
+    private final Logger logger = LogManager.getLogger(CascadeDeleteServiceImpl.class);
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final UserRepository userRepository;
+
+    private final NewsRepository newsRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final VoteRepository voteRepository;
+
+    private final ViewRepository viewRepository;
+
+    private final BookmarkRepository bookmarkRepository;
+
+    private final MediaRepository mediaRepository;
+
+    private final NewsTagRepository newsTagRepository;
+
+    private final SubscribeRepository subscribeRepository;
+
+    private final FeedbackRepository feedbackRepository;
+
+    private final UserExistenceService userExistenceService;
+
+    private final TrendingNewsService trendingNewsService;
+
+    private final TagIndexService tagIndexService;
+
+    private final TagPopularityService tagPopularityService;
+
+    private final NewsSearchService newsSearchService;
+
+    private final ContentIndexService contentIndexService;
+
+    private final ViewCountService viewCountService;
+
+    private final ViewRecordingService viewRecordingService;
+
+    private final ViewRollupService viewRollupService;
+
+    private final UniqueReaderService uniqueReaderService;
+
+    private final int chunkSize;
+
+    private final ThreadPoolExecutor backgroundExecutor;
+
+    private final LongAdder completedBackgroundDeletes = new LongAdder();
+
+    private final LongAdder failedBackgroundDeletes = new LongAdder();
+
+    private final LongAdder rejectedBackgroundDeletes = new LongAdder();
+
+    private final LongAdder deletedNews = new LongAdder();
+
+    private final LongAdder deletedComments = new LongAdder();
+
+    private final LongAdder deletedUsers = new LongAdder();
+
+    public CascadeDeleteServiceImpl(TransactionTemplate transactionTemplate, UserRepository userRepository,
+                                    NewsRepository newsRepository, CommentRepository commentRepository,
+                                    VoteRepository voteRepository, ViewRepository viewRepository,
+                                    BookmarkRepository bookmarkRepository, MediaRepository mediaRepository,
+                                    NewsTagRepository newsTagRepository, SubscribeRepository subscribeRepository,
+                                    FeedbackRepository feedbackRepository, UserExistenceService userExistenceService,
+                                    TrendingNewsService trendingNewsService, TagIndexService tagIndexService,
+                                    TagPopularityService tagPopularityService, NewsSearchService newsSearchService,
+                                    ContentIndexService contentIndexService, ViewCountService viewCountService,
+                                    ViewRecordingService viewRecordingService, ViewRollupService viewRollupService,
+                                    UniqueReaderService uniqueReaderService,
+                                    @Value("${newslinker.cascade.chunk-size:500}") int chunkSize,
+                                    @Value("${newslinker.cascade.background-queue-capacity:100}") int backgroundQueueCapacity) {
+
+        this.transactionTemplate = transactionTemplate;
+        this.userRepository = userRepository;
+        this.newsRepository = newsRepository;
+        this.commentRepository = commentRepository;
+        this.voteRepository = voteRepository;
+        this.viewRepository = viewRepository;
+        this.bookmarkRepository = bookmarkRepository;
+        this.mediaRepository = mediaRepository;
+        this.newsTagRepository = newsTagRepository;
+        this.subscribeRepository = subscribeRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.userExistenceService = userExistenceService;
+        this.trendingNewsService = trendingNewsService;
+        this.tagIndexService = tagIndexService;
+        this.tagPopularityService = tagPopularityService;
+        this.newsSearchService = newsSearchService;
+        this.contentIndexService = contentIndexService;
+        this.viewCountService = viewCountService;
+        this.viewRecordingService = viewRecordingService;
+        this.viewRollupService = viewRollupService;
+        this.uniqueReaderService = uniqueReaderService;
+        this.chunkSize = chunkSize;
+
+        ThreadFactory workerFactory = runnable -> {
+
+            Thread worker = new Thread(runnable, "cascade-delete");
+            worker.setDaemon(true);
+
+            return worker;
+        };
+
+        // A single worker keeps background deletes from competing with each other for row locks
+        this.backgroundExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(backgroundQueueCapacity), workerFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Deletes a news article with its comments, the votes on the article and on its comments, its views,
+     * bookmarks, medias and news tags, in one transaction.
+     *
+     * @param newsID The ID of the news article.
+     */
+    @Override
+    public void deleteNews(int newsID) {
+
+        DeletedContent deletedContent = new DeletedContent();
+
+        viewRecordingService.removeQueuedViewsOfNews(Collections.singletonList(newsID));
+
+        transactionTemplate.executeWithoutResult(status ->
+                deleteNewsRows(Collections.singletonList(newsID), deletedContent));
+
+        cleanUpAfterCommit(deletedContent);
+    }
+
+    /**
+     * Deletes all news articles of an author with everything that depends on them, in one transaction.
+     *
+     * @param authorID The ID of the author.
+     */
+    @Override
+    public void deleteNewsOfAuthor(int authorID) {
+
+        DeletedContent deletedContent = new DeletedContent();
+
+        removeQueuedViewsOfAuthorNews(authorID);
+
+        transactionTemplate.executeWithoutResult(status -> deleteAllNewsRowsOfAuthor(authorID, deletedContent));
+
+        cleanUpAfterCommit(deletedContent);
+    }
+
+    /**
+     * Queues the deletion of all news articles of an author. The articles are deleted in chunks, with one
+     * transaction per chunk.
+     *
+     * @param authorID The ID of the author.
+     * @throws TooManyRequestsException If the queue of background deletes is full.
+     */
+    @Override
+    public void deleteNewsOfAuthorInBackground(int authorID) {
+
+        executeInBackground(() -> runInBackground("news of author " + authorID, () -> deleteNewsOfAuthorInChunks(authorID)));
+    }
+
+    /**
+     * Deletes a user with their news articles, comments, votes, views, bookmarks, subscriptions and feedbacks,
+     * in one transaction. The votes of the user are taken off the counters of the content they voted on.
+     *
+     * @param userID The ID of the user.
+     */
+    @Override
+    public void deleteUser(int userID) {
+
+        DeletedContent deletedContent = new DeletedContent();
+
+        removeQueuedViewsOfAuthorNews(userID);
+
+        removeQueuedViewsOfUser(userID, deletedContent);
+
+        transactionTemplate.executeWithoutResult(status -> {
+
+            deleteAllNewsRowsOfAuthor(userID, deletedContent);
+
+            deleteUserRows(userID, deletedContent);
+        });
+
+        cleanUpAfterCommit(deletedContent);
+    }
+
+    /**
+     * Queues the deletion of a user. The user is reported as not existing at once, so no new content can be
+     * attached to them, while their news articles are deleted in chunks and their remaining rows in a final transaction.
+     *
+     * @param userID The ID of the user.
+     * @throws TooManyRequestsException If the queue of background deletes is full.
+     */
+    @Override
+    public void deleteUserInBackground(int userID) {
+
+        userExistenceService.markUserDeletionPending(userID);
+
+        try {
+
+            executeInBackground(() -> runInBackground("user " + userID, () -> {
+
+                deleteNewsOfAuthorInChunks(userID);
+
+                DeletedContent deletedContent = new DeletedContent();
+
+                removeQueuedViewsOfUser(userID, deletedContent);
+
+                transactionTemplate.executeWithoutResult(status -> deleteUserRows(userID, deletedContent));
+
+                cleanUpAfterCommit(deletedContent);
+
+            }, () -> {
+
+                // The user row is still there, so the user has to be found again until a retry succeeds
+                if (userRepository.existsById(userID)) {
+
+                    userExistenceService.markUserRegistered(userID);
+
+                } else {
+
+                    userExistenceService.markUserDeleted(userID);
+                }
+            }));
+
+        } catch (TooManyRequestsException exception) {
+
+            // Nothing was deleted, so the user is found again
+            userExistenceService.markUserRegistered(userID);
+
+            throw exception;
+        }
+    }
+
+    /**
+     * Retrieves the state of the background deletes and the number of rows deleted so far.
+     *
+     * @return The cascade delete metrics.
+     */
+    @Override
+    public CascadeDeleteMetricsDto getMetrics() {
+
+        return new CascadeDeleteMetricsDto(chunkSize, backgroundExecutor.getQueue().size() + backgroundExecutor.getActiveCount(),
+                completedBackgroundDeletes.sum(), failedBackgroundDeletes.sum(), rejectedBackgroundDeletes.sum(), deletedNews.sum(),
+                deletedComments.sum(), deletedUsers.sum());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+
+        backgroundExecutor.shutdown();
+
+        if (!backgroundExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+
+            logger.warn("Shutting down with {} background deletes still queued", backgroundExecutor.getQueue().size());
+        }
+    }
+
+    private void deleteNewsOfAuthorInChunks(int authorID) {
+
+        removeQueuedViewsOfAuthorNews(authorID);
+
+        boolean hasMoreNews = true;
+
+        while (hasMoreNews) {
+
+            DeletedContent deletedContent = new DeletedContent();
+
+            hasMoreNews = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                    deleteNextNewsChunkOfAuthor(authorID, deletedContent)));
+
+            cleanUpAfterCommit(deletedContent);
+        }
+    }
+
+    /**
+     * Queues a background delete, rejecting it when the queue is full.
+     */
+    private void executeInBackground(Runnable backgroundDelete) {
+
+        try {
+
+            backgroundExecutor.execute(backgroundDelete);
+
+        } catch (RejectedExecutionException exception) {
+
+            rejectedBackgroundDeletes.increment();
+
+            throw new TooManyRequestsException("Too many background deletes are queued, please try again later");
+        }
+    }
+
+    private void runInBackground(String description, Runnable delete) {
+
+        runInBackground(description, delete, () -> {
+        });
+    }
+
+    private void runInBackground(String description, Runnable delete, Runnable onFailure) {
+
+        long startTime = System.nanoTime();
+
+        try {
+
+            delete.run();
+
+            completedBackgroundDeletes.increment();
+
+            logger.info("Deleted {} in the background in {} ms", description, (System.nanoTime() - startTime) / 1_000_000);
+
+        } catch (RuntimeException exception) {
+
+            failedBackgroundDeletes.increment();
+
+            logger.error("Background delete of {} failed", description, exception);
+
+            onFailure.run();
+        }
+    }
+
+    private void deleteAllNewsRowsOfAuthor(int authorID, DeletedContent deletedContent) {
+
+        boolean hasMoreNews = true;
+
+        while (hasMoreNews) {
+
+            hasMoreNews = deleteNextNewsChunkOfAuthor(authorID, deletedContent);
+        }
+    }
+
+    /**
+     * Deletes the next chunk of news articles of an author.
+     *
+     * @return True if a chunk was deleted, false if the author has no news articles left.
+     */
+    private boolean deleteNextNewsChunkOfAuthor(int authorID, DeletedContent deletedContent) {
+
+        List<Integer> newsIDs = newsRepository.findNewsIDsByUserID(authorID, PageRequest.of(0, chunkSize));
+
+        if (newsIDs.isEmpty()) {
+
+            return false;
+        }
+
+        deleteNewsRows(newsIDs, deletedContent);
+
+        return true;
+    }
+
+    /**
+     * Deletes news articles and their dependent rows, with one statement per table. Must run inside a transaction.
+     */
+    private void deleteNewsRows(List<Integer> newsIDs, DeletedContent deletedContent) {
+
+        deletedContent.newsIDs.addAll(newsIDs);
+
+        deletedContent.commentIDs.addAll(commentRepository.findCommentIDsByNewsIDs(newsIDs));
+
+        for (Object[] tagUsage : newsTagRepository.findTagIDsAndNewsCreationDatesByNewsIDs(newsIDs)) {
+
+            deletedContent.tagUsages.add(new TagUsage((Integer) tagUsage[0], ((LocalDateTime) tagUsage[1]).toLocalDate()));
+        }
+
+        voteRepository.deleteVotesOnCommentsOfNews(newsIDs);
+
+        voteRepository.deleteVotesByContentTypeAndContentIDs(VoteTypeNews.NEWS.getType(), newsIDs);
+
+        commentRepository.deleteCommentsByNewsIDs(newsIDs);
+
+        viewRepository.deleteViewsByNewsIDs(newsIDs);
+
+        bookmarkRepository.deleteBookmarksByNewsIDs(newsIDs);
+
+        mediaRepository.deleteMediasByNewsIDs(newsIDs);
+
+        newsTagRepository.deleteNewsTagsByNewsIDs(newsIDs);
+
+        newsRepository.deleteNewsByNewsIDs(newsIDs);
+    }
+
+    /**
+     * Deletes a user and the rows they own outside their news articles, with one statement per table.
+     * Must run inside a transaction, after the news articles of the user were deleted.
+     */
+    private void deleteUserRows(int userID, DeletedContent deletedContent) {
+
+        deletedContent.userIDs.add(userID);
+
+        voteRepository.subtractNewsVotesOfUser(userID);
+
+        voteRepository.subtractCommentVotesOfUser(userID);
+
+        voteRepository.deleteVotesByUserID(userID);
+
+        deletedContent.commentIDs.addAll(commentRepository.findCommentIDsByAuthorID(userID));
+
+        voteRepository.deleteVotesOnCommentsOfAuthor(userID);
+
+        commentRepository.deleteCommentsByAuthorID(userID);
+
+        for (Object[] viewCount : viewRepository.countViewsOfUserGroupedByNewsIDAndDay(userID)) {
+
+            deletedContent.views.add(new DeletedViews((Integer) viewCount[0], (LocalDate) viewCount[1], (Long) viewCount[2]));
+        }
+
+        viewRepository.deleteViewsByUserID(userID);
+
+        bookmarkRepository.deleteBookmarksByUserID(userID);
+
+        subscribeRepository.deleteSubscriptionsOfUser(userID);
+
+        deletedContent.feedbackIDs.addAll(feedbackRepository.findFeedbackIDsByAuthorID(userID));
+
+        feedbackRepository.deleteFeedbacksByAuthorID(userID);
+
+        userRepository.deleteAllByIdInBatch(Collections.singletonList(userID));
+    }
+
+    /**
+     * Removes the queued views of all news articles of an author, reading the article IDs one chunk at a time.
+     * The view counters of the articles are deleted with the articles, so the removed views need no further cleanup.
+     */
+    private void removeQueuedViewsOfAuthorNews(int authorID) {
+
+        int lastNewsID = 0;
+
+        List<Integer> newsIDs;
+
+        do {
+
+            newsIDs = newsRepository.findNewsIDsByUserIDAfter(authorID, lastNewsID, PageRequest.of(0, chunkSize));
+
+            if (!newsIDs.isEmpty()) {
+
+                viewRecordingService.removeQueuedViewsOfNews(newsIDs);
+
+                lastNewsID = newsIDs.get(newsIDs.size() - 1);
+            }
+
+        } while (newsIDs.size() == chunkSize);
+    }
+
+    /**
+     * Removes the queued views of a user and collects them, so they are taken off the counters of the viewed articles
+     * like the user's stored views.
+     */
+    private void removeQueuedViewsOfUser(int userID, DeletedContent deletedContent) {
+
+        for (View queuedView : viewRecordingService.removeQueuedViewsOfUser(userID)) {
+
+            deletedContent.views.add(new DeletedViews(queuedView.getViewNewsID(), queuedView.getViewCreationDate(), 1));
+        }
+    }
+
+    /**
+     * Removes the deleted content from the derived counters, sketches and in-memory indexes.
+     */
+    private void cleanUpAfterCommit(DeletedContent deletedContent) {
+
+        if (!deletedContent.newsIDs.isEmpty()) {
+
+            viewRecordingService.removeQueuedViewsOfNews(deletedContent.newsIDs);
+
+            viewCountService.deleteViewCounts(deletedContent.newsIDs);
+
+            viewRollupService.removeNews(deletedContent.newsIDs);
+
+            uniqueReaderService.removeNews(deletedContent.newsIDs);
+
+            for (int newsID : deletedContent.newsIDs) {
+
+                trendingNewsService.removeNews(newsID);
+                tagIndexService.removeNews(newsID);
+                newsSearchService.scheduleIndexing(newsID);
+            }
+        }
+
+        deletedContent.tagUsages.forEach(tagUsage -> tagPopularityService.removeTagUsage(tagUsage.tagID, tagUsage.newsCreationDate));
+
+        deletedContent.commentIDs.forEach(contentIndexService::removeComment);
+
+        deletedContent.feedbackIDs.forEach(contentIndexService::removeFeedback);
+
+        for (int userID : deletedContent.userIDs) {
+
+            removeQueuedViewsOfUser(userID, deletedContent);
+
+            uniqueReaderService.removeReporter(userID);
+
+            userExistenceService.markUserDeleted(userID);
+        }
+
+        for (DeletedViews views : deletedContent.views) {
+
+            viewCountService.decrementViewCount(views.newsID, views.numberOfViews);
+
+            trendingNewsService.removeViews(views.newsID, views.viewDate, views.numberOfViews);
+
+            viewRollupService.removeViews(views.newsID, views.viewDate, views.numberOfViews);
+        }
+
+        deletedNews.add(deletedContent.newsIDs.size());
+        deletedComments.add(deletedContent.commentIDs.size());
+        deletedUsers.add(deletedContent.userIDs.size());
+    }
+
+    /**
+     * The content deleted by a transaction, collected so it can be cleaned up after the commit.
+     */
+    private static final class DeletedContent {
+
+        private final List<Integer> newsIDs = new ArrayList<>();
+
+        private final List<Integer> commentIDs = new ArrayList<>();
+
+        private final List<Integer> feedbackIDs = new ArrayList<>();
+
+        private final List<Integer> userIDs = new ArrayList<>();
+
+        private final List<TagUsage> tagUsages = new ArrayList<>();
+
+        private final List<DeletedViews> views = new ArrayList<>();
+    }
+
+    private static final class TagUsage {
+
+        private final int tagID;
+
+        private final LocalDate newsCreationDate;
+
+        private TagUsage(int tagID, LocalDate newsCreationDate) {
+
+            this.tagID = tagID;
+            this.newsCreationDate = newsCreationDate;
+        }
+    }
+
+    private static final class DeletedViews {
+
+        private final int newsID;
+
+        private final LocalDate viewDate;
+
+        private final long numberOfViews;
+
+        private DeletedViews(int newsID, LocalDate viewDate, long numberOfViews) {
+
+            this.newsID = newsID;
+            this.viewDate = viewDate;
+            this.numberOfViews = numberOfViews;
+        }
+    }
+}
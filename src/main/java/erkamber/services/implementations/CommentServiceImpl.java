@@ -1,7 +1,10 @@
 package erkamber.services.implementations;
 
+import erkamber.configurations.PaginationConfiguration;
+import erkamber.dtos.AuthorSummaryDto;
 import erkamber.dtos.CommentDetailedDto;
 import erkamber.dtos.CommentDto;
+import erkamber.dtos.CursorPageDto;
 import erkamber.dtos.UserDto;
 import erkamber.entities.Comment;
 import erkamber.entities.News;
@@ -9,13 +12,15 @@ import erkamber.exceptions.AuthorMismatchException;
 import erkamber.exceptions.ResourceNotFoundException;
 import erkamber.exceptions.TextInjectionException;
 import erkamber.mappers.CommentMapper;
+import erkamber.mappers.CursorMapper;
 import erkamber.repositories.CommentRepository;
 import erkamber.repositories.NewsRepository;
+import erkamber.repositories.VoteRepository;
 import erkamber.services.interfaces.CommentService;
+import erkamber.services.interfaces.ContentIndexService;
 import erkamber.services.interfaces.EmailService;
 import erkamber.validations.CommentValidation;
 import erkamber.validations.InjectionValidation;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,9 +28,11 @@ import javax.mail.MessagingException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -45,9 +52,19 @@ public class CommentServiceImpl implements CommentService {
 
     private final InjectionValidation injectionValidation;
 
+    private final CursorMapper cursorMapper;
+
+    private final PaginationConfiguration paginationConfiguration;
+
+    private final ContentIndexService contentIndexService;
+
+    private final VoteRepository voteRepository;
+
     public CommentServiceImpl(CommentRepository commentRepository, CommentMapper commentMapper,
                               CommentValidation commentValidation, UserServiceImpl userService, NewsRepository newsRepository,
-                              EmailService emailService, InjectionValidation injectionValidation) {
+                              EmailService emailService, InjectionValidation injectionValidation,
+                              CursorMapper cursorMapper, PaginationConfiguration paginationConfiguration,
+                              ContentIndexService contentIndexService, VoteRepository voteRepository) {
 
         this.commentRepository = commentRepository;
         this.commentMapper = commentMapper;
@@ -56,6 +73,10 @@ public class CommentServiceImpl implements CommentService {
         this.newsRepository = newsRepository;
         this.emailService = emailService;
         this.injectionValidation = injectionValidation;
+        this.cursorMapper = cursorMapper;
+        this.paginationConfiguration = paginationConfiguration;
+        this.contentIndexService = contentIndexService;
+        this.voteRepository = voteRepository;
     }
 
 
@@ -76,7 +97,7 @@ public class CommentServiceImpl implements CommentService {
         commentDto.setCreationDate(LocalDateTime.now());
 
         // Validate the comment content
-       // isCommentContentValid(commentDto.getCommentContent());
+        isCommentContentValid(commentDto.getCommentContent());
 
         // Map the CommentDto to a Comment entity
         Comment newComment = commentMapper.mapCommentDtoToComment(commentDto);
@@ -84,6 +105,8 @@ public class CommentServiceImpl implements CommentService {
         // Save the new comment using the commentRepository
         commentRepository.save(newComment);
 
+        contentIndexService.indexComment(newComment.getCommentID(), newComment.getCommentContent());
+
         // Retrieve the username of the comment author
         String commentAuthorUserName = userService.getUserNameOfCommentAuthor(commentDto.getCommentAuthorID());
 
@@ -113,16 +136,7 @@ public class CommentServiceImpl implements CommentService {
      */
     protected void addCommentUpVote(int commentID) {
 
-        Optional<Comment> optionalComment = commentRepository.findById(commentID);
-
-        Comment searchedComment = optionalComment.orElseThrow(() ->
-                new ResourceNotFoundException("Comment not Found:" + commentID, "Comment"));
-
-        int numberOfUpVotes = searchedComment.getCommentUpVotes();
-
-        searchedComment.setCommentUpVotes(numberOfUpVotes + 1);
-
-        commentRepository.save(searchedComment);
+        updateCommentVotes(commentID, 1, 0);
     }
 
     /**
@@ -132,31 +146,17 @@ public class CommentServiceImpl implements CommentService {
      * @param isUpvote  A flag indicating whether the removed vote is an upvote (true) or a downvote (false).
      * @throws ResourceNotFoundException If the comment with the provided ID is not found.
      */
-    @Transactional
     protected void updateCommentVoteByRemovingVote(int commentID, boolean isUpvote) {
 
-        // Retrieve the comment by its ID
-        Optional<Comment> optionalComment = commentRepository.findById(commentID);
-
-        Comment searchedComment = optionalComment.orElseThrow(() ->
-                new ResourceNotFoundException("Comment not Found:" + commentID, "Comment"));
-
         // Update the appropriate vote count based on the isUpvote flag
         if (isUpvote) {
 
-            int numberOfUpVotes = searchedComment.getCommentUpVotes();
-
-            searchedComment.setCommentUpVotes(numberOfUpVotes - 1);
+            updateCommentVotes(commentID, -1, 0);
 
         } else {
 
-            int numberOfDownVotes = searchedComment.getCommentDownVotes();
-
-            searchedComment.setCommentDownVotes(numberOfDownVotes - 1);
+            updateCommentVotes(commentID, 0, -1);
         }
-
-        // Save the updated comment in the repository
-        commentRepository.save(searchedComment);
     }
 
     /**
@@ -166,29 +166,17 @@ public class CommentServiceImpl implements CommentService {
      * @param isUpVote  A flag indicating whether the vote to be swapped is an upvote (true) or a downvote (false).
      * @throws ResourceNotFoundException If the comment with the provided ID is not found.
      */
-    @Transactional
     protected void updateCommentVoteBySwappingVotes(int commentID, boolean isUpVote) {
-        // Retrieve the comment by its ID
-        Optional<Comment> optionalComment = commentRepository.findById(commentID);
-
-        Comment searchedComment = optionalComment.orElseThrow(() ->
-                new ResourceNotFoundException("Comment not Found:" + commentID, "Comment"));
-
-        // Get the current upvote and downvote counts
-        int numberOfUpVotes = searchedComment.getCommentUpVotes();
-        int numberOfDownVotes = searchedComment.getCommentDownVotes();
 
         // Swap the vote from upvote to downvote or vice versa
         if (isUpVote) {
-            searchedComment.setCommentUpVotes(numberOfUpVotes + 1);
-            searchedComment.setCommentDownVotes(numberOfDownVotes - 1);
+
+            updateCommentVotes(commentID, 1, -1);
+
         } else {
-            searchedComment.setCommentUpVotes(numberOfUpVotes - 1);
-            searchedComment.setCommentDownVotes(numberOfDownVotes + 1);
-        }
 
-        // Save the updated comment in the repository
-        commentRepository.save(searchedComment);
+            updateCommentVotes(commentID, -1, 1);
+        }
     }
 
     /**
@@ -199,14 +187,23 @@ public class CommentServiceImpl implements CommentService {
      */
     protected void addCommentDownVote(int commentID) {
 
-        Optional<Comment> optionalComment = commentRepository.findById(commentID);
+        updateCommentVotes(commentID, 0, 1);
+    }
 
-        Comment searchedComment = optionalComment.orElseThrow(() ->
-                new ResourceNotFoundException("Comment not Found:" + commentID, "Comment"));
+    /**
+     * Changes the vote counts of a comment with a single atomic UPDATE statement, so concurrent votes are never lost.
+     *
+     * @param commentID      The ID of the comment.
+     * @param upVotesDelta   The change of the number of upvotes.
+     * @param downVotesDelta The change of the number of downvotes.
+     * @throws ResourceNotFoundException If the comment with the provided ID is not found.
+     */
+    private void updateCommentVotes(int commentID, int upVotesDelta, int downVotesDelta) {
 
-        int numberOfDownVotes = searchedComment.getCommentDownVotes();
+        if (commentRepository.updateCommentVotes(commentID, upVotesDelta, downVotesDelta) == 0) {
 
-        searchedComment.setCommentDownVotes(numberOfDownVotes + 1);
+            throw new ResourceNotFoundException("Comment not Found:" + commentID, "Comment");
+        }
     }
 
     /**
@@ -217,6 +214,7 @@ public class CommentServiceImpl implements CommentService {
      * @param userID     The ID of the user performing the update.
      * @param newContent The new content to replace the existing content of the comment.
      * @throws ResourceNotFoundException If the comment with the provided ID is not found.
+     * @throws TextInjectionException    If the new content might contain an injection.
      */
     @Override
     public void updateCommentContent(int commentID, int userID, String newContent) {
@@ -228,9 +226,13 @@ public class CommentServiceImpl implements CommentService {
 
         isUserIDMatchingCommentAuthorID(searchedComment.getCommentAuthorID(), userID);
 
+        isCommentContentValid(newContent);
+
         searchedComment.setCommentContent(newContent);
 
         commentRepository.save(searchedComment);
+
+        contentIndexService.indexComment(commentID, newContent);
     }
 
     /**
@@ -242,39 +244,49 @@ public class CommentServiceImpl implements CommentService {
     public void deleteCommentByCommentID(int commentID) {
 
         commentRepository.deleteById(commentID);
+
+        contentIndexService.removeComment(commentID);
     }
 
 
     /**
-     * Deletes all comments created by a specific user based on the provided user ID.
+     * Deletes all comments created by a specific user based on the provided user ID, together with the votes
+     * on them. The votes and the comments are each removed with a single statement in one transaction.
      *
      * @param userID The ID of the user whose comments are to be deleted.
      */
     @Override
+    @Transactional
     public void deleteAllCommentsOfUser(int userID) {
 
-        List<Comment> listOfCommentsByUser = commentRepository.findCommentsByCommentAuthorIDOrderByCommentIDAsc(userID);
+        List<Integer> commentIDsOfUser = commentRepository.findCommentIDsByAuthorID(userID);
 
-        for (Comment comment : listOfCommentsByUser) {
+        voteRepository.deleteVotesOnCommentsOfAuthor(userID);
 
-            commentRepository.deleteById(comment.getCommentID());
-        }
+        commentRepository.deleteCommentsByAuthorID(userID);
+
+        commentIDsOfUser.forEach(contentIndexService::removeComment);
     }
 
     /**
-     * Deletes all comments associated with a specific news article based on the provided news article ID.
+     * Deletes all comments associated with a specific news article based on the provided news article ID, together
+     * with the votes on them. The votes and the comments are each removed with a single statement in one transaction.
      *
      * @param newsID The ID of the news article whose comments are to be deleted.
      */
     @Override
+    @Transactional
     public void deleteAllCommentsOfNewsID(int newsID) {
 
-        List<Comment> listOfCommentsByNews = commentRepository.findCommentsByCommentNewsID(newsID);
+        List<Integer> newsIDs = Collections.singletonList(newsID);
 
-        for (Comment comment : listOfCommentsByNews) {
+        List<Integer> commentIDsOfNews = commentRepository.findCommentIDsByNewsIDs(newsIDs);
 
-            commentRepository.deleteById(comment.getCommentID());
-        }
+        voteRepository.deleteVotesOnCommentsOfNews(newsIDs);
+
+        commentRepository.deleteCommentsByNewsIDs(newsIDs);
+
+        commentIDsOfNews.forEach(contentIndexService::removeComment);
     }
 
     /**
@@ -292,7 +304,7 @@ public class CommentServiceImpl implements CommentService {
         Comment searchedComment = optionalComment.orElseThrow(() ->
                 new ResourceNotFoundException("Comment not Found:" + commentID, "Comment"));
 
-        UserDto author = userService.getUserByID(searchedComment.getCommentAuthorID());
+        AuthorSummaryDto author = userService.getAuthorSummaryByID(searchedComment.getCommentAuthorID());
 
         return commentMapper.mapToCommentDetailedDto(searchedComment, author);
     }
@@ -328,32 +340,27 @@ public class CommentServiceImpl implements CommentService {
     }
 
     /**
-     * Retrieves a list of detailed comment by newsID representations created on the specified creation date.
+     * Retrieves a page of detailed comment representations of a news article created on the specified day, ordered by comment ID.
+     * The comments are read with a range query on the (news ID, creation date) index between the start and the end of the day.
      *
      * @param newsID       newsID used to find its comments
      * @param creationDate The creation date for which comments are to be retrieved.
-     * @return A list of {@link CommentDetailedDto} objects representing the detailed information of comments created on
-     * the specified date.
+     * @param cursor       The cursor returned with the previous page, or null for the first page.
+     * @param pageSize     The requested page size, or null for the default page size.
+     * @return A page of {@link CommentDetailedDto} objects representing the detailed information of comments created on
+     * the specified date, with the cursor of the next page.
+     * @throws erkamber.exceptions.InvalidInputException If the provided cursor is invalid.
      */
     @Override
-    public List<CommentDetailedDto> getCommentsByNewsIDAndIDCreationDate(int newsID, LocalDate creationDate) {
-
-        List<Comment> listOfCommentsByDate = commentRepository.findAll();
+    public CursorPageDto<CommentDetailedDto> getCommentsByNewsIDAndIDCreationDate(int newsID, LocalDate creationDate,
+                                                                                  String cursor, Integer pageSize) {
 
-        Iterator<Comment> iterator = listOfCommentsByDate.iterator();
+        int resolvedPageSize = paginationConfiguration.getPageSize(pageSize);
 
-        while (iterator.hasNext()) {
+        List<Comment> listOfCommentsByDate = commentRepository.findCommentsOfNewsCreatedBetween(newsID, creationDate.atStartOfDay(),
+                creationDate.plusDays(1).atStartOfDay(), cursorMapper.mapCursorToID(cursor), cursorMapper.mapToPageable(resolvedPageSize));
 
-            Comment comment = iterator.next();
-            LocalDate localDate = LocalDate.from(comment.getCreationDate());
-
-            if (!localDate.equals(creationDate)) {
-
-                iterator.remove();
-            }
-        }
-
-        return convertListToDetailedDto(listOfCommentsByDate);
+        return cursorMapper.mapToCursorPage(listOfCommentsByDate, resolvedPageSize, Comment::getCommentID, this::convertListToDetailedDto);
     }
 
     /**
@@ -395,20 +402,64 @@ public class CommentServiceImpl implements CommentService {
     }
 
     /**
-     * Retrieves a list of detailed comment representations for all comments.
+     * Retrieves a page of detailed comment representations for all comments, ordered by comment ID.
      *
-     * @return A list of {@link CommentDetailedDto} objects representing the detailed information of all comments.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The requested page size, or null for the default page size.
+     * @return A page of {@link CommentDetailedDto} objects with the cursor of the next page.
+     * @throws erkamber.exceptions.InvalidInputException If the provided cursor is invalid.
      */
     @Override
-    public List<CommentDetailedDto> getAllComments() {
+    public CursorPageDto<CommentDetailedDto> getAllComments(String cursor, Integer pageSize) {
 
-        List<Comment> listOfAllComments = commentRepository.findAll((Sort.by(Sort.Direction.ASC, "commentID")));
+        int resolvedPageSize = paginationConfiguration.getPageSize(pageSize);
 
-        return convertListToDetailedDto(listOfAllComments);
+        List<Comment> listOfComments = commentRepository.findCommentsByCommentIDGreaterThanOrderByCommentIDAsc(
+                cursorMapper.mapCursorToID(cursor), cursorMapper.mapToPageable(resolvedPageSize));
+
+        return cursorMapper.mapToCursorPage(listOfComments, resolvedPageSize, Comment::getCommentID, this::convertListToDetailedDto);
+    }
+
+    /**
+     * Retrieves a page of the comments whose content contains a word, ordered by comment ID.
+     * Candidates are found in the trigram index and verified against their content in chunks of a page,
+     * so the comments table is not scanned and only about a page of comments is loaded per chunk.
+     *
+     * @param word     The word to be searched within the comment content.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The requested page size, or null for the default page size.
+     * @return A page of {@link CommentDetailedDto} objects with the cursor of the next page.
+     * @throws InvalidInputException If the cursor is invalid.
+     */
+    @Override
+    public CursorPageDto<CommentDetailedDto> getCommentsByContainingWord(String word, String cursor, Integer pageSize) {
+
+        int lastCommentID = cursorMapper.mapCursorToID(cursor);
+
+        int resolvedPageSize = paginationConfiguration.getPageSize(pageSize);
+
+        int[] candidateCommentIDs = contentIndexService.findCommentCandidateIDs(word);
+
+        List<Comment> listOfComments;
+
+        // Words shorter than a trigram cannot be narrowed down by the index
+        if (candidateCommentIDs == null) {
+
+            listOfComments = commentRepository.findCommentsByCommentContentContainingAndCommentIDGreaterThanOrderByCommentIDAsc(word,
+                    lastCommentID, cursorMapper.mapToPageable(resolvedPageSize));
+
+        } else {
+
+            listOfComments = cursorMapper.loadVerifiedRows(candidateCommentIDs, lastCommentID, resolvedPageSize,
+                    commentRepository::findAllById, Comment::getCommentID, comment -> comment.getCommentContent().contains(word));
+        }
+
+        return cursorMapper.mapToCursorPage(listOfComments, resolvedPageSize, Comment::getCommentID, this::convertListToDetailedDto);
     }
 
     /**
      * Converts a list of Comment entities to a list of detailed comment representations with author information.
+     * The authors of the whole list are resolved with one call to the user service.
      *
      * @param listOfComments The list of Comment entities to be converted.
      * @return A list of {@link CommentDetailedDto} objects representing the detailed information of comments with author
@@ -418,10 +469,14 @@ public class CommentServiceImpl implements CommentService {
 
         List<CommentDetailedDto> listOfDetailedCommentDto = new ArrayList<>();
 
+        Map<Integer, AuthorSummaryDto> authorsByID = userService.getAuthorSummariesByIDs(listOfComments.stream()
+                .map(Comment::getCommentAuthorID)
+                .collect(Collectors.toSet()));
+
         // Convert each comment entity to a detailed DTO with author information
         for (Comment comment : listOfComments) {
 
-            UserDto author = userService.getUserByID(comment.getCommentAuthorID());
+            AuthorSummaryDto author = authorsByID.get(comment.getCommentAuthorID());
 
             listOfDetailedCommentDto.add(commentMapper.mapToCommentDetailedDto(comment, author));
         }
@@ -0,0 +1,140 @@
+package erkamber.services.implementations;
+
+import erkamber.collections.TrigramIndex;
+import erkamber.entities.Comment;
+import erkamber.entities.Feedback;
+import erkamber.repositories.CommentRepository;
+import erkamber.repositories.FeedbackRepository;
+import erkamber.services.interfaces.ContentIndexService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keeps trigram indexes over the contents of comments and feedbacks, so substring searches do not scan the tables.
+ * <p>
+ * Both indexes are built from the database at startup and maintained by the comment and feedback services on every
+ * create, update and delete. The time taken to build each index is logged, as a measure of the bulk indexing throughput.
+ */
+@Service
+public class ContentIndexServiceImpl implements ContentIndexService {
+
+    private static final int INDEXING_BATCH_SIZE = 1000;
+
+    private final Logger logger = LogManager.getLogger(ContentIndexServiceImpl.class);
+
+    private final CommentRepository commentRepository;
+
+    private final FeedbackRepository feedbackRepository;
+
+    private final TrigramIndex commentIndex = new TrigramIndex();
+
+    private final TrigramIndex feedbackIndex = new TrigramIndex();
+
+    public ContentIndexServiceImpl(CommentRepository commentRepository, FeedbackRepository feedbackRepository) {
+
+        this.commentRepository = commentRepository;
+        this.feedbackRepository = feedbackRepository;
+    }
+
+    /**
+     * Builds the comment and feedback indexes from the database.
+     */
+    @PostConstruct
+    public void buildIndexes() {
+
+        buildIndex("comments", commentIndex, commentRepository::findCommentsByCommentIDGreaterThanOrderByCommentIDAsc,
+                Comment::getCommentID, Comment::getCommentContent);
+
+        buildIndex("feedbacks", feedbackIndex, feedbackRepository::findFeedbackByFeedbackIDGreaterThanOrderByFeedbackIDAsc,
+                Feedback::getFeedbackID, Feedback::getFeedbackContent);
+    }
+
+    @Override
+    public void indexComment(int commentID, String commentContent) {
+
+        commentIndex.put(commentID, commentContent);
+    }
+
+    @Override
+    public void removeComment(int commentID) {
+
+        commentIndex.remove(commentID);
+    }
+
+    /**
+     * Finds the IDs of the comments that may contain a substring. The candidates still have to be verified.
+     *
+     * @param substring The searched substring.
+     * @return The candidate comment IDs in ascending order, or null if the substring is too short to use the index.
+     */
+    @Override
+    public int[] findCommentCandidateIDs(String substring) {
+
+        return commentIndex.findCandidateIDs(substring);
+    }
+
+    @Override
+    public void indexFeedback(int feedbackID, String feedbackContent) {
+
+        feedbackIndex.put(feedbackID, feedbackContent);
+    }
+
+    @Override
+    public void removeFeedback(int feedbackID) {
+
+        feedbackIndex.remove(feedbackID);
+    }
+
+    /**
+     * Finds the IDs of the feedbacks that may contain a substring. The candidates still have to be verified.
+     *
+     * @param substring The searched substring.
+     * @return The candidate feedback IDs in ascending order, or null if the substring is too short to use the index.
+     */
+    @Override
+    public int[] findFeedbackCandidateIDs(String substring) {
+
+        return feedbackIndex.findCandidateIDs(substring);
+    }
+
+    /**
+     * Reads all rows of a table in keyset pages and indexes their contents, logging the indexing throughput.
+     */
+    private <E> void buildIndex(String tableName, TrigramIndex index, BiFunction<Integer, PageRequest, List<E>> pageReader,
+                                ToIntFunction<E> idExtractor, Function<E, String> contentExtractor) {
+
+        long startTime = System.nanoTime();
+
+        index.clear();
+
+        int lastID = 0;
+
+        List<E> rows;
+
+        do {
+
+            rows = pageReader.apply(lastID, PageRequest.of(0, INDEXING_BATCH_SIZE));
+
+            for (E row : rows) {
+
+                lastID = idExtractor.applyAsInt(row);
+
+                index.put(lastID, contentExtractor.apply(row));
+            }
+
+        } while (rows.size() == INDEXING_BATCH_SIZE);
+
+        double elapsedMillis = (System.nanoTime() - startTime) / 1_000_000.0;
+
+        logger.info("Indexed {} {} in {} ms ({} per second)", index.size(), tableName, String.format("%.1f", elapsedMillis),
+                String.format("%.0f", elapsedMillis == 0 ? 0 : index.size() * 1000 / elapsedMillis));
+    }
+}
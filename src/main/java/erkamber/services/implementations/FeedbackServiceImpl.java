@@ -1,20 +1,27 @@
 package erkamber.services.implementations;
 
+import erkamber.configurations.PaginationConfiguration;
+import erkamber.dtos.AuthorSummaryDto;
 import erkamber.dtos.CommentDetailedDto;
+import erkamber.dtos.CursorPageDto;
 import erkamber.dtos.FeedbackDto;
-import erkamber.dtos.UserDto;
 import erkamber.entities.Comment;
 import erkamber.entities.Feedback;
 import erkamber.exceptions.ResourceNotFoundException;
+import erkamber.exceptions.TextInjectionException;
+import erkamber.mappers.CursorMapper;
 import erkamber.mappers.FeedbackMapper;
 import erkamber.repositories.FeedbackRepository;
+import erkamber.services.interfaces.ContentIndexService;
 import erkamber.services.interfaces.FeedbackService;
 import erkamber.services.interfaces.UserService;
+import erkamber.validations.InjectionValidation;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -28,10 +35,24 @@ public class FeedbackServiceImpl implements FeedbackService {
 
     private final UserService userService;
 
-    public FeedbackServiceImpl(FeedbackRepository feedbackRepository, FeedbackMapper feedbackMapper, UserService userService) {
+    private final CursorMapper cursorMapper;
+
+    private final PaginationConfiguration paginationConfiguration;
+
+    private final InjectionValidation injectionValidation;
+
+    private final ContentIndexService contentIndexService;
+
+    public FeedbackServiceImpl(FeedbackRepository feedbackRepository, FeedbackMapper feedbackMapper, UserService userService,
+                               CursorMapper cursorMapper, PaginationConfiguration paginationConfiguration,
+                               InjectionValidation injectionValidation, ContentIndexService contentIndexService) {
         this.feedbackRepository = feedbackRepository;
         this.feedbackMapper = feedbackMapper;
         this.userService = userService;
+        this.cursorMapper = cursorMapper;
+        this.paginationConfiguration = paginationConfiguration;
+        this.injectionValidation = injectionValidation;
+        this.contentIndexService = contentIndexService;
     }
 
     /**
@@ -43,6 +64,7 @@ public class FeedbackServiceImpl implements FeedbackService {
      * @param feedbackDto The Data Transfer Object (DTO) containing the information for
      *                    creating the feedback.
      * @return The unique identifier (ID) of the newly created feedback.
+     * @throws TextInjectionException If the feedback content might contain an injection.
      * @see FeedbackDto
      * @see Feedback
      * @see FeedbackMapper
@@ -51,12 +73,16 @@ public class FeedbackServiceImpl implements FeedbackService {
     @Override
     public int createFeedback(FeedbackDto feedbackDto) {
 
+        isFeedbackContentValid(feedbackDto.getFeedbackContent());
+
         Feedback newFeedback = feedbackMapper.mapFeedbackDtoToFeedback(feedbackDto);
 
         newFeedback.setFeedbackCreationDate(LocalDateTime.now());
 
         feedbackRepository.save(newFeedback);
 
+        contentIndexService.indexFeedback(newFeedback.getFeedbackID(), newFeedback.getFeedbackContent());
+
         return newFeedback.getFeedbackID();
     }
 
@@ -84,6 +110,8 @@ public class FeedbackServiceImpl implements FeedbackService {
 
         feedbackRepository.delete(searchedFeedbackObject);
 
+        contentIndexService.removeFeedback(feedbackID);
+
         return searchedFeedbackObject.getFeedbackID();
     }
 
@@ -103,6 +131,8 @@ public class FeedbackServiceImpl implements FeedbackService {
 
         feedbackRepository.deleteAll(searchedFeedback);
 
+        searchedFeedback.forEach(feedback -> contentIndexService.removeFeedback(feedback.getFeedbackID()));
+
         return searchedFeedback.size();
     }
 
@@ -124,25 +154,32 @@ public class FeedbackServiceImpl implements FeedbackService {
 
         feedbackRepository.deleteAll(listOfFeedbacksCreatedBetween);
 
+        listOfFeedbacksCreatedBetween.forEach(feedback -> contentIndexService.removeFeedback(feedback.getFeedbackID()));
+
         return listOfFeedbacksCreatedBetween.size();
     }
 
     /**
-     * Retrieves a list of all feedback entries from the data source and maps them to
+     * Retrieves a page of feedback entries from the data source, ordered by feedback ID, and maps them to
      * their corresponding Data Transfer Objects (DTOs).
      *
-     * @return A list of FeedbackDto objects representing all feedback entries.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The requested page size, or null for the default page size.
+     * @return A page of FeedbackDto objects with the cursor of the next page.
      * @see Feedback
      * @see FeedbackDto
      * @see FeedbackRepository
      * @see #mapFeedbackListToFeedbackDto(List)
      */
     @Override
-    public List<FeedbackDto> getAllFeedbacks() {
+    public CursorPageDto<FeedbackDto> getAllFeedbacks(String cursor, Integer pageSize) {
+
+        int resolvedPageSize = paginationConfiguration.getPageSize(pageSize);
 
-        List<Feedback> listOfAllFeedbacks = feedbackRepository.findAll();
+        List<Feedback> listOfFeedbacks = feedbackRepository.findFeedbackByFeedbackIDGreaterThanOrderByFeedbackIDAsc(
+                cursorMapper.mapCursorToID(cursor), cursorMapper.mapToPageable(resolvedPageSize));
 
-        return mapFeedbackListToFeedbackDto(listOfAllFeedbacks);
+        return cursorMapper.mapToCursorPage(listOfFeedbacks, resolvedPageSize, Feedback::getFeedbackID, this::mapFeedbackListToFeedbackDto);
     }
 
     /**
@@ -231,22 +268,43 @@ public class FeedbackServiceImpl implements FeedbackService {
 
     /**
      * Retrieves a list of feedback entries containing the specified word in their content
-     * and maps them to their corresponding Data Transfer Objects (DTOs).
+     * and maps them to their corresponding Data Transfer Objects (DTOs). Candidates are found
+     * in the trigram index and verified against their content, so the feedbacks table is not scanned.
      *
-     * @param word The word to be searched within the feedback content.
-     * @return A list of FeedbackDto objects representing feedback entries containing the
-     * specified word in their content.
+     * @param word     The word to be searched within the feedback content.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The requested page size, or null for the default page size.
+     * @return A page of FeedbackDto objects representing feedback entries containing the
+     * specified word in their content, with the cursor of the next page.
      * @see Feedback
      * @see FeedbackDto
      * @see FeedbackRepository
      * @see #mapFeedbackListToFeedbackDto(List)
      */
     @Override
-    public List<FeedbackDto> getFeedbackByContainingWord(String word) {
+    public CursorPageDto<FeedbackDto> getFeedbackByContainingWord(String word, String cursor, Integer pageSize) {
+
+        int lastFeedbackID = cursorMapper.mapCursorToID(cursor);
+
+        int resolvedPageSize = paginationConfiguration.getPageSize(pageSize);
+
+        int[] candidateFeedbackIDs = contentIndexService.findFeedbackCandidateIDs(word);
 
-        List<Feedback> listOfFeedbacksContainingWord = feedbackRepository.findFeedbackByFeedbackContentContaining(word);
+        List<Feedback> listOfFeedbacks;
 
-        return mapFeedbackListToFeedbackDto(listOfFeedbacksContainingWord);
+        // Words shorter than a trigram cannot be narrowed down by the index
+        if (candidateFeedbackIDs == null) {
+
+            listOfFeedbacks = feedbackRepository.findFeedbackByFeedbackContentContainingAndFeedbackIDGreaterThanOrderByFeedbackIDAsc(word,
+                    lastFeedbackID, cursorMapper.mapToPageable(resolvedPageSize));
+
+        } else {
+
+            listOfFeedbacks = cursorMapper.loadVerifiedRows(candidateFeedbackIDs, lastFeedbackID, resolvedPageSize,
+                    feedbackRepository::findAllById, Feedback::getFeedbackID, feedback -> feedback.getFeedbackContent().contains(word));
+        }
+
+        return cursorMapper.mapToCursorPage(listOfFeedbacks, resolvedPageSize, Feedback::getFeedbackID, this::mapFeedbackListToFeedbackDto);
     }
 
 
@@ -258,7 +316,7 @@ public class FeedbackServiceImpl implements FeedbackService {
         Feedback searchedFeedback = optionalFeedback.orElseThrow(() ->
                 new ResourceNotFoundException("Feedback with ID not Found:" + feedbackId, "Feedback"));
 
-        UserDto feedbackAuthor = userService.getUserByID(searchedFeedback.getAuthorID());
+        AuthorSummaryDto feedbackAuthor = userService.getAuthorSummaryByID(searchedFeedback.getAuthorID());
 
         return feedbackMapper.mapFeedbackToFeedbackDto(searchedFeedback, feedbackAuthor);
     }
@@ -275,11 +333,30 @@ public class FeedbackServiceImpl implements FeedbackService {
      */
     private List<FeedbackDto> mapFeedbackListToFeedbackDto(List<Feedback> listOfFeedbacks) {
 
+        Map<Integer, AuthorSummaryDto> authorsByID = userService.getAuthorSummariesByIDs(listOfFeedbacks.stream()
+                .map(Feedback::getAuthorID)
+                .collect(Collectors.toSet()));
+
         return listOfFeedbacks.stream()
-                .map(feedback -> {
-                    UserDto feedbackAuthor = userService.getUserByID(feedback.getAuthorID());
-                    return feedbackMapper.mapFeedbackToFeedbackDto(feedback, feedbackAuthor);
-                })
+                .map(feedback -> feedbackMapper.mapFeedbackToFeedbackDto(feedback, authorsByID.get(feedback.getAuthorID())))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Validates the content of a feedback to ensure it does not contain any potential injection.
+     *
+     * @param feedbackContent The content of the feedback to be validated.
+     * @throws TextInjectionException If the feedback content might contain an injection.
+     */
+    private void isFeedbackContentValid(String feedbackContent) {
+
+        if (injectionValidation.isTextContainingInjection(feedbackContent)) {
+
+            throw new TextInjectionException("Feedback content might contain Injection");
+        }
+        if (injectionValidation.isTextContainingSqlInjection(feedbackContent)) {
+
+            throw new TextInjectionException("Feedback content might contain SQL Injection");
+        }
+    }
 }
@@ -8,6 +8,7 @@ import erkamber.repositories.MediaRepository;
 import erkamber.services.interfaces.MediaService;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -65,9 +66,7 @@ public class MediaServiceImpl implements MediaService {
     @Override
     public void deleteMediasByNewsID(int newsID) {
 
-        List<Media> mediasOfNews = mediaRepository.findMediaByMediaNewsID(newsID);
-
-        mediaRepository.deleteAll(mediasOfNews);
+        mediaRepository.deleteMediasByNewsIDs(Collections.singletonList(newsID));
     }
 
     /**
@@ -0,0 +1,184 @@
+package erkamber.services.implementations;
+
+import erkamber.dtos.*;
+import erkamber.entities.*;
+import erkamber.enums.VoteTypeNews;
+import erkamber.exceptions.ResourceNotFoundException;
+import erkamber.mappers.*;
+import erkamber.repositories.*;
+import erkamber.services.interfaces.TagService;
+import erkamber.services.interfaces.UserService;
+import erkamber.services.interfaces.ViewCountService;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Builds {@link NewsDetailedDto} objects for a whole list of news articles at once.
+ * <p>
+ * Authors, tags, media, comments and view counts are loaded with one IN-list query each for the whole list,
+ * so the number of database round trips does not depend on the number of articles. Votes are summarized by the
+ * counters of the news row; the individual votes are served by a separate paginated endpoint.
+ */
+@Component
+public class NewsDetailedDtoAssembler {
+
+    private final UserService userService;
+
+    private final NewsTagRepository newsTagRepository;
+
+    private final TagService tagService;
+
+    private final MediaRepository mediaRepository;
+
+    private final MediaMapper mediaMapper;
+
+    private final CommentRepository commentRepository;
+
+    private final CommentMapper commentMapper;
+
+    private final VoteRepository voteRepository;
+
+    private final VoteMapper voteMapper;
+
+    private final ViewCountService viewCountService;
+
+    private final NewsMapper newsMapper;
+
+    public NewsDetailedDtoAssembler(UserService userService, NewsTagRepository newsTagRepository,
+                                    TagService tagService, MediaRepository mediaRepository,
+                                    MediaMapper mediaMapper, CommentRepository commentRepository, CommentMapper commentMapper,
+                                    VoteRepository voteRepository, VoteMapper voteMapper, ViewCountService viewCountService,
+                                    NewsMapper newsMapper) {
+
+        this.userService = userService;
+        this.newsTagRepository = newsTagRepository;
+        this.tagService = tagService;
+        this.mediaRepository = mediaRepository;
+        this.mediaMapper = mediaMapper;
+        this.commentRepository = commentRepository;
+        this.commentMapper = commentMapper;
+        this.voteRepository = voteRepository;
+        this.voteMapper = voteMapper;
+        this.viewCountService = viewCountService;
+        this.newsMapper = newsMapper;
+    }
+
+    /**
+     * Assembles detailed DTOs for the given news articles, keeping the order of the input list.
+     *
+     * @param listOfNews The news articles to be converted.
+     * @return A list of NewsDetailedDto objects in the same order as the provided news articles.
+     * @throws ResourceNotFoundException If the author of an article or one of its tags is not found.
+     */
+    public List<NewsDetailedDto> assembleNewsDetailedDtos(List<News> listOfNews) {
+
+        if (listOfNews.isEmpty()) {
+
+            return new ArrayList<>();
+        }
+
+        Set<Integer> newsIDs = new LinkedHashSet<>();
+
+        for (News news : listOfNews) {
+
+            newsIDs.add(news.getNewsID());
+        }
+
+        // Retrieve the tags, media and comments of all articles in one query each
+        List<NewsTag> listOfNewsTags = newsTagRepository.findNewsTagsByNewsIDIn(newsIDs);
+
+        List<Media> listOfMedias = mediaRepository.findMediaByMediaNewsIDIn(newsIDs);
+
+        List<Comment> listOfComments = commentRepository.findCommentsByCommentNewsIDInOrderByCommentIDAsc(newsIDs);
+
+        Map<Integer, Integer> viewCountsByNewsID = viewCountService.getViewCounts(newsIDs);
+
+        // Retrieve the authors of the articles and of their comments together
+        Set<Integer> userIDs = new HashSet<>();
+
+        listOfNews.forEach(news -> userIDs.add(news.getUserID()));
+        listOfComments.forEach(comment -> userIDs.add(comment.getCommentAuthorID()));
+
+        Map<Integer, AuthorSummaryDto> authorsByID = userService.getAuthorSummariesByIDs(userIDs);
+
+        Map<Integer, TagDto> tagsByID = getTagsByID(listOfNewsTags);
+
+        // Group the loaded rows by the article they belong to
+        Map<Integer, List<TagDto>> tagsByNewsID = new HashMap<>();
+
+        for (NewsTag newsTag : listOfNewsTags) {
+
+            tagsByNewsID.computeIfAbsent(newsTag.getNewsID(), key -> new ArrayList<>()).add(tagsByID.get(newsTag.getTagID()));
+        }
+
+        Map<Integer, List<MediaDto>> mediasByNewsID = new HashMap<>();
+
+        for (Media media : listOfMedias) {
+
+            mediasByNewsID.computeIfAbsent(media.getMediaNewsID(), key -> new ArrayList<>()).add(mediaMapper.mapMediaToMediaDto(media));
+        }
+
+        Map<Integer, List<CommentDetailedDto>> commentsByNewsID = new HashMap<>();
+
+        for (Comment comment : listOfComments) {
+
+            AuthorSummaryDto commentAuthor = authorsByID.get(comment.getCommentAuthorID());
+
+            commentsByNewsID.computeIfAbsent(comment.getCommentNewsID(), key -> new ArrayList<>())
+                    .add(commentMapper.mapToCommentDetailedDto(comment, commentAuthor));
+        }
+
+        // Stitch the detailed DTOs together in the order of the provided list
+        List<NewsDetailedDto> listOfNewsDetailedDto = new ArrayList<>(listOfNews.size());
+
+        for (News news : listOfNews) {
+
+            int newsID = news.getNewsID();
+
+            listOfNewsDetailedDto.add(newsMapper.mapToNewsDtoDetailed(newsMapper.mapNewsToNewsDto(news),
+                    authorsByID.get(news.getUserID()),
+                    viewCountsByNewsID.getOrDefault(newsID, 0),
+                    tagsByNewsID.getOrDefault(newsID, new ArrayList<>()),
+                    mediasByNewsID.getOrDefault(newsID, new ArrayList<>()),
+                    commentsByNewsID.getOrDefault(newsID, new ArrayList<>()),
+                    null));
+        }
+
+        return listOfNewsDetailedDto;
+    }
+
+    /**
+     * Assembles the detailed DTO of a news article viewed by a logged user, including the vote of that user.
+     *
+     * @param news         The news article to be converted.
+     * @param callerUserID The ID of the logged user viewing the article.
+     * @return The NewsDetailedDto of the article, with the caller's vote if the caller has voted.
+     * @throws ResourceNotFoundException If the author of the article or one of its tags is not found.
+     */
+    public NewsDetailedDto assembleNewsDetailedDtoForUser(News news, int callerUserID) {
+
+        NewsDetailedDto newsDetailedDto = assembleNewsDetailedDtos(Collections.singletonList(news)).get(0);
+
+        voteRepository.findVoteByUserIDAndVotedContentIDAndVotedContentType(callerUserID, news.getNewsID(), VoteTypeNews.NEWS.getType())
+                .ifPresent(vote -> newsDetailedDto.setCallerVote(voteMapper.mapVoteToVoteDto(vote)));
+
+        return newsDetailedDto;
+    }
+
+    /**
+     * Retrieves the tags referenced by the given news tags from the tag dictionary, mapped by their ID.
+     *
+     * @param listOfNewsTags The news tags whose tags will be retrieved.
+     * @return A map of tag ID to TagDto.
+     * @throws ResourceNotFoundException If one of the referenced tags is not found.
+     */
+    private Map<Integer, TagDto> getTagsByID(List<NewsTag> listOfNewsTags) {
+
+        Set<Integer> tagIDs = new HashSet<>();
+
+        listOfNewsTags.forEach(newsTag -> tagIDs.add(newsTag.getTagID()));
+
+        return tagService.findTagsByTagIDs(tagIDs);
+    }
+}
@@ -0,0 +1,385 @@
+package erkamber.services.implementations;
+
+import erkamber.entities.News;
+import erkamber.exceptions.InvalidInputException;
+import erkamber.repositories.NewsRepository;
+import erkamber.services.interfaces.NewsSearchService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps an in-memory full-text index over the titles and contents of all news articles and ranks matches with BM25.
+ * <p>
+ * The terms of the index are kept sorted, so every query term also matches the terms it is a prefix of, with a lower
+ * weight than an exact match. Title terms count {@value #TITLE_TERM_WEIGHT} times as much as content terms.
+ * News articles are not indexed on the request thread: changed IDs are queued and reindexed in batches from the
+ * database by a scheduled task, and the whole index can be rebuilt from the database.
+ */
+@Service
+public class NewsSearchServiceImpl implements NewsSearchService {
+
+    public static final int MAX_SEARCH_RESULTS = 1000;
+
+    private static final int TITLE_TERM_WEIGHT = 2;
+
+    private static final int INDEXING_BATCH_SIZE = 500;
+
+    private static final int MAX_QUERY_TERMS = 10;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+
+    private static final double BM25_K1 = 1.2;
+
+    private static final double BM25_B = 0.75;
+
+    private final Logger logger = LogManager.getLogger(NewsSearchServiceImpl.class);
+
+    private final NewsRepository newsRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // IDs of the news articles changed since the last indexing batch
+    private final Set<Integer> pendingNewsIDs = ConcurrentHashMap.newKeySet();
+
+    private SearchIndex searchIndex = new SearchIndex();
+
+    public NewsSearchServiceImpl(NewsRepository newsRepository) {
+
+        this.newsRepository = newsRepository;
+    }
+
+    /**
+     * Builds the index from the news table at startup.
+     */
+    @PostConstruct
+    public void buildIndex() {
+
+        rebuildIndex();
+    }
+
+    /**
+     * Queues a news article to be reindexed by the next indexing batch, e.g. after it was added, updated or deleted.
+     *
+     * @param newsID The ID of the changed news article.
+     */
+    @Override
+    public void scheduleIndexing(int newsID) {
+
+        pendingNewsIDs.add(newsID);
+    }
+
+    /**
+     * Reindexes the queued news articles from the database, removing the ones that no longer exist.
+     */
+    @Scheduled(fixedDelayString = "${newslinker.search.indexing-interval-ms:1000}")
+    public synchronized void indexPendingNews() {
+
+        if (pendingNewsIDs.isEmpty()) {
+
+            return;
+        }
+
+        List<Integer> batchNewsIDs = new ArrayList<>(INDEXING_BATCH_SIZE);
+
+        for (Iterator<Integer> iterator = pendingNewsIDs.iterator(); iterator.hasNext() && batchNewsIDs.size() < INDEXING_BATCH_SIZE; ) {
+
+            batchNewsIDs.add(iterator.next());
+            iterator.remove();
+        }
+
+        List<News> listOfNews = newsRepository.findAllById(batchNewsIDs);
+
+        lock.writeLock().lock();
+
+        try {
+
+            batchNewsIDs.forEach(searchIndex::removeNews);
+
+            listOfNews.forEach(searchIndex::addNews);
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from the news table, reading it in keyset pages, and replaces the current index.
+     *
+     * @return The number of indexed news articles.
+     */
+    @Override
+    public synchronized int rebuildIndex() {
+
+        SearchIndex rebuiltIndex = new SearchIndex();
+
+        int lastNewsID = 0;
+
+        List<News> listOfNews;
+
+        do {
+
+            listOfNews = newsRepository.findNewsByNewsIDGreaterThanOrderByNewsIDAsc(lastNewsID, PageRequest.of(0, INDEXING_BATCH_SIZE));
+
+            listOfNews.forEach(rebuiltIndex::addNews);
+
+            if (!listOfNews.isEmpty()) {
+
+                lastNewsID = listOfNews.get(listOfNews.size() - 1).getNewsID();
+            }
+
+        } while (listOfNews.size() == INDEXING_BATCH_SIZE);
+
+        lock.writeLock().lock();
+
+        try {
+
+            searchIndex = rebuiltIndex;
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Rebuilt search index of {} news articles with {} terms", rebuiltIndex.getNumberOfNews(), rebuiltIndex.getNumberOfTerms());
+
+        return rebuiltIndex.getNumberOfNews();
+    }
+
+    /**
+     * Searches the news articles matching any term of the query, best match first.
+     *
+     * @param query  The search query.
+     * @param offset The number of best matches to skip.
+     * @param limit  The maximum number of news IDs to return.
+     * @return The IDs of the matching news articles of the requested range, ordered by descending score.
+     * @throws InvalidInputException If the offset or the limit is negative.
+     */
+    @Override
+    public List<Integer> searchNewsIDs(String query, int offset, int limit) {
+
+        if (offset < 0 || limit < 0) {
+
+            throw new InvalidInputException("Search offset and limit cannot be negative");
+        }
+
+        List<String> queryTerms = tokenize(query);
+
+        if (queryTerms.size() > MAX_QUERY_TERMS) {
+
+            queryTerms = queryTerms.subList(0, MAX_QUERY_TERMS);
+        }
+
+        Map<Integer, Double> scoresByNewsID;
+
+        lock.readLock().lock();
+
+        try {
+
+            scoresByNewsID = searchIndex.score(new LinkedHashSet<>(queryTerms));
+
+        } finally {
+
+            lock.readLock().unlock();
+        }
+
+        // Added as longs, so an offset and a limit near Integer.MAX_VALUE cannot overflow
+        int endRank = (int) Math.min((long) offset + limit, MAX_SEARCH_RESULTS);
+
+        return selectTopNewsIDs(scoresByNewsID, Math.min(offset, MAX_SEARCH_RESULTS), endRank);
+    }
+
+    /**
+     * Selects the news IDs ranked between two positions with a min-heap bounded to the end position.
+     */
+    private static List<Integer> selectTopNewsIDs(Map<Integer, Double> scoresByNewsID, int startRank, int endRank) {
+
+        if (endRank <= startRank) {
+
+            return Collections.emptyList();
+        }
+
+        Comparator<Map.Entry<Integer, Double>> rankingOrder =
+                Map.Entry.<Integer, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey());
+
+        PriorityQueue<Map.Entry<Integer, Double>> topEntries = new PriorityQueue<>(endRank + 1, rankingOrder);
+
+        for (Map.Entry<Integer, Double> entry : scoresByNewsID.entrySet()) {
+
+            topEntries.add(entry);
+
+            if (topEntries.size() > endRank) {
+
+                topEntries.poll();
+            }
+        }
+
+        LinkedList<Integer> rankedNewsIDs = new LinkedList<>();
+
+        while (!topEntries.isEmpty()) {
+
+            rankedNewsIDs.addFirst(topEntries.poll().getKey());
+        }
+
+        return rankedNewsIDs.size() > startRank ? new ArrayList<>(rankedNewsIDs.subList(startRank, rankedNewsIDs.size())) : Collections.emptyList();
+    }
+
+    /**
+     * Splits a text into lower-case terms of letters and digits.
+     */
+    private static List<String> tokenize(String text) {
+
+        List<String> terms = new ArrayList<>();
+
+        if (text == null) {
+
+            return terms;
+        }
+
+        StringBuilder term = new StringBuilder();
+
+        for (int i = 0; i <= text.length(); i++) {
+
+            char character = i < text.length() ? text.charAt(i) : ' ';
+
+            if (Character.isLetterOrDigit(character)) {
+
+                term.append(Character.toLowerCase(character));
+
+            } else if (term.length() > 0) {
+
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+
+        return terms;
+    }
+
+    /**
+     * The postings of all indexed news articles. Not thread-safe; guarded by the lock of the service.
+     */
+    private static final class SearchIndex {
+
+        // Weighted term frequency per news ID, for every term
+        private final TreeMap<String, Map<Integer, Integer>> postingsByTerm = new TreeMap<>();
+
+        // Weighted term frequencies of every indexed news article, needed to remove it again
+        private final Map<Integer, Map<String, Integer>> termsByNewsID = new HashMap<>();
+
+        private final Map<Integer, Integer> lengthsByNewsID = new HashMap<>();
+
+        private long totalLength;
+
+        private void addNews(News news) {
+
+            Map<String, Integer> termFrequencies = new HashMap<>();
+
+            tokenize(news.getNewsTitle()).forEach(term -> termFrequencies.merge(term, TITLE_TERM_WEIGHT, Integer::sum));
+            tokenize(news.getNewsContent()).forEach(term -> termFrequencies.merge(term, 1, Integer::sum));
+
+            int length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+            termFrequencies.forEach((term, frequency) ->
+                    postingsByTerm.computeIfAbsent(term, key -> new HashMap<>()).put(news.getNewsID(), frequency));
+
+            termsByNewsID.put(news.getNewsID(), termFrequencies);
+            lengthsByNewsID.put(news.getNewsID(), length);
+            totalLength += length;
+        }
+
+        private void removeNews(int newsID) {
+
+            Map<String, Integer> termFrequencies = termsByNewsID.remove(newsID);
+
+            if (termFrequencies == null) {
+
+                return;
+            }
+
+            for (String term : termFrequencies.keySet()) {
+
+                Map<Integer, Integer> postings = postingsByTerm.get(term);
+
+                postings.remove(newsID);
+
+                if (postings.isEmpty()) {
+
+                    postingsByTerm.remove(term);
+                }
+            }
+
+            totalLength -= lengthsByNewsID.remove(newsID);
+        }
+
+        /**
+         * Scores the news articles matching the query terms exactly or by prefix with BM25.
+         */
+        private Map<Integer, Double> score(Collection<String> queryTerms) {
+
+            Map<Integer, Double> scoresByNewsID = new HashMap<>();
+
+            if (termsByNewsID.isEmpty()) {
+
+                return scoresByNewsID;
+            }
+
+            double averageLength = (double) totalLength / termsByNewsID.size();
+
+            for (String queryTerm : queryTerms) {
+
+                int expansions = 0;
+
+                for (Map.Entry<String, Map<Integer, Integer>> entry : postingsByTerm.tailMap(queryTerm, true).entrySet()) {
+
+                    if (!entry.getKey().startsWith(queryTerm) || ++expansions > MAX_PREFIX_EXPANSIONS) {
+
+                        break;
+                    }
+
+                    double termWeight = entry.getKey().equals(queryTerm) ? 1 : PREFIX_MATCH_WEIGHT;
+
+                    addTermScores(scoresByNewsID, entry.getValue(), termWeight, averageLength);
+                }
+            }
+
+            return scoresByNewsID;
+        }
+
+        private void addTermScores(Map<Integer, Double> scoresByNewsID, Map<Integer, Integer> postings, double termWeight, double averageLength) {
+
+            double documentFrequency = postings.size();
+
+            double inverseDocumentFrequency = Math.log(1 + (termsByNewsID.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+            postings.forEach((newsID, termFrequency) -> {
+
+                double lengthNormalization = BM25_K1 * (1 - BM25_B + BM25_B * lengthsByNewsID.get(newsID) / averageLength);
+
+                double score = termWeight * inverseDocumentFrequency * termFrequency * (BM25_K1 + 1) / (termFrequency + lengthNormalization);
+
+                scoresByNewsID.merge(newsID, score, Double::sum);
+            });
+        }
+
+        private int getNumberOfNews() {
+
+            return termsByNewsID.size();
+        }
+
+        private int getNumberOfTerms() {
+
+            return postingsByTerm.size();
+        }
+    }
+}
@@ -1,33 +1,31 @@
 package erkamber.services.implementations;
 
 import erkamber.configurations.JsonObjectConfiguration;
+import erkamber.configurations.PaginationConfiguration;
 import erkamber.dtos.*;
 import erkamber.entities.*;
-import erkamber.enums.TopTrendingNewsListSize;
-import erkamber.enums.VoteTypeNews;
 import erkamber.exceptions.InvalidInputException;
 import erkamber.exceptions.ResourceNotFoundException;
 import erkamber.exceptions.TextInjectionException;
+import erkamber.mappers.CursorMapper;
 import erkamber.mappers.NewsMapper;
-import erkamber.mappers.VoteMapper;
-import erkamber.repositories.*;
-import erkamber.services.interfaces.*;
+import erkamber.repositories.NewsRepository;
+import erkamber.services.interfaces.CascadeDeleteService;
+import erkamber.services.interfaces.NewsSearchService;
+import erkamber.services.interfaces.NewsService;
+import erkamber.services.interfaces.TrendingNewsService;
+import erkamber.services.interfaces.UserExistenceService;
+import erkamber.services.interfaces.ViewService;
 import erkamber.validations.InjectionValidation;
 import erkamber.validations.NewsValidation;
-import erkamber.validations.UserValidation;
 import org.json.JSONObject;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class NewsServiceImpl implements NewsService {
@@ -38,55 +36,47 @@ public class NewsServiceImpl implements NewsService {
 
     private final NewsValidation newsValidation;
 
-    private final UserService userService;
+    private final UserExistenceService userExistenceService;
 
-    private final NewsTagRepository newsTagRepository;
-
-    private final MediaService mediaService;
-
-    private final CommentService commentService;
-
-    private final VoteRepository voteRepository;
+    private final InjectionValidation injectionValidation;
 
-    private final VoteMapper voteMapper;
+    private final JsonObjectConfiguration jsonObjectConfiguration;
 
-    private final TagService tagService;
+    private final NewsDetailedDtoAssembler newsDetailedDtoAssembler;
 
-    private final UserValidation userValidation;
+    private final CursorMapper cursorMapper;
 
-    private final UserRepository userRepository;
+    private final PaginationConfiguration paginationConfiguration;
 
     private final ViewService viewService;
 
-    private final ViewRepository viewRepository;
+    private final TrendingNewsService trendingNewsService;
 
-    private final InjectionValidation injectionValidation;
+    private final NewsSearchService newsSearchService;
 
-    private final JsonObjectConfiguration jsonObjectConfiguration;
+    private final CascadeDeleteService cascadeDeleteService;
 
     public NewsServiceImpl(NewsRepository newsRepository, NewsMapper newsMapper, NewsValidation newsValidation,
-                           UserService userService, NewsTagRepository newsTagRepository, MediaService mediaService,
-                           CommentService commentService, VoteRepository voteRepository, VoteMapper voteMapper,
-                           TagService tagService, UserValidation userValidation, UserRepository userRepository,
-                           ViewService viewService, ViewRepository viewRepository, InjectionValidation injectionValidation,
-                           JsonObjectConfiguration jsonObjectConfiguration) {
+                           UserExistenceService userExistenceService, InjectionValidation injectionValidation,
+                           JsonObjectConfiguration jsonObjectConfiguration,
+                           NewsDetailedDtoAssembler newsDetailedDtoAssembler, CursorMapper cursorMapper,
+                           PaginationConfiguration paginationConfiguration, ViewService viewService,
+                           TrendingNewsService trendingNewsService, NewsSearchService newsSearchService,
+                           CascadeDeleteService cascadeDeleteService) {
 
         this.newsRepository = newsRepository;
         this.newsMapper = newsMapper;
         this.newsValidation = newsValidation;
-        this.userService = userService;
-        this.newsTagRepository = newsTagRepository;
-        this.mediaService = mediaService;
-        this.commentService = commentService;
-        this.voteRepository = voteRepository;
-        this.voteMapper = voteMapper;
-        this.tagService = tagService;
-        this.userValidation = userValidation;
-        this.userRepository = userRepository;
-        this.viewService = viewService;
-        this.viewRepository = viewRepository;
+        this.userExistenceService = userExistenceService;
         this.injectionValidation = injectionValidation;
         this.jsonObjectConfiguration = jsonObjectConfiguration;
+        this.newsDetailedDtoAssembler = newsDetailedDtoAssembler;
+        this.cursorMapper = cursorMapper;
+        this.paginationConfiguration = paginationConfiguration;
+        this.viewService = viewService;
+        this.trendingNewsService = trendingNewsService;
+        this.newsSearchService = newsSearchService;
+        this.cascadeDeleteService = cascadeDeleteService;
     }
 
     /**
@@ -125,7 +115,7 @@ public class NewsServiceImpl implements NewsService {
      *
      * @param newsID The ID of the news article to retrieve.
      * @param userID The ID of the logged-in user.
-     * @return A detailed DTO containing information about the requested news article.
+     * @return A detailed DTO containing information about the requested news article, including the vote of the logged-in user.
      * @throws ResourceNotFoundException If the news article with the specified ID is not found, or if the user does not exist.
      */
     @Override
@@ -138,11 +128,9 @@ public class NewsServiceImpl implements NewsService {
         News searchedNews = searchedNewsOptional.orElseThrow(() ->
                 new ResourceNotFoundException("News not Found: " + newsID, "News"));
 
-        View view = new View(LocalDate.now(), newsID, userID);
+        viewService.recordNewsView(newsID, searchedNews.getUserID(), userID);
 
-        viewRepository.save(view);
-
-        return gatherDataForNewsDetailedDtoByNewsID(searchedNews.getNewsID());
+        return newsDetailedDtoAssembler.assembleNewsDetailedDtoForUser(searchedNews, userID);
     }
 
     /**
@@ -165,12 +153,14 @@ public class NewsServiceImpl implements NewsService {
 
         validateNewsTitle(newsDto.getNewsTitle());
 
-        //validateTextForInjection(newsDto.getNewsContent());
+        validateTextForInjection(newsDto.getNewsContent());
 
         News news = newsMapper.mapNewsDtoToNews(newsDto);
 
         newsRepository.save(news);
 
+        newsSearchService.scheduleIndexing(news.getNewsID());
+
         return news.getNewsID();
     }
 
@@ -199,12 +189,13 @@ public class NewsServiceImpl implements NewsService {
 
         JSONObject jsonObject = jsonObjectConfiguration.getJsonObjectConfiguration(content);
 
-        //validateTextForInjection(jsonObject.getString("content"));
+        validateTextForInjection(jsonObject.getString("content"));
 
         searchedNews.setNewsContent(jsonObject.getString("content"));
 
         newsRepository.save(searchedNews);
 
+        newsSearchService.scheduleIndexing(newsID);
     }
 
     /**
@@ -235,6 +226,8 @@ public class NewsServiceImpl implements NewsService {
         searchedNews.setNewsTitle(jsonObject.getString("title"));
 
         newsRepository.save(searchedNews);
+
+        newsSearchService.scheduleIndexing(newsID);
     }
 
     /**
@@ -246,12 +239,12 @@ public class NewsServiceImpl implements NewsService {
     @Override
     public void deleteNewsByID(int newsID) {
 
-        Optional<News> searchedNewsOptional = newsRepository.findById(newsID);
+        if (!newsRepository.existsById(newsID)) {
 
-        News searchedNews = searchedNewsOptional.orElseThrow(() ->
-                new ResourceNotFoundException("News not Found: " + newsID, "News"));
+            throw new ResourceNotFoundException("News not Found: " + newsID, "News");
+        }
 
-        newsRepository.delete(searchedNews);
+        cascadeDeleteService.deleteNews(newsID);
     }
 
     /**
@@ -263,29 +256,51 @@ public class NewsServiceImpl implements NewsService {
     @Override
     public void deleteNewsByAuthorID(int authorID) {
 
-        isUserExists(authorID);
+        isAuthorHavingNews(authorID);
+
+        cascadeDeleteService.deleteNewsOfAuthor(authorID);
+    }
 
-        List<News> newsListOfAuthor = newsRepository.findNewsByUserIDOrderByNewsIDAsc(authorID);
+    /**
+     * Queues the deletion of all news articles authored by a specific user, which are then deleted in chunks.
+     *
+     * @param authorID The ID of the author whose news articles will be deleted.
+     * @throws ResourceNotFoundException If the user or their news articles are not found.
+     */
+    @Override
+    public void deleteNewsByAuthorIDInBackground(int authorID) {
 
-        isListOfNewsEmpty(newsListOfAuthor);
+        isAuthorHavingNews(authorID);
 
-        newsRepository.deleteAll(newsListOfAuthor);
+        cascadeDeleteService.deleteNewsOfAuthorInBackground(authorID);
     }
 
     /**
-     * Retrieves a list of detailed NewsDtos representing all news articles.
+     * Retrieves a page of detailed NewsDtos representing all news articles, ordered by news ID.
      *
-     * @return A list of NewsDetailedDtos representing all news articles.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The requested page size, or null for the default page size.
+     * @return A page of NewsDetailedDtos with the cursor of the next page.
      * @throws ResourceNotFoundException If there are no news articles.
+     * @throws InvalidInputException     If the provided cursor is invalid.
      */
     @Override
-    public List<NewsDetailedDto> getAllNews() {
+    public CursorPageDto<NewsDetailedDto> getAllNews(String cursor, Integer pageSize) {
+
+        int lastNewsID = cursorMapper.mapCursorToID(cursor);
+
+        int resolvedPageSize = paginationConfiguration.getPageSize(pageSize);
 
-        List<News> listOfAllNews = newsRepository.findAll((Sort.by(Sort.Direction.ASC, "newsID")));
+        List<News> listOfNews = newsRepository.findNewsByNewsIDGreaterThanOrderByNewsIDAsc(lastNewsID,
+                cursorMapper.mapToPageable(resolvedPageSize));
 
-        isListOfNewsEmpty(listOfAllNews);
+        // An empty first page means there are no news at all
+        if (lastNewsID == 0) {
+
+            isListOfNewsEmpty(listOfNews);
+        }
 
-        return convertListToNewsDetailedDto(listOfAllNews);
+        return cursorMapper.mapToCursorPage(listOfNews, resolvedPageSize, News::getNewsID, this::convertListToNewsDetailedDto);
     }
 
     /**
@@ -329,6 +344,68 @@ public class NewsServiceImpl implements NewsService {
         return convertListToNewsDetailedDto(listOfNewsByTitle);
     }
 
+    /**
+     * Searches news articles by the words of their title and content, best match first.
+     * The cursor of a search page holds the number of results already returned.
+     *
+     * @param query    The search query; every word also matches the words it is a prefix of.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The requested page size, or null for the default page size.
+     * @return A page of NewsDetailedDtos ordered by relevance, with the cursor of the next page.
+     * @throws InvalidInputException If the query is blank or the cursor is invalid.
+     */
+    @Override
+    public CursorPageDto<NewsDetailedDto> searchNews(String query, String cursor, Integer pageSize) {
+
+        if (query == null || query.isBlank()) {
+
+            throw new InvalidInputException("Search query cannot be Blank");
+        }
+
+        int offset = cursorMapper.mapCursorToOffset(cursor, NewsSearchServiceImpl.MAX_SEARCH_RESULTS);
+
+        int resolvedPageSize = paginationConfiguration.getPageSize(pageSize);
+
+        // One extra ID is requested to know whether a next page exists
+        List<Integer> rankedNewsIDs = newsSearchService.searchNewsIDs(query, offset, resolvedPageSize + 1);
+
+        boolean hasNextPage = rankedNewsIDs.size() > resolvedPageSize;
+
+        List<Integer> pageNewsIDs = hasNextPage ? rankedNewsIDs.subList(0, resolvedPageSize) : rankedNewsIDs;
+
+        Map<Integer, News> newsByID = new HashMap<>();
+
+        newsRepository.findAllById(pageNewsIDs).forEach(news -> newsByID.put(news.getNewsID(), news));
+
+        // Keep the ranking order, skipping articles deleted since they were indexed
+        List<News> listOfNews = new ArrayList<>(pageNewsIDs.size());
+
+        for (Integer newsID : pageNewsIDs) {
+
+            News news = newsByID.get(newsID);
+
+            if (news != null) {
+
+                listOfNews.add(news);
+            }
+        }
+
+        String nextCursor = hasNextPage ? cursorMapper.mapOffsetToCursor(offset + resolvedPageSize) : null;
+
+        return new CursorPageDto<>(convertListToNewsDetailedDto(listOfNews), nextCursor, resolvedPageSize);
+    }
+
+    /**
+     * Rebuilds the full-text search index from the news table.
+     *
+     * @return The number of indexed news articles.
+     */
+    @Override
+    public int rebuildSearchIndex() {
+
+        return newsSearchService.rebuildIndex();
+    }
+
     /**
      * Retrieves a list of detailed NewsDtos representing news articles created before a specified date.
      *
@@ -365,6 +442,7 @@ public class NewsServiceImpl implements NewsService {
 
     /**
      * Retrieves the top trending news articles based on view counts within the last three days.
+     * The ranking is read from the in-memory {@link TrendingNewsService}, so no View rows are loaded.
      *
      * @param countOfTrendingNews The number of top trending news articles to retrieve.
      * @return A list of {@link NewsDetailedDto} representing the top trending news articles.
@@ -372,13 +450,7 @@ public class NewsServiceImpl implements NewsService {
     @Override
     public List<NewsDetailedDto> getTopTrendingNews(int countOfTrendingNews) {
 
-        TopTrendingNewsListSize.TRENDING_NEWS_LIST_SIZE.setTopTrendingNewsListSize(countOfTrendingNews);
-
-        LocalDate startDate = LocalDate.now();
-        LocalDate endDate = startDate.minusDays(3);
-
-        List<View> listOfViews = getViewsWithinDateRange(endDate, startDate);
-        List<Integer> mostCommonViewNewsIDs = getMostCommonViewNewsIDs(listOfViews);
+        List<Integer> mostCommonViewNewsIDs = trendingNewsService.getTopTrendingNewsIDs(countOfTrendingNews);
 
         List<News> listOfTopTrendingNews = fetchTopTrendingNews(mostCommonViewNewsIDs);
 
@@ -387,22 +459,25 @@ public class NewsServiceImpl implements NewsService {
 
     /**
      * Converts a list of News objects to a list of detailed NewsDetailedDto objects.
+     * The related data of all articles is loaded in bulk by the {@link NewsDetailedDtoAssembler}.
      *
      * @param listOfNews The list of News objects to be converted.
      * @return A list of NewsDetailedDto objects representing the detailed information of news articles.
      */
     private List<NewsDetailedDto> convertListToNewsDetailedDto(List<News> listOfNews) {
 
-        List<NewsDetailedDto> listOfNewsDetailedDtoList = new ArrayList<>();
-
-        for (News news : listOfNews) {
-
-            NewsDetailedDto newsDetailedDto = gatherDataForNewsDetailedDtoByNewsID(news.getNewsID());
+        return newsDetailedDtoAssembler.assembleNewsDetailedDtos(listOfNews);
+    }
 
-            listOfNewsDetailedDtoList.add(newsDetailedDto);
-        }
+    /**
+     * Converts a single News object to a detailed NewsDetailedDto object.
+     *
+     * @param news The News object to be converted.
+     * @return A NewsDetailedDto representing the detailed information of the news article.
+     */
+    private NewsDetailedDto convertNewsToNewsDetailedDto(News news) {
 
-        return listOfNewsDetailedDtoList;
+        return newsDetailedDtoAssembler.assembleNewsDetailedDtos(Collections.singletonList(news)).get(0);
     }
 
     protected News getNewsOfComment(int newsID) {
@@ -427,6 +502,23 @@ public class NewsServiceImpl implements NewsService {
         }
     }
 
+    /**
+     * Validates whether an existing user has authored any news articles, without loading them.
+     *
+     * @param authorID The ID of the author to be validated.
+     * @throws InvalidInputException     If the user does not exist.
+     * @throws ResourceNotFoundException If the user has no news articles.
+     */
+    private void isAuthorHavingNews(int authorID) {
+
+        isUserExists(authorID);
+
+        if (!newsRepository.existsByUserID(authorID)) {
+
+            throw new ResourceNotFoundException("No News Found", "News");
+        }
+    }
+
     /**
      * Validates whether a user is the author of a specific news article.
      *
@@ -456,68 +548,18 @@ public class NewsServiceImpl implements NewsService {
         News searchedNews = searchedNewsOptional.orElseThrow(() ->
                 new ResourceNotFoundException("News not Found: " + newsID, "News"));
 
-        // Retrieve the user data of the news article's author
-        UserDto userDto = userService.getUserByID(searchedNews.getUserID());
-
-        // Retrieve the tags associated with the news article
-        List<TagDto> listOfTags = getTagsOfNews(newsID);
-
-        // Retrieve the media files associated with the news article
-        List<MediaDto> listOfMediasForNews = mediaService.findMediaByNewsID(newsID);
-
-        // Retrieve the comments associated with the news article
-        List<CommentDetailedDto> listOfCommentsForNews = commentService.getCommentsByNewsID(newsID);
-
-        // Retrieve the upvotes and downvotes for the news article
-        List<Vote> listOfUpVotesForNews = voteRepository.getVoteByIsUpVoteAndVotedContentIDAndVotedContentType(true, newsID, VoteTypeNews.NEWS.getType());
-        List<VoteDto> listOfUpVotesDto = voteMapper.mapListOfVoteToMVoteDto(listOfUpVotesForNews);
-
-        List<Vote> listOfDownVotesForNews = voteRepository.getVoteByIsUpVoteAndVotedContentIDAndVotedContentType(false, newsID, VoteTypeNews.NEWS.getType());
-        List<VoteDto> listOfDownVotesDto = voteMapper.mapListOfVoteToMVoteDto(listOfDownVotesForNews);
-
-        // Retrieve the number of views for the news article
-        int numberOfViews = viewService.getNumberOfViewsOfNews(newsID);
-
-        // Map the gathered data to create a detailed NewsDetailedDto
-        return newsMapper.mapToNewsDtoDetailed(newsMapper.mapNewsToNewsDto(searchedNews), userDto, numberOfViews, listOfTags,
-                listOfMediasForNews, listOfCommentsForNews, listOfUpVotesDto, listOfDownVotesDto);
-    }
-
-    /**
-     * Retrieves a list of TagDto objects representing the tags associated with a specific news article.
-     *
-     * @param newsID The ID of the news article for which tags will be retrieved.
-     * @return A list of TagDto objects representing the tags associated with the specified news article.
-     */
-    private List<TagDto> getTagsOfNews(int newsID) {
-
-        List<NewsTag> listOfTagsForNews = newsTagRepository.findNewsTagsByNewsID(newsID);
-
-        List<TagDto> listOfTags = new ArrayList<>();
-
-        for (NewsTag newsTag : listOfTagsForNews) {
-
-            int tagID = newsTag.getTagID();
-
-            TagDto tagDto = tagService.findTagByTagID(tagID);
-
-            listOfTags.add(tagDto);
-        }
-
-        return listOfTags;
+        return convertNewsToNewsDetailedDto(searchedNews);
     }
 
     /**
-     * Validates whether a user with the specified user ID exists.
+     * Validates whether a user with the specified user ID exists, using the cached indexed existence check.
      *
      * @param userID The ID of the user to be validated for existence.
      * @throws InvalidInputException If the user with the specified user ID does not exist.
      */
     private void isUserExists(int userID) {
 
-        List<User> allUsers = userRepository.findAll();
-
-        if (!userValidation.isUserExistsByUserID(allUsers, userID)) {
+        if (!userExistenceService.isUserExisting(userID)) {
 
             throw new InvalidInputException("Not existing User");
         }
@@ -548,32 +590,17 @@ public class NewsServiceImpl implements NewsService {
      * @param isUpVote A boolean indicating whether the vote to be swapped is an upvote or not.
      * @throws ResourceNotFoundException If the news article with the specified ID is not found.
      */
-    @Transactional
     protected void updateNewsVoteBySwappingVotes(int newsID, boolean isUpVote) {
 
-        Optional<News> searchedNewsOptional = newsRepository.findById(newsID);
-
-        News searchedNews = searchedNewsOptional.orElseThrow(() ->
-                new ResourceNotFoundException("News not Found: " + newsID, "News"));
-
-        int numberOfUpVotes = searchedNews.getNewsUpVotes();
-
-        int numberOfDownVotes = searchedNews.getNewsDownVotes();
-
         // Update the vote counts based on the vote being swapped
         if (isUpVote) {
 
-            searchedNews.setNewsUpVotes(numberOfUpVotes + 1);
-
-            searchedNews.setNewsDownVotes(numberOfDownVotes - 1);
+            updateNewsVotes(newsID, 1, -1);
 
         } else {
 
-            searchedNews.setNewsUpVotes(numberOfUpVotes - 1);
-
-            searchedNews.setNewsDownVotes(numberOfDownVotes + 1);
+            updateNewsVotes(newsID, -1, 1);
         }
-        newsRepository.save(searchedNews);
     }
 
     /**
@@ -584,16 +611,7 @@ public class NewsServiceImpl implements NewsService {
      */
     protected void addNewsNewUpVote(int newsID) {
 
-        Optional<News> searchedNewsOptional = newsRepository.findById(newsID);
-
-        News searchedNews = searchedNewsOptional.orElseThrow(() ->
-                new ResourceNotFoundException("News not Found: " + newsID, "News"));
-
-        int numberOfUpVotes = searchedNews.getNewsUpVotes();
-
-        searchedNews.setNewsUpVotes(numberOfUpVotes + 1);
-
-        newsRepository.save(searchedNews);
+        updateNewsVotes(newsID, 1, 0);
     }
 
     /**
@@ -604,16 +622,7 @@ public class NewsServiceImpl implements NewsService {
      */
     protected void addNewsNewDownVote(int newsID) {
 
-        Optional<News> searchedNewsOptional = newsRepository.findById(newsID);
-
-        News searchedNews = searchedNewsOptional.orElseThrow(() ->
-                new ResourceNotFoundException("News not Found: " + newsID, "News"));
-
-        int numberOfDownVotes = searchedNews.getNewsDownVotes();
-
-        searchedNews.setNewsDownVotes(numberOfDownVotes + 1);
-
-        newsRepository.save(searchedNews);
+        updateNewsVotes(newsID, 0, 1);
     }
 
     /**
@@ -623,87 +632,63 @@ public class NewsServiceImpl implements NewsService {
      * @param isUpVote A boolean indicating whether the vote to be removed is an upvote or not.
      * @throws ResourceNotFoundException If the news article with the specified ID is not found.
      */
-    @Transactional
     protected void updateNewsVoteByRemovingVote(int newsID, boolean isUpVote) {
 
-        Optional<News> searchedNewsOptional = newsRepository.findById(newsID);
-
-        News searchedNews = searchedNewsOptional.orElseThrow(() ->
-                new ResourceNotFoundException("News not Found: " + newsID, "News"));
-
         if (isUpVote) {
 
-            int numberOfUpVotes = searchedNews.getNewsUpVotes();
-
-            searchedNews.setNewsUpVotes(numberOfUpVotes - 1);
+            updateNewsVotes(newsID, -1, 0);
 
         } else {
 
-            int numberOfDownVotes = searchedNews.getNewsDownVotes();
-
-            searchedNews.setNewsDownVotes(numberOfDownVotes - 1);
+            updateNewsVotes(newsID, 0, -1);
         }
-
-        newsRepository.save(searchedNews);
     }
 
     /**
-     * Validates whether the provided news title is valid.
+     * Changes the vote counts of a news article with a single atomic UPDATE statement, so concurrent votes are never lost.
      *
-     * @param title The news title to be validated.
-     * @throws InvalidInputException If the provided news title is invalid.
+     * @param newsID         The ID of the news article.
+     * @param upVotesDelta   The change of the number of upvotes.
+     * @param downVotesDelta The change of the number of downvotes.
+     * @throws ResourceNotFoundException If the news article with the specified ID is not found.
      */
-    private void validateNewsTitle(String title) {
+    private void updateNewsVotes(int newsID, int upVotesDelta, int downVotesDelta) {
 
-        if (!newsValidation.isNewsTitleValid(title)) {
+        if (newsRepository.updateNewsVotes(newsID, upVotesDelta, downVotesDelta) == 0) {
 
-            throw new InvalidInputException("Invalid News Title!");
+            throw new ResourceNotFoundException("News not Found: " + newsID, "News");
         }
     }
 
     /**
-     * Retrieves a list of View objects that fall within the specified date range.
-     *
-     * @param endDate   The end date of the date range.
-     * @param startDate The start date of the date range.
-     * @return A list of View objects representing views created within the specified date range.
-     */
-    private List<View> getViewsWithinDateRange(LocalDate endDate, LocalDate startDate) {
-
-        return viewRepository.findViewByViewCreationDateBetween(endDate, startDate);
-    }
-
-    /**
-     * Retrieves a list of the most common viewNewsIDs based on the count of views.
+     * Validates whether the provided news title is valid.
      *
-     * @param listOfViews The list of View objects containing viewNewsIDs and their associated view counts.
-     * @return A list of Integer values representing the most common viewNewsIDs.
+     * @param title The news title to be validated.
+     * @throws InvalidInputException If the provided news title is invalid.
      */
-    private List<Integer> getMostCommonViewNewsIDs(List<View> listOfViews) {
+    private void validateNewsTitle(String title) {
 
-        Map<Integer, Long> countByViewNewsID = listOfViews.stream()
-                .collect(Collectors.groupingBy(View::getViewNewsID, Collectors.counting()));
+        if (!newsValidation.isNewsTitleValid(title)) {
 
-        return countByViewNewsID.entrySet().stream()
-                .sorted((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()))
-                .limit(TopTrendingNewsListSize.TRENDING_NEWS_LIST_SIZE.getTopTrendingNewsListSize())
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+            throw new InvalidInputException("Invalid News Title!");
+        }
     }
 
     /**
      * Fetches the top trending news articles based on a list of common viewNewsIDs.
+     * The articles are loaded with a single query and returned in the order of the provided IDs.
      *
      * @param mostCommonViewNewsIDs The list of common viewNewsIDs representing the top trending articles.
      * @return A list of {@link News} objects representing the top trending news articles.
      */
     private List<News> fetchTopTrendingNews(List<Integer> mostCommonViewNewsIDs) {
 
-        Stream<News> trendingNewsStream = mostCommonViewNewsIDs.stream()
-                .map(newsRepository::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get);
+        Map<Integer, News> trendingNewsByID = newsRepository.findAllById(mostCommonViewNewsIDs).stream()
+                .collect(Collectors.toMap(News::getNewsID, Function.identity()));
 
-        return trendingNewsStream.collect(Collectors.toList());
+        return mostCommonViewNewsIDs.stream()
+                .map(trendingNewsByID::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 }
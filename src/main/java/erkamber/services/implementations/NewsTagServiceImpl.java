@@ -1,20 +1,26 @@
 package erkamber.services.implementations;
 
+import erkamber.configurations.PaginationConfiguration;
 import erkamber.dtos.*;
+import erkamber.entities.News;
 import erkamber.entities.NewsTag;
+import erkamber.exceptions.InvalidInputException;
 import erkamber.exceptions.ResourceNotFoundException;
+import erkamber.mappers.CursorMapper;
 import erkamber.mappers.NewsTagMapper;
+import erkamber.repositories.NewsRepository;
 import erkamber.repositories.NewsTagRepository;
 import erkamber.requests.NewsTagDtoResponse;
 import erkamber.services.interfaces.NewsService;
 import erkamber.services.interfaces.NewsTagService;
+import erkamber.services.interfaces.TagIndexService;
+import erkamber.services.interfaces.TagPopularityService;
 import erkamber.services.interfaces.TagService;
 import erkamber.validations.NewsTagValidation;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDate;
+import java.util.*;
 
 @Service
 public class NewsTagServiceImpl implements NewsTagService {
@@ -29,14 +35,35 @@ public class NewsTagServiceImpl implements NewsTagService {
 
     private final NewsTagValidation newsTagValidation;
 
+    private final NewsRepository newsRepository;
+
+    private final TagPopularityService tagPopularityService;
+
+    private final TagIndexService tagIndexService;
+
+    private final NewsDetailedDtoAssembler newsDetailedDtoAssembler;
+
+    private final CursorMapper cursorMapper;
+
+    private final PaginationConfiguration paginationConfiguration;
+
     public NewsTagServiceImpl(NewsTagRepository newsTagRepository, NewsTagMapper newsTagMapper, NewsService newsService,
-                              TagService tagService, NewsTagValidation newsTagValidation) {
+                              TagService tagService, NewsTagValidation newsTagValidation, NewsRepository newsRepository,
+                              TagPopularityService tagPopularityService, TagIndexService tagIndexService,
+                              NewsDetailedDtoAssembler newsDetailedDtoAssembler, CursorMapper cursorMapper,
+                              PaginationConfiguration paginationConfiguration) {
 
         this.newsTagRepository = newsTagRepository;
         this.newsTagMapper = newsTagMapper;
         this.newsService = newsService;
         this.tagService = tagService;
         this.newsTagValidation = newsTagValidation;
+        this.newsRepository = newsRepository;
+        this.tagPopularityService = tagPopularityService;
+        this.tagIndexService = tagIndexService;
+        this.newsDetailedDtoAssembler = newsDetailedDtoAssembler;
+        this.cursorMapper = cursorMapper;
+        this.paginationConfiguration = paginationConfiguration;
     }
 
     /**
@@ -44,14 +71,22 @@ public class NewsTagServiceImpl implements NewsTagService {
      *
      * @param newsTagDto The NewsTagDto containing information about the new news tag.
      * @return The ID of the newly added news tag.
+     * @throws ResourceNotFoundException If the news article is not found.
      */
     @Override
     public int addNewsTag(NewsTagDto newsTagDto) {
 
         NewsTag newsTag = newsTagMapper.mapNewsTagToNewsTagDto(newsTagDto);
 
+        LocalDate newsCreationDate = getNewsCreationDate(newsTag.getNewsID()).orElseThrow(() ->
+                new ResourceNotFoundException("News not Found: " + newsTag.getNewsID(), "News"));
+
         newsTagRepository.save(newsTag);
 
+        tagPopularityService.recordTagUsage(newsTag.getTagID(), newsCreationDate);
+
+        tagIndexService.addNewsTag(newsTag.getNewsID(), newsTag.getTagID());
+
         return newsTag.getNewsTagID();
     }
 
@@ -69,7 +104,15 @@ public class NewsTagServiceImpl implements NewsTagService {
 
         isNewsTagListEmpty(listOfNewsTagsByNewsID);
 
-        newsTagRepository.deleteAll(listOfNewsTagsByNewsID);
+        newsTagRepository.deleteNewsTagsByNewsIDs(Collections.singletonList(newsID));
+
+        LocalDate newsCreationDate = getNewsCreationDate(newsID).orElse(null);
+
+        listOfNewsTagsByNewsID.forEach(newsTag -> {
+
+            tagPopularityService.removeTagUsage(newsTag.getTagID(), newsCreationDate);
+            tagIndexService.removeNewsTag(newsID, newsTag.getTagID());
+        });
 
         return listOfNewsTagsByNewsID.size();
     }
@@ -90,6 +133,10 @@ public class NewsTagServiceImpl implements NewsTagService {
 
         newsTagRepository.deleteAll(listOfNewsTagsByTagID);
 
+        tagPopularityService.removeTag(tagID);
+
+        tagIndexService.removeTag(tagID);
+
         return listOfNewsTagsByTagID.size();
     }
 
@@ -109,6 +156,10 @@ public class NewsTagServiceImpl implements NewsTagService {
                 new ResourceNotFoundException("NewsTag not Found", "NewsTag"));
 
         newsTagRepository.delete(newsTag);
+
+        tagPopularityService.removeTagUsage(tagID, getNewsCreationDate(newsID).orElse(null));
+
+        tagIndexService.removeNewsTag(newsID, tagID);
     }
 
     /**
@@ -207,6 +258,57 @@ public class NewsTagServiceImpl implements NewsTagService {
         return convertListToListOfNewsTagDetailedDto(listOfNewsTag);
     }
 
+    /**
+     * Retrieves a page of detailed news articles matching a tag query, ordered by news ID.
+     * The matching news IDs are resolved from the in-memory tag index; only the articles of the page are loaded.
+     *
+     * @param allTagIDs The tags that every article must have, or null.
+     * @param anyTagIDs The tags of which every article must have at least one, or null.
+     * @param notTagIDs The tags that no article may have, or null.
+     * @param cursor    The cursor returned with the previous page, or null for the first page.
+     * @param pageSize  The requested page size, or null for the default page size.
+     * @return A page of NewsDetailedDtos with the cursor of the next page.
+     * @throws InvalidInputException If no tag to match is provided or the cursor is invalid.
+     */
+    @Override
+    public CursorPageDto<NewsDetailedDto> findNewsByTags(List<Integer> allTagIDs, List<Integer> anyTagIDs, List<Integer> notTagIDs,
+                                                         String cursor, Integer pageSize) {
+
+        int lastNewsID = cursorMapper.mapCursorToID(cursor);
+
+        int resolvedPageSize = paginationConfiguration.getPageSize(pageSize);
+
+        // One extra ID is requested to know whether a next page exists
+        int[] newsIDs = tagIndexService.findNewsIDsByTags(nullToEmpty(allTagIDs), nullToEmpty(anyTagIDs), nullToEmpty(notTagIDs),
+                lastNewsID, resolvedPageSize + 1);
+
+        // The next page is decided by the index, not by the loaded rows, so a news article deleted after it was indexed
+        // neither ends the pagination early nor moves the cursor back
+        boolean hasNextPage = newsIDs.length > resolvedPageSize;
+
+        int pageLength = Math.min(newsIDs.length, resolvedPageSize);
+
+        List<Integer> pageNewsIDs = new ArrayList<>(pageLength);
+
+        for (int index = 0; index < pageLength; index++) {
+
+            pageNewsIDs.add(newsIDs[index]);
+        }
+
+        List<News> listOfNews = new ArrayList<>(newsRepository.findAllById(pageNewsIDs));
+
+        listOfNews.sort(Comparator.comparingInt(News::getNewsID));
+
+        String nextCursor = hasNextPage ? cursorMapper.mapIDToCursor(newsIDs[pageLength - 1]) : null;
+
+        return new CursorPageDto<>(newsDetailedDtoAssembler.assembleNewsDetailedDtos(listOfNews), nextCursor, resolvedPageSize);
+    }
+
+    private static List<Integer> nullToEmpty(List<Integer> tagIDs) {
+
+        return tagIDs == null ? Collections.emptyList() : tagIDs;
+    }
+
     /**
      * Validates whether a list of news tags is empty and throws an exception if it is.
      *
@@ -221,6 +323,17 @@ public class NewsTagServiceImpl implements NewsTagService {
         }
     }
 
+    /**
+     * Retrieves the creation day of a news article.
+     *
+     * @param newsID The ID of the news article.
+     * @return The creation day of the news article, or empty if the article does not exist.
+     */
+    private Optional<LocalDate> getNewsCreationDate(int newsID) {
+
+        return newsRepository.findById(newsID).map(news -> news.getNewsCreationDate().toLocalDate());
+    }
+
     /**
      * Converts a list of news tags to a list of detailed news tag DTOs.
      *
@@ -0,0 +1,172 @@
+package erkamber.services.implementations;
+
+import erkamber.configurations.PasswordEncoderConfiguration;
+import erkamber.dtos.PasswordHashingMetricsDto;
+import erkamber.exceptions.TooManyRequestsException;
+import erkamber.services.interfaces.PasswordHashingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated, size-limited worker pool instead of the request threads.
+ * <p>
+ * The pool has a bounded queue. When the queue is full, new operations are rejected at once with a
+ * {@link TooManyRequestsException}, so a login storm cannot occupy every request thread and starve unrelated requests.
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private final PasswordEncoderConfiguration passwordEncoderConfiguration;
+
+    private final ThreadPoolExecutor hashingExecutor;
+
+    private final int queueCapacity;
+
+    private final LongAdder completedOperations = new LongAdder();
+
+    private final LongAdder rejectedOperations = new LongAdder();
+
+    private final LongAdder totalHashNanos = new LongAdder();
+
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public PasswordHashingServiceImpl(PasswordEncoderConfiguration passwordEncoderConfiguration,
+                                      @Value("${newslinker.security.hashing-pool-size:4}") int poolSize,
+                                      @Value("${newslinker.security.hashing-queue-capacity:64}") int queueCapacity) {
+
+        this.passwordEncoderConfiguration = passwordEncoderConfiguration;
+        this.queueCapacity = queueCapacity;
+
+        AtomicInteger workerNumber = new AtomicInteger();
+
+        ThreadFactory workerFactory = runnable -> {
+
+            Thread worker = new Thread(runnable, "password-hashing-" + workerNumber.incrementAndGet());
+            worker.setDaemon(true);
+
+            return worker;
+        };
+
+        this.hashingExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), workerFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Hashes a password on the hashing pool.
+     *
+     * @param rawPassword The password to be hashed.
+     * @return The BCrypt hash of the password.
+     * @throws TooManyRequestsException If the hashing pool is saturated.
+     */
+    @Override
+    public String encode(String rawPassword) {
+
+        return runOnHashingPool(() -> passwordEncoderConfiguration.passwordEncoder().encode(rawPassword));
+    }
+
+    /**
+     * Verifies a password against a BCrypt hash on the hashing pool.
+     *
+     * @param rawPassword     The password to be verified.
+     * @param encodedPassword The BCrypt hash to verify against.
+     * @return True if the password matches the hash, false otherwise.
+     * @throws TooManyRequestsException If the hashing pool is saturated.
+     */
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+
+        return runOnHashingPool(() -> passwordEncoderConfiguration.passwordEncoder().matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Retrieves the current state of the hashing pool and the latency of the completed operations.
+     *
+     * @return The password hashing metrics.
+     */
+    @Override
+    public PasswordHashingMetricsDto getMetrics() {
+
+        long completed = completedOperations.sum();
+
+        double averageHashLatencyMillis = completed == 0 ? 0 : totalHashNanos.sum() / (double) completed / 1_000_000;
+
+        return new PasswordHashingMetricsDto(passwordEncoderConfiguration.getBcryptStrength(), hashingExecutor.getMaximumPoolSize(),
+                hashingExecutor.getActiveCount(), hashingExecutor.getQueue().size(), queueCapacity, completed,
+                rejectedOperations.sum(), averageHashLatencyMillis, maxHashNanos.get() / 1_000_000.0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        hashingExecutor.shutdown();
+    }
+
+    /**
+     * Submits an operation to the hashing pool and waits for its result.
+     *
+     * @param operation The hashing operation.
+     * @return The result of the operation.
+     * @throws TooManyRequestsException If the queue of the hashing pool is full.
+     */
+    private <T> T runOnHashingPool(Supplier<T> operation) {
+
+        Future<T> result;
+
+        try {
+
+            result = hashingExecutor.submit(() -> timeOperation(operation));
+
+        } catch (RejectedExecutionException exception) {
+
+            rejectedOperations.increment();
+
+            throw new TooManyRequestsException("Too many requests, please try again later");
+        }
+
+        try {
+
+            return result.get();
+
+        } catch (InterruptedException exception) {
+
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("Interrupted while waiting for password hashing", exception);
+
+        } catch (ExecutionException exception) {
+
+            if (exception.getCause() instanceof RuntimeException) {
+
+                throw (RuntimeException) exception.getCause();
+            }
+
+            throw new IllegalStateException("Password hashing failed", exception.getCause());
+        }
+    }
+
+    private <T> T timeOperation(Supplier<T> operation) {
+
+        long startNanos = System.nanoTime();
+
+        try {
+
+            return operation.get();
+
+        } finally {
+
+            long elapsedNanos = System.nanoTime() - startNanos;
+
+            totalHashNanos.add(elapsedNanos);
+            maxHashNanos.accumulateAndGet(elapsedNanos, Math::max);
+            completedOperations.increment();
+        }
+    }
+}
@@ -1,22 +1,21 @@
 package erkamber.services.implementations;
 
+import erkamber.configurations.PaginationConfiguration;
+import erkamber.dtos.CursorPageDto;
 import erkamber.dtos.SubscribeDetailedDto;
 import erkamber.dtos.SubscribeDto;
-import erkamber.dtos.UserDto;
+import erkamber.dtos.AuthorSummaryDto;
 import erkamber.entities.Subscribe;
-import erkamber.entities.User;
 import erkamber.exceptions.NotReporterException;
 import erkamber.exceptions.ResourceNotFoundException;
+import erkamber.mappers.CursorMapper;
 import erkamber.mappers.SubscribeMapper;
-import erkamber.mappers.UserMapper;
 import erkamber.repositories.SubscribeRepository;
-import erkamber.repositories.UserRepository;
 import erkamber.services.interfaces.SubscribeService;
+import erkamber.services.interfaces.UserService;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 public class SubscribeServiceImpl implements SubscribeService {
@@ -25,16 +24,20 @@ public class SubscribeServiceImpl implements SubscribeService {
 
     private final SubscribeMapper subscribeMapper;
 
-    private final UserRepository userRepository;
+    private final UserService userService;
 
-    private final UserMapper userMapper;
+    private final CursorMapper cursorMapper;
+
+    private final PaginationConfiguration paginationConfiguration;
 
     public SubscribeServiceImpl(SubscribeRepository subscribeRepository, SubscribeMapper subscribeMapper,
-                                UserRepository userRepository, UserMapper userMapper) {
+                                UserService userService, CursorMapper cursorMapper,
+                                PaginationConfiguration paginationConfiguration) {
         this.subscribeRepository = subscribeRepository;
         this.subscribeMapper = subscribeMapper;
-        this.userRepository = userRepository;
-        this.userMapper = userMapper;
+        this.userService = userService;
+        this.cursorMapper = cursorMapper;
+        this.paginationConfiguration = paginationConfiguration;
     }
 
     /**
@@ -106,25 +109,32 @@ public class SubscribeServiceImpl implements SubscribeService {
         Subscribe searchedSubscription = searchedSubscribeOptional.orElseThrow(() ->
                 new ResourceNotFoundException("Subscription not Found", "Subscription"));
 
-        UserDto subscriberUser = getUserDtoObjectFromUserID(subscriberID);
+        AuthorSummaryDto subscriberUser = getAuthorSummaryFromUserID(subscriberID);
 
-        UserDto subscribedToUser = getUserDtoObjectFromUserID(reporterID);
+        AuthorSummaryDto subscribedToUser = getAuthorSummaryFromUserID(reporterID);
 
         return subscribeMapper.mapToSubscribeDetailedDto(searchedSubscription.getSubscribeID(), subscriberUser, subscribedToUser);
     }
 
     /**
-     * Retrieves a list of all detailed subscriptions.
+     * Retrieves a page of all detailed subscriptions, ordered by subscription ID.
      *
-     * @return A list of {@link SubscribeDetailedDto} objects representing the detailed subscriptions.
-     * @throws NotReporterException If a user being subscribed to is not a reporter.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The requested page size, or null for the default page size.
+     * @return A page of {@link SubscribeDetailedDto} objects with the cursor of the next page.
+     * @throws NotReporterException                      If a user being subscribed to is not a reporter.
+     * @throws erkamber.exceptions.InvalidInputException If the provided cursor is invalid.
      */
     @Override
-    public List<SubscribeDetailedDto> getAllSubscriptions() {
+    public CursorPageDto<SubscribeDetailedDto> getAllSubscriptions(String cursor, Integer pageSize) {
+
+        int resolvedPageSize = paginationConfiguration.getPageSize(pageSize);
 
-        List<Subscribe> listOfAllSubscriptions = subscribeRepository.findAll();
+        List<Subscribe> listOfSubscriptions = subscribeRepository.findSubscribeBySubscribeIDGreaterThanOrderBySubscribeIDAsc(
+                cursorMapper.mapCursorToID(cursor), cursorMapper.mapToPageable(resolvedPageSize));
 
-        return convertListOfSubscribeToSubscribeDetailedDto(listOfAllSubscriptions);
+        return cursorMapper.mapToCursorPage(listOfSubscriptions, resolvedPageSize, Subscribe::getSubscribeID,
+                this::convertListOfSubscribeToSubscribeDetailedDto);
     }
 
     /**
@@ -216,7 +226,7 @@ public class SubscribeServiceImpl implements SubscribeService {
 
     private void isSubscribedToUserReporter(int subscribedToUserID) {
 
-        UserDto subscribedToUser = getUserDtoObjectFromUserID(subscribedToUserID);
+        AuthorSummaryDto subscribedToUser = getAuthorSummaryFromUserID(subscribedToUserID);
 
         if (!subscribedToUser.isUserReporter()) {
 
@@ -225,24 +235,20 @@ public class SubscribeServiceImpl implements SubscribeService {
     }
 
     /**
-     * Retrieves a {@link UserDto} object from a given user ID.
+     * Retrieves an {@link AuthorSummaryDto} object from a given user ID.
      *
      * @param userID The ID of the user.
-     * @return The {@link UserDto} representing the user.
+     * @return The {@link AuthorSummaryDto} representing the user.
      * @throws ResourceNotFoundException If the user with the given ID is not found.
      */
-    private UserDto getUserDtoObjectFromUserID(int userID) {
+    private AuthorSummaryDto getAuthorSummaryFromUserID(int userID) {
 
-        Optional<User> user = userRepository.findById(userID);
-
-        User searchedUser = user.orElseThrow(() ->
-                new ResourceNotFoundException("User not Found:" + userID, "User"));
-
-        return userMapper.mapUserToUserDto(searchedUser);
+        return userService.getAuthorSummaryByID(userID);
     }
 
     /**
      * Converts a list of {@link Subscribe} objects to a list of {@link SubscribeDetailedDto} objects.
+     * Subscribers and reporters of the whole list are resolved with one call to the user service.
      *
      * @param listOfSubscriptions The list of {@link Subscribe} objects to convert.
      * @return The list of {@link SubscribeDetailedDto} objects.
@@ -251,11 +257,21 @@ public class SubscribeServiceImpl implements SubscribeService {
 
         List<SubscribeDetailedDto> listOfAllSubscribeDetailedDto = new ArrayList<>();
 
+        Set<Integer> userIDs = new HashSet<>();
+
+        for (Subscribe subscribe : listOfSubscriptions) {
+
+            userIDs.add(subscribe.getSubscriberID());
+            userIDs.add(subscribe.getReporterID());
+        }
+
+        Map<Integer, AuthorSummaryDto> usersByID = userService.getAuthorSummariesByIDs(userIDs);
+
         for (Subscribe subscribe : listOfSubscriptions) {
 
-            UserDto subscriberUser = getUserDtoObjectFromUserID(subscribe.getSubscriberID());
+            AuthorSummaryDto subscriberUser = usersByID.get(subscribe.getSubscriberID());
 
-            UserDto subscribedToUser = getUserDtoObjectFromUserID(subscribe.getReporterID());
+            AuthorSummaryDto subscribedToUser = usersByID.get(subscribe.getReporterID());
 
             SubscribeDetailedDto subscribeDetailedDto = new SubscribeDetailedDto(subscribe.getSubscribeID(), subscriberUser, subscribedToUser);
 
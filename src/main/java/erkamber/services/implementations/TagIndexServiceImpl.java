@@ -0,0 +1,265 @@
+package erkamber.services.implementations;
+
+import erkamber.collections.SortedIntSet;
+import erkamber.exceptions.InvalidInputException;
+import erkamber.repositories.NewsTagRepository;
+import erkamber.services.interfaces.TagIndexService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps an in-memory inverted index from tag ID to the sorted set of IDs of the news articles having the tag.
+ * <p>
+ * The index is rebuilt from the news tags table at startup and updated by every news tag write, so multi-tag
+ * queries are answered by intersecting, merging and subtracting sorted int arrays without touching the database.
+ */
+@Service
+public class TagIndexServiceImpl implements TagIndexService {
+
+    private final Logger logger = LogManager.getLogger(TagIndexServiceImpl.class);
+
+    private final NewsTagRepository newsTagRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, SortedIntSet> newsIDsByTagID = new HashMap<>();
+
+    public TagIndexServiceImpl(NewsTagRepository newsTagRepository) {
+
+        this.newsTagRepository = newsTagRepository;
+    }
+
+    /**
+     * Rebuilds the index from the news tags table.
+     */
+    @PostConstruct
+    public void rebuildFromNewsTags() {
+
+        List<Object[]> tagAndNewsIDs = newsTagRepository.findTagIDsAndNewsIDsOrderByNewsID();
+
+        lock.writeLock().lock();
+
+        try {
+
+            newsIDsByTagID.clear();
+
+            // Rows come in ascending news ID order, so every add appends to the end of its posting list
+            for (Object[] row : tagAndNewsIDs) {
+
+                newsIDsByTagID.computeIfAbsent((Integer) row[0], key -> new SortedIntSet()).add((Integer) row[1]);
+            }
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Rebuilt tag index of {} tags from {} news tags", newsIDsByTagID.size(), tagAndNewsIDs.size());
+    }
+
+    /**
+     * Adds a news article to the posting list of a tag.
+     *
+     * @param newsID The ID of the tagged news article.
+     * @param tagID  The ID of the tag.
+     */
+    @Override
+    public void addNewsTag(int newsID, int tagID) {
+
+        lock.writeLock().lock();
+
+        try {
+
+            newsIDsByTagID.computeIfAbsent(tagID, key -> new SortedIntSet()).add(newsID);
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a news article from the posting list of a tag.
+     *
+     * @param newsID The ID of the news article.
+     * @param tagID  The ID of the tag.
+     */
+    @Override
+    public void removeNewsTag(int newsID, int tagID) {
+
+        lock.writeLock().lock();
+
+        try {
+
+            SortedIntSet newsIDs = newsIDsByTagID.get(tagID);
+
+            if (newsIDs != null) {
+
+                newsIDs.remove(newsID);
+
+                if (newsIDs.isEmpty()) {
+
+                    newsIDsByTagID.remove(tagID);
+                }
+            }
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a news article from the posting lists of all tags, e.g. when the article is deleted.
+     *
+     * @param newsID The ID of the news article.
+     */
+    @Override
+    public void removeNews(int newsID) {
+
+        lock.writeLock().lock();
+
+        try {
+
+            newsIDsByTagID.values().removeIf(newsIDs -> newsIDs.remove(newsID) && newsIDs.isEmpty());
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the posting list of a tag, e.g. when the tag or all its news tags are deleted.
+     *
+     * @param tagID The ID of the tag.
+     */
+    @Override
+    public void removeTag(int tagID) {
+
+        lock.writeLock().lock();
+
+        try {
+
+            newsIDsByTagID.remove(tagID);
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the IDs of the news articles having all tags of one list, at least one tag of another list and none of the
+     * tags of a third list, in ascending order.
+     *
+     * @param allTagIDs   The tags that every article must have (AND), may be empty.
+     * @param anyTagIDs   The tags of which every article must have at least one (OR), may be empty.
+     * @param notTagIDs   The tags that no article may have (NOT), may be empty.
+     * @param afterNewsID Only news IDs greater than this are returned, for keyset pagination.
+     * @param limit       The maximum number of news IDs to return.
+     * @return The matching news IDs greater than afterNewsID, at most limit of them.
+     * @throws InvalidInputException If neither tags to match all of nor tags to match any of are provided.
+     */
+    @Override
+    public int[] findNewsIDsByTags(Collection<Integer> allTagIDs, Collection<Integer> anyTagIDs, Collection<Integer> notTagIDs,
+                                   int afterNewsID, int limit) {
+
+        if (allTagIDs.isEmpty() && anyTagIDs.isEmpty()) {
+
+            throw new InvalidInputException("At least one tag to match must be provided");
+        }
+
+        lock.readLock().lock();
+
+        try {
+
+            SortedIntSet matchingNewsIDs = null;
+
+            if (!allTagIDs.isEmpty()) {
+
+                matchingNewsIDs = intersectPostingLists(allTagIDs);
+            }
+
+            if (!anyTagIDs.isEmpty()) {
+
+                SortedIntSet anyNewsIDs = unionPostingLists(anyTagIDs);
+
+                matchingNewsIDs = matchingNewsIDs == null ? anyNewsIDs : SortedIntSet.intersect(matchingNewsIDs, anyNewsIDs);
+            }
+
+            for (Integer tagID : notTagIDs) {
+
+                SortedIntSet excludedNewsIDs = newsIDsByTagID.get(tagID);
+
+                if (excludedNewsIDs != null && !matchingNewsIDs.isEmpty()) {
+
+                    matchingNewsIDs = SortedIntSet.difference(matchingNewsIDs, excludedNewsIDs);
+                }
+            }
+
+            return matchingNewsIDs.getValuesAfter(afterNewsID, limit);
+
+        } finally {
+
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersects the posting lists of the given tags, starting from the shortest one so the intermediate results stay small.
+     * Must be called while holding the read lock.
+     */
+    private SortedIntSet intersectPostingLists(Collection<Integer> tagIDs) {
+
+        List<SortedIntSet> postingLists = new ArrayList<>(tagIDs.size());
+
+        for (Integer tagID : tagIDs) {
+
+            SortedIntSet newsIDs = newsIDsByTagID.get(tagID);
+
+            if (newsIDs == null) {
+
+                return new SortedIntSet();
+            }
+
+            postingLists.add(newsIDs);
+        }
+
+        postingLists.sort(Comparator.comparingInt(SortedIntSet::size));
+
+        SortedIntSet intersection = postingLists.get(0);
+
+        for (int i = 1; i < postingLists.size() && !intersection.isEmpty(); i++) {
+
+            intersection = SortedIntSet.intersect(intersection, postingLists.get(i));
+        }
+
+        return intersection;
+    }
+
+    /**
+     * Merges the posting lists of the given tags. Must be called while holding the read lock.
+     */
+    private SortedIntSet unionPostingLists(Collection<Integer> tagIDs) {
+
+        SortedIntSet union = new SortedIntSet();
+
+        for (Integer tagID : tagIDs) {
+
+            SortedIntSet newsIDs = newsIDsByTagID.get(tagID);
+
+            if (newsIDs != null) {
+
+                union = SortedIntSet.union(union, newsIDs);
+            }
+        }
+
+        return union;
+    }
+}
@@ -0,0 +1,313 @@
+package erkamber.services.implementations;
+
+import erkamber.repositories.NewsTagRepository;
+import erkamber.services.interfaces.TagPopularityService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps the number of news articles using every tag in memory, so trending tags are served without reading news_tags.
+ * <p>
+ * The all-time usage counts are kept in a set sorted by popularity. Usages of news articles created in the last
+ * {@value #MAX_TRENDING_DAYS} days are also bucketed by the creation day of the article, for the "trending in the
+ * last N days" ranking. Both are rebuilt from the database at startup and updated by every news tag write.
+ */
+@Service
+public class TagPopularityServiceImpl implements TagPopularityService {
+
+    public static final int MAX_TRENDING_DAYS = 30;
+
+    private static final Comparator<TagUsage> POPULARITY_ORDER =
+            Comparator.comparingLong(TagUsage::getUsages).reversed().thenComparingInt(TagUsage::getTagID);
+
+    private final Logger logger = LogManager.getLogger(TagPopularityServiceImpl.class);
+
+    private final NewsTagRepository newsTagRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All-time number of usages per tag ID, and the same usages sorted by popularity
+    private final Map<Integer, TagUsage> usagesByTagID = new HashMap<>();
+
+    private final TreeSet<TagUsage> usagesByPopularity = new TreeSet<>(POPULARITY_ORDER);
+
+    // Number of usages per tag ID, bucketed by the creation day of the tagged news article
+    private final TreeMap<LocalDate, Map<Integer, Long>> usagesByCreationDay = new TreeMap<>();
+
+    public TagPopularityServiceImpl(NewsTagRepository newsTagRepository) {
+
+        this.newsTagRepository = newsTagRepository;
+    }
+
+    /**
+     * Rebuilds the usage counts and the recent day buckets from the news tags table.
+     */
+    @PostConstruct
+    public void rebuildFromNewsTags() {
+
+        List<Object[]> tagUsages = newsTagRepository.countNewsTagsGroupedByTagID();
+
+        List<Object[]> recentTagUsages = newsTagRepository.countNewsTagsGroupedByTagIDAndCreationDay(getOldestTrendingDay());
+
+        lock.writeLock().lock();
+
+        try {
+
+            usagesByTagID.clear();
+            usagesByPopularity.clear();
+            usagesByCreationDay.clear();
+
+            for (Object[] row : tagUsages) {
+
+                addUsages((Integer) row[0], (Long) row[1]);
+            }
+
+            for (Object[] row : recentTagUsages) {
+
+                addDayUsages(((Number) row[0]).intValue(), ((Date) row[1]).toLocalDate(), ((Number) row[2]).longValue());
+            }
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Rebuilt tag popularity of {} tags from {} recent day buckets", tagUsages.size(), recentTagUsages.size());
+    }
+
+    /**
+     * Records that a tag was added to a news article.
+     *
+     * @param tagID            The ID of the tag.
+     * @param newsCreationDate The creation day of the tagged news article.
+     */
+    @Override
+    public void recordTagUsage(int tagID, LocalDate newsCreationDate) {
+
+        lock.writeLock().lock();
+
+        try {
+
+            addUsages(tagID, 1);
+
+            addDayUsages(tagID, newsCreationDate, 1);
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records that a tag was removed from a news article.
+     *
+     * @param tagID            The ID of the tag.
+     * @param newsCreationDate The creation day of the news article, or null if the article no longer exists.
+     */
+    @Override
+    public void removeTagUsage(int tagID, LocalDate newsCreationDate) {
+
+        lock.writeLock().lock();
+
+        try {
+
+            addUsages(tagID, -1);
+
+            if (newsCreationDate != null) {
+
+                addDayUsages(tagID, newsCreationDate, -1);
+            }
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all usages of a tag, e.g. when the tag or all its news tags are deleted.
+     *
+     * @param tagID The ID of the tag.
+     */
+    @Override
+    public void removeTag(int tagID) {
+
+        lock.writeLock().lock();
+
+        try {
+
+            TagUsage tagUsage = usagesByTagID.remove(tagID);
+
+            if (tagUsage != null) {
+
+                usagesByPopularity.remove(tagUsage);
+            }
+
+            for (Map<Integer, Long> dayBucket : usagesByCreationDay.values()) {
+
+                dayBucket.remove(tagID);
+            }
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the IDs of all used tags, the most used first.
+     *
+     * @return The IDs of the used tags sorted by popularity.
+     */
+    @Override
+    public List<Integer> getTrendingTagIDs() {
+
+        lock.readLock().lock();
+
+        try {
+
+            List<Integer> trendingTagIDs = new ArrayList<>(usagesByPopularity.size());
+
+            for (TagUsage tagUsage : usagesByPopularity) {
+
+                trendingTagIDs.add(tagUsage.getTagID());
+            }
+
+            return trendingTagIDs;
+
+        } finally {
+
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the IDs of the tags used by news articles created in the last days, the most used first.
+     *
+     * @param days The number of days including today, capped at {@value #MAX_TRENDING_DAYS}.
+     * @return The IDs of the tags used in the period sorted by popularity.
+     */
+    @Override
+    public List<Integer> getTrendingTagIDs(int days) {
+
+        LocalDate today = LocalDate.now();
+
+        LocalDate startDay = today.minusDays(Math.min(Math.max(days, 1), MAX_TRENDING_DAYS) - 1L);
+
+        Map<Integer, Long> periodUsagesByTagID = new HashMap<>();
+
+        lock.readLock().lock();
+
+        try {
+
+            for (Map<Integer, Long> dayBucket : usagesByCreationDay.subMap(startDay, true, today, true).values()) {
+
+                dayBucket.forEach((tagID, usages) -> periodUsagesByTagID.merge(tagID, usages, Long::sum));
+            }
+
+        } finally {
+
+            lock.readLock().unlock();
+        }
+
+        List<TagUsage> periodUsages = new ArrayList<>(periodUsagesByTagID.size());
+
+        periodUsagesByTagID.forEach((tagID, usages) -> periodUsages.add(new TagUsage(tagID, usages)));
+
+        periodUsages.sort(POPULARITY_ORDER);
+
+        List<Integer> trendingTagIDs = new ArrayList<>(periodUsages.size());
+
+        for (TagUsage tagUsage : periodUsages) {
+
+            trendingTagIDs.add(tagUsage.getTagID());
+        }
+
+        return trendingTagIDs;
+    }
+
+    /**
+     * Adds a number of usages (negative for removed usages) to the all-time count of a tag, keeping the sorted set in order.
+     * Must be called while holding the write lock.
+     */
+    private void addUsages(int tagID, long numberOfUsages) {
+
+        TagUsage previousTagUsage = usagesByTagID.remove(tagID);
+
+        long usages = numberOfUsages;
+
+        if (previousTagUsage != null) {
+
+            usagesByPopularity.remove(previousTagUsage);
+
+            usages += previousTagUsage.getUsages();
+        }
+
+        if (usages > 0) {
+
+            TagUsage tagUsage = new TagUsage(tagID, usages);
+
+            usagesByTagID.put(tagID, tagUsage);
+            usagesByPopularity.add(tagUsage);
+        }
+    }
+
+    /**
+     * Adds a number of usages to the day bucket of the creation day, dropping the buckets that are too old to be queried.
+     * Usages of older news articles are ignored, because they can no longer affect a recent ranking.
+     * Must be called while holding the write lock.
+     */
+    private void addDayUsages(int tagID, LocalDate newsCreationDate, long numberOfUsages) {
+
+        LocalDate oldestTrendingDay = getOldestTrendingDay();
+
+        usagesByCreationDay.headMap(oldestTrendingDay).clear();
+
+        if (newsCreationDate.isBefore(oldestTrendingDay)) {
+
+            return;
+        }
+
+        usagesByCreationDay.computeIfAbsent(newsCreationDate, key -> new HashMap<>()).compute(tagID, (key, currentUsages) -> {
+
+            long usages = (currentUsages == null ? 0 : currentUsages) + numberOfUsages;
+
+            return usages > 0 ? usages : null;
+        });
+    }
+
+    private static LocalDate getOldestTrendingDay() {
+
+        return LocalDate.now().minusDays(MAX_TRENDING_DAYS - 1L);
+    }
+
+    /**
+     * The all-time number of usages of a tag. Instances are immutable, so they can be kept in the sorted set.
+     */
+    private static final class TagUsage {
+
+        private final int tagID;
+
+        private final long usages;
+
+        private TagUsage(int tagID, long usages) {
+            this.tagID = tagID;
+            this.usages = usages;
+        }
+
+        private int getTagID() {
+            return tagID;
+        }
+
+        private long getUsages() {
+            return usages;
+        }
+    }
+}
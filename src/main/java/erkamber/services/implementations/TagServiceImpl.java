@@ -1,22 +1,31 @@
 package erkamber.services.implementations;
 
+import erkamber.dtos.TagDictionaryMetricsDto;
 import erkamber.dtos.TagDto;
-import erkamber.entities.NewsTag;
 import erkamber.entities.Tag;
 import erkamber.exceptions.InvalidInputException;
 import erkamber.exceptions.ResourceNotFoundException;
 import erkamber.mappers.TagMapper;
-import erkamber.repositories.NewsTagRepository;
 import erkamber.repositories.TagRepository;
+import erkamber.services.interfaces.TagIndexService;
+import erkamber.services.interfaces.TagPopularityService;
 import erkamber.services.interfaces.TagService;
 import erkamber.validations.TagValidation;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * Manages tags and keeps an in-memory dictionary of all of them.
+ * <p>
+ * Tags are few and rarely change, so the dictionary of tag ID to tag name and tag name to tag ID is loaded at startup
+ * and updated by every tag write of this service. Tags are resolved from the dictionary without a database hit;
+ * a tag missing from it, for example one written by another instance, is read through from the database.
+ */
 @Service
 public class TagServiceImpl implements TagService {
 
@@ -26,13 +35,34 @@ public class TagServiceImpl implements TagService {
 
     private final TagValidation tagValidation;
 
-    private final NewsTagRepository newsTagRepository;
+    private final TagPopularityService tagPopularityService;
 
-    public TagServiceImpl(TagRepository tagRepository, TagMapper tagMapper, TagValidation tagValidation, NewsTagRepository newsTagRepository) {
+    private final TagIndexService tagIndexService;
+
+    private final Map<Integer, String> tagNamesByID = new ConcurrentHashMap<>();
+
+    private final Map<String, Integer> tagIDsByName = new ConcurrentHashMap<>();
+
+    private final AtomicLong dictionaryHits = new AtomicLong();
+
+    private final AtomicLong dictionaryMisses = new AtomicLong();
+
+    public TagServiceImpl(TagRepository tagRepository, TagMapper tagMapper, TagValidation tagValidation,
+                          TagPopularityService tagPopularityService, TagIndexService tagIndexService) {
         this.tagRepository = tagRepository;
         this.tagMapper = tagMapper;
         this.tagValidation = tagValidation;
-        this.newsTagRepository = newsTagRepository;
+        this.tagPopularityService = tagPopularityService;
+        this.tagIndexService = tagIndexService;
+    }
+
+    /**
+     * Loads every tag into the tag dictionary.
+     */
+    @PostConstruct
+    public void loadTagDictionary() {
+
+        tagRepository.findAll().forEach(this::putTagInDictionary);
     }
 
     /**
@@ -51,6 +81,8 @@ public class TagServiceImpl implements TagService {
 
         tagRepository.save(newTag);
 
+        putTagInDictionary(newTag);
+
         return newTag.getTagID();
     }
 
@@ -72,6 +104,12 @@ public class TagServiceImpl implements TagService {
                 new ResourceNotFoundException("Tag not Found: " + tagName, "Tag"));
 
         tagRepository.delete(searchedTagObject);
+
+        removeTagFromDictionary(searchedTagObject.getTagID());
+
+        tagPopularityService.removeTag(searchedTagObject.getTagID());
+
+        tagIndexService.removeTag(searchedTagObject.getTagID());
     }
 
     /**
@@ -89,6 +127,12 @@ public class TagServiceImpl implements TagService {
                 new ResourceNotFoundException("Tag not Found: " + tagID, "Tag"));
 
         tagRepository.delete(searchedTagObject);
+
+        removeTagFromDictionary(searchedTagObject.getTagID());
+
+        tagPopularityService.removeTag(searchedTagObject.getTagID());
+
+        tagIndexService.removeTag(searchedTagObject.getTagID());
     }
 
     /**
@@ -111,6 +155,8 @@ public class TagServiceImpl implements TagService {
         tagWithUpdates.setTagName(updateTagDto.getTagName());
 
         tagRepository.save(tagWithUpdates);
+
+        putTagInDictionary(tagWithUpdates);
     }
 
     /**
@@ -135,10 +181,12 @@ public class TagServiceImpl implements TagService {
         tagWithUpdates.setTagName(newTagName);
 
         tagRepository.save(tagWithUpdates);
+
+        putTagInDictionary(tagWithUpdates);
     }
 
     /**
-     * Finds and retrieves a tag by its ID.
+     * Finds and retrieves a tag by its ID from the tag dictionary, reading it from the database if it is missing.
      *
      * @param searchedTagID The ID of the tag to be retrieved.
      * @return The TagDto representation of the found tag.
@@ -147,16 +195,85 @@ public class TagServiceImpl implements TagService {
     @Override
     public TagDto findTagByTagID(int searchedTagID) {
 
+        String tagName = tagNamesByID.get(searchedTagID);
+
+        if (tagName != null) {
+
+            dictionaryHits.incrementAndGet();
+
+            return new TagDto(searchedTagID, tagName);
+        }
+
+        dictionaryMisses.incrementAndGet();
+
         Optional<Tag> searchedTag = tagRepository.findById(searchedTagID);
 
         Tag tagWithUpdates = searchedTag.orElseThrow(() ->
                 new ResourceNotFoundException("Tag not Found: " + searchedTagID, "Tag"));
 
+        putTagInDictionary(tagWithUpdates);
+
         return tagMapper.mapTagToTagDto(tagWithUpdates);
     }
 
     /**
-     * Finds and retrieves a tag by its name.
+     * Finds and retrieves the tags with the given IDs from the tag dictionary, reading all missing tags from the
+     * database with one query.
+     *
+     * @param tagIDs The IDs of the tags to be retrieved.
+     * @return A map of tag ID to the TagDto representation of the tag.
+     * @throws ResourceNotFoundException If one of the tags is not found.
+     */
+    @Override
+    public Map<Integer, TagDto> findTagsByTagIDs(Collection<Integer> tagIDs) {
+
+        Map<Integer, TagDto> tagsByID = new HashMap<>();
+
+        Set<Integer> missingTagIDs = new HashSet<>();
+
+        for (Integer tagID : tagIDs) {
+
+            String tagName = tagNamesByID.get(tagID);
+
+            if (tagName != null) {
+
+                tagsByID.put(tagID, new TagDto(tagID, tagName));
+
+            } else {
+
+                missingTagIDs.add(tagID);
+            }
+        }
+
+        dictionaryHits.addAndGet(tagsByID.size());
+
+        if (missingTagIDs.isEmpty()) {
+
+            return tagsByID;
+        }
+
+        dictionaryMisses.addAndGet(missingTagIDs.size());
+
+        for (Tag tag : tagRepository.findAllById(missingTagIDs)) {
+
+            putTagInDictionary(tag);
+
+            tagsByID.put(tag.getTagID(), tagMapper.mapTagToTagDto(tag));
+        }
+
+        for (Integer tagID : missingTagIDs) {
+
+            if (!tagsByID.containsKey(tagID)) {
+
+                throw new ResourceNotFoundException("Tag not Found: " + tagID, "Tag");
+            }
+        }
+
+        return tagsByID;
+    }
+
+    /**
+     * Finds and retrieves a tag by its name from the tag dictionary, reading it from the database if it is missing.
      *
      * @param tagName The name of the tag to be retrieved.
      * @return The TagDto representation of the found tag.
@@ -167,11 +284,24 @@ public class TagServiceImpl implements TagService {
 
         isTagNameCorrect(tagName);
 
+        Integer tagID = tagIDsByName.get(tagName);
+
+        if (tagID != null) {
+
+            dictionaryHits.incrementAndGet();
+
+            return new TagDto(tagID, tagName);
+        }
+
+        dictionaryMisses.incrementAndGet();
+
         Optional<Tag> tagToUpdate = tagRepository.findTagByTagName(tagName);
 
         Tag searchedTag = tagToUpdate.orElseThrow(() ->
                 new ResourceNotFoundException("Tag not Found: " + tagName, "Tag"));
 
+        putTagInDictionary(searchedTag);
+
         return tagMapper.mapTagToTagDto(searchedTag);
     }
 
@@ -188,32 +318,92 @@ public class TagServiceImpl implements TagService {
         return tagMapper.mapListOfTagToTagDto(listOfAllTags);
     }
 
+    /**
+     * Retrieves all used tags, the most used first, from the maintained tag popularity counters.
+     *
+     * @return A list of TagDto representations of the used tags sorted by popularity.
+     */
     @Override
     public List<TagDto> getTrendingTags() {
 
-        List<NewsTag> listOfAllNewsTagRelations = newsTagRepository.findAll();
+        return mapTagIDsToTagDtos(tagPopularityService.getTrendingTagIDs());
+    }
+
+    /**
+     * Retrieves the tags used by news articles created in the last days, the most used first.
+     *
+     * @param days The number of days including today.
+     * @return A list of TagDto representations of the tags used in the period sorted by popularity.
+     */
+    @Override
+    public List<TagDto> getTrendingTags(int days) {
 
-        // Step 1: Create a map to count tag occurrences
-        Map<Integer, Long> tagCounts = listOfAllNewsTagRelations.stream()
-                .collect(Collectors.groupingBy(NewsTag::getTagID, Collectors.counting()));
+        return mapTagIDsToTagDtos(tagPopularityService.getTrendingTagIDs(days));
+    }
 
-        // Step 2: Sort the map entries by count in descending order
-        List<Map.Entry<Integer, Long>> sortedEntries = tagCounts.entrySet().stream()
-                .sorted(Map.Entry.<Integer, Long>comparingByValue().reversed())
-                .collect(Collectors.toList());
+    /**
+     * Retrieves the size and the hit and miss counts of the tag dictionary.
+     *
+     * @return The metrics of the tag dictionary.
+     */
+    @Override
+    public TagDictionaryMetricsDto getTagDictionaryMetrics() {
 
-        // Step 3: Extract the sorted tag IDs
-        List<Integer> sortedTagIDs = sortedEntries.stream()
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+        long hits = dictionaryHits.get();
+
+        long misses = dictionaryMisses.get();
 
-        // Step 4: Retrieve the corresponding Tag objects
-        List<Tag> sortedTags = sortedTagIDs.stream()
-                .map(tagID -> tagRepository.findById(tagID)
-                        .orElseThrow(() -> new ResourceNotFoundException("Tag not Found: " + tagID, "Tag")))
+        double hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+
+        return new TagDictionaryMetricsDto(tagNamesByID.size(), hits, misses, hitRatio);
+    }
+
+    /**
+     * Resolves tag IDs to TagDtos from the tag dictionary, keeping the order of the IDs.
+     *
+     * @param tagIDs The IDs of the tags.
+     * @return The TagDtos of the tags in the same order.
+     * @throws ResourceNotFoundException If one of the tags is not found.
+     */
+    private List<TagDto> mapTagIDsToTagDtos(List<Integer> tagIDs) {
+
+        Map<Integer, TagDto> tagsByID = findTagsByTagIDs(tagIDs);
+
+        return tagIDs.stream()
+                .map(tagsByID::get)
                 .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds or replaces a tag in the tag dictionary, discarding the previous name of the tag.
+     *
+     * @param tag The tag to be stored.
+     */
+    private synchronized void putTagInDictionary(Tag tag) {
 
-        return tagMapper.mapListOfTagToTagDto(sortedTags);
+        String previousTagName = tagNamesByID.put(tag.getTagID(), tag.getTagName());
+
+        if (previousTagName != null && !previousTagName.equals(tag.getTagName())) {
+
+            tagIDsByName.remove(previousTagName, tag.getTagID());
+        }
+
+        tagIDsByName.put(tag.getTagName(), tag.getTagID());
+    }
+
+    /**
+     * Removes a tag from the tag dictionary.
+     *
+     * @param tagID The ID of the tag to be removed.
+     */
+    private synchronized void removeTagFromDictionary(int tagID) {
+
+        String tagName = tagNamesByID.remove(tagID);
+
+        if (tagName != null) {
+
+            tagIDsByName.remove(tagName, tagID);
+        }
     }
 
     /**
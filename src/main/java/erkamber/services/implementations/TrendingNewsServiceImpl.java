@@ -0,0 +1,360 @@
+package erkamber.services.implementations;
+
+import erkamber.services.interfaces.TrendingNewsService;
+import erkamber.services.interfaces.ViewRollupService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps the number of views of every news article per day in memory and ranks the articles of the trending window.
+ * <p>
+ * Views are added to per-day buckets as they are recorded, and the totals of the window (today and the previous
+ * {@value #TRENDING_WINDOW_DAYS} days) are kept up to date incrementally, so no View rows are read when ranking.
+ * The top {@value #MAX_TRENDING_NEWS} articles are selected with a bounded min-heap and cached. The cached ranking is
+ * served without taking any lock and is selected again at most once per refresh interval, by a single reader holding
+ * the read lock, so a steady stream of views neither forces a rescan on every read nor blocks view recording for long.
+ * Deleted articles are taken out of the cached ranking at once, and the ranking is selected again when the day changes.
+ */
+@Service
+public class TrendingNewsServiceImpl implements TrendingNewsService {
+
+    public static final int TRENDING_WINDOW_DAYS = 3;
+
+    public static final int MAX_TRENDING_NEWS = 100;
+
+    private static final Comparator<Map.Entry<Integer, Long>> TRENDING_ORDER =
+            Map.Entry.<Integer, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey());
+
+    private final Logger logger = LogManager.getLogger(TrendingNewsServiceImpl.class);
+
+    private final ViewRollupService viewRollupService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Number of views per news ID, bucketed by the day of the view
+    private final TreeMap<LocalDate, Map<Integer, Long>> viewsByDay = new TreeMap<>();
+
+    // Number of views per news ID within the trending window
+    private final Map<Integer, Long> windowViewsByNewsID = new HashMap<>();
+
+    private final long refreshIntervalNanos;
+
+    // Only one reader selects the ranking at a time, the others serve the cached ranking meanwhile
+    private final AtomicBoolean isRefreshing = new AtomicBoolean();
+
+    private volatile LocalDate windowEndDate = LocalDate.now();
+
+    private volatile List<Integer> topTrendingNewsIDs = Collections.emptyList();
+
+    // Set when the window totals changed after the cached ranking was selected
+    private volatile boolean isTopTrendingNewsStale = true;
+
+    // Set when the cached ranking must be selected again without waiting for the refresh interval
+    private volatile boolean isRefreshForced = true;
+
+    private volatile long lastRefreshNanos;
+
+    public TrendingNewsServiceImpl(ViewRollupService viewRollupService,
+                                   @Value("${newslinker.trending.refresh-interval-ms:1000}") long refreshIntervalMillis) {
+
+        this.viewRollupService = viewRollupService;
+        this.refreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(refreshIntervalMillis);
+    }
+
+    /**
+     * Rebuilds the day buckets of the trending window from the daily view rollups and the views of the days after them.
+     */
+    @PostConstruct
+    public void rebuildFromViews() {
+
+        LocalDate today = LocalDate.now();
+
+        List<Object[]> viewCounts = viewRollupService.countViewsGroupedByNewsIDAndDay(today.minusDays(TRENDING_WINDOW_DAYS));
+
+        lock.writeLock().lock();
+
+        try {
+
+            viewsByDay.clear();
+            windowViewsByNewsID.clear();
+            windowEndDate = today;
+
+            for (Object[] row : viewCounts) {
+
+                addViews((Integer) row[0], (LocalDate) row[1], (Long) row[2]);
+            }
+
+            isRefreshForced = true;
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Rebuilt trending news window from {} view buckets", viewCounts.size());
+    }
+
+    /**
+     * Records a view of a news article.
+     *
+     * @param newsID   The ID of the viewed news article.
+     * @param viewDate The day of the view.
+     */
+    @Override
+    public void recordView(int newsID, LocalDate viewDate) {
+
+        lock.writeLock().lock();
+
+        try {
+
+            advanceWindow(LocalDate.now());
+
+            addViews(newsID, viewDate, 1);
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes deleted views of a news article.
+     *
+     * @param newsID        The ID of the news article.
+     * @param viewDate      The day of the deleted views.
+     * @param numberOfViews The number of deleted views.
+     */
+    @Override
+    public void removeViews(int newsID, LocalDate viewDate, long numberOfViews) {
+
+        lock.writeLock().lock();
+
+        try {
+
+            advanceWindow(LocalDate.now());
+
+            addViews(newsID, viewDate, -numberOfViews);
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all views of a news article, e.g. when the article or all its views are deleted.
+     *
+     * @param newsID The ID of the news article.
+     */
+    @Override
+    public void removeNews(int newsID) {
+
+        lock.writeLock().lock();
+
+        try {
+
+            for (Map<Integer, Long> dayBucket : viewsByDay.values()) {
+
+                dayBucket.remove(newsID);
+            }
+
+            if (windowViewsByNewsID.remove(newsID) != null) {
+
+                isTopTrendingNewsStale = true;
+
+                List<Integer> remainingNewsIDs = new ArrayList<>(topTrendingNewsIDs);
+
+                if (remainingNewsIDs.remove(Integer.valueOf(newsID))) {
+
+                    topTrendingNewsIDs = Collections.unmodifiableList(remainingNewsIDs);
+                }
+            }
+
+        } finally {
+
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the IDs of the most viewed news articles within the trending window, most viewed first.
+     * The ranking may lag the recorded views by up to the refresh interval.
+     *
+     * @param countOfTrendingNews The number of news articles to retrieve, capped at {@value #MAX_TRENDING_NEWS}.
+     * @return The IDs of the top trending news articles.
+     */
+    @Override
+    public List<Integer> getTopTrendingNewsIDs(int countOfTrendingNews) {
+
+        LocalDate today = LocalDate.now();
+
+        if (today.isAfter(windowEndDate)) {
+
+            lock.writeLock().lock();
+
+            try {
+
+                advanceWindow(today);
+
+            } finally {
+
+                lock.writeLock().unlock();
+            }
+        }
+
+        if (isRefreshDue() && isRefreshing.compareAndSet(false, true)) {
+
+            try {
+
+                refreshTopTrendingNewsIDs();
+
+            } finally {
+
+                isRefreshing.set(false);
+            }
+        }
+
+        return limit(topTrendingNewsIDs, countOfTrendingNews);
+    }
+
+    /**
+     * Adds a number of views (negative for deleted views) to the day bucket and the window totals.
+     * Views outside the window are ignored, because they can no longer affect the ranking.
+     * Must be called while holding the write lock.
+     */
+    private void addViews(int newsID, LocalDate viewDate, long numberOfViews) {
+
+        if (!isWithinWindow(viewDate)) {
+
+            return;
+        }
+
+        mergeViews(viewsByDay.computeIfAbsent(viewDate, key -> new HashMap<>()), newsID, numberOfViews);
+
+        mergeViews(windowViewsByNewsID, newsID, numberOfViews);
+
+        isTopTrendingNewsStale = true;
+    }
+
+    /**
+     * Moves the window to end on the given day, subtracting the day buckets that fell out of it.
+     * Must be called while holding the write lock.
+     */
+    private void advanceWindow(LocalDate today) {
+
+        if (!today.isAfter(windowEndDate)) {
+
+            return;
+        }
+
+        windowEndDate = today;
+
+        LocalDate windowStartDate = today.minusDays(TRENDING_WINDOW_DAYS);
+
+        Map<LocalDate, Map<Integer, Long>> expiredDays = viewsByDay.headMap(windowStartDate);
+
+        for (Map<Integer, Long> expiredDayBucket : expiredDays.values()) {
+
+            expiredDayBucket.forEach((newsID, views) -> mergeViews(windowViewsByNewsID, newsID, -views));
+        }
+
+        expiredDays.clear();
+
+        isTopTrendingNewsStale = true;
+        isRefreshForced = true;
+    }
+
+    private boolean isRefreshDue() {
+
+        return isRefreshForced || isTopTrendingNewsStale && System.nanoTime() - lastRefreshNanos >= refreshIntervalNanos;
+    }
+
+    /**
+     * Selects the ranking again under the read lock, which only keeps views from being recorded while the window
+     * totals are scanned.
+     */
+    private void refreshTopTrendingNewsIDs() {
+
+        lock.readLock().lock();
+
+        try {
+
+            // Writers are excluded, so no change can slip in between clearing the flags and selecting the ranking
+            isRefreshForced = false;
+            isTopTrendingNewsStale = false;
+
+            topTrendingNewsIDs = selectTopTrendingNewsIDs();
+
+            lastRefreshNanos = System.nanoTime();
+
+        } finally {
+
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isWithinWindow(LocalDate viewDate) {
+
+        return !viewDate.isBefore(windowEndDate.minusDays(TRENDING_WINDOW_DAYS)) && !viewDate.isAfter(windowEndDate);
+    }
+
+    /**
+     * Selects the most viewed news articles of the window with a min-heap bounded to {@value #MAX_TRENDING_NEWS} entries.
+     * Must be called while holding the read or write lock.
+     */
+    private List<Integer> selectTopTrendingNewsIDs() {
+
+        PriorityQueue<Map.Entry<Integer, Long>> topEntries = new PriorityQueue<>(MAX_TRENDING_NEWS + 1, TRENDING_ORDER);
+
+        for (Map.Entry<Integer, Long> entry : windowViewsByNewsID.entrySet()) {
+
+            if (topEntries.size() < MAX_TRENDING_NEWS) {
+
+                topEntries.add(Map.entry(entry.getKey(), entry.getValue()));
+
+            } else if (TRENDING_ORDER.compare(entry, topEntries.peek()) > 0) {
+
+                topEntries.poll();
+                topEntries.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        List<Integer> selectedNewsIDs = new ArrayList<>(topEntries.size());
+
+        while (!topEntries.isEmpty()) {
+
+            selectedNewsIDs.add(topEntries.poll().getKey());
+        }
+
+        Collections.reverse(selectedNewsIDs);
+
+        return Collections.unmodifiableList(selectedNewsIDs);
+    }
+
+    private static List<Integer> limit(List<Integer> newsIDs, int countOfTrendingNews) {
+
+        return newsIDs.subList(0, Math.max(0, Math.min(countOfTrendingNews, newsIDs.size())));
+    }
+
+    /**
+     * Adds a number of views to the count of a news article, removing the article once it has no views left.
+     */
+    private static void mergeViews(Map<Integer, Long> viewsByNewsID, int newsID, long numberOfViews) {
+
+        viewsByNewsID.compute(newsID, (key, currentViews) -> {
+
+            long views = (currentViews == null ? 0 : currentViews) + numberOfViews;
+
+            return views > 0 ? views : null;
+        });
+    }
+}
@@ -0,0 +1,336 @@
+package erkamber.services.implementations;
+
+import erkamber.collections.HyperLogLog;
+import erkamber.dtos.UniqueReadersDto;
+import erkamber.entities.UniqueReaderSketch;
+import erkamber.enums.UniqueReaderSubject;
+import erkamber.repositories.UniqueReaderSketchRepository;
+import erkamber.services.interfaces.UniqueReaderService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates the number of distinct readers of news articles and of reporters with one HyperLogLog sketch per subject and day.
+ * <p>
+ * A sketch takes a fixed {@value HyperLogLog#NUMBER_OF_REGISTERS} bytes however many readers it counts, and the sketches
+ * of the days of a window are merged into the sketch of the whole window. Readers are first added to in-memory sketches,
+ * which are periodically merged into the sketches stored in the unique_reader_sketches table.
+ * <p>
+ * A pending sketch stays visible to estimates until it has been stored. Merging a sketch is idempotent, so counting
+ * its readers in both the pending and the stored sketch for a moment does not change an estimate.
+ */
+@Service
+public class UniqueReaderServiceImpl implements UniqueReaderService {
+
+    public static final int MAX_WINDOW_DAYS = 90;
+
+    private static final String UPSERT_SKETCH_SQL = "INSERT INTO unique_reader_sketches (subject_type, subject_id, sketch_date, registers) " +
+            "VALUES (?, ?, ?, ?) ON CONFLICT (subject_type, subject_id, sketch_date) DO UPDATE SET registers = EXCLUDED.registers";
+
+    private final Logger logger = LogManager.getLogger(UniqueReaderServiceImpl.class);
+
+    private final UniqueReaderSketchRepository uniqueReaderSketchRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int flushBatchSize;
+
+    // Readers that have not been merged into the stored sketches yet
+    private final ConcurrentHashMap<SketchKey, HyperLogLog> pendingSketches = new ConcurrentHashMap<>();
+
+    public UniqueReaderServiceImpl(UniqueReaderSketchRepository uniqueReaderSketchRepository, JdbcTemplate jdbcTemplate,
+                                   @Value("${newslinker.views.unique-readers-flush-batch-size:1000}") int flushBatchSize) {
+
+        this.uniqueReaderSketchRepository = uniqueReaderSketchRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    /**
+     * Adds a reader to the sketches of the viewed news article and of its reporter for the day of the view.
+     *
+     * @param newsID     The ID of the viewed news article.
+     * @param reporterID The ID of the reporter of the article.
+     * @param userID     The ID of the reader.
+     * @param viewDate   The day of the view.
+     */
+    @Override
+    public void recordReader(int newsID, int reporterID, int userID, LocalDate viewDate) {
+
+        addToPendingSketch(new SketchKey(UniqueReaderSubject.NEWS, newsID, viewDate), userID);
+
+        addToPendingSketch(new SketchKey(UniqueReaderSubject.REPORTER, reporterID, viewDate), userID);
+    }
+
+    /**
+     * Estimates the number of distinct readers of a news article over the last days, including today.
+     *
+     * @param newsID The ID of the news article.
+     * @param days   The number of days of the window.
+     * @return The approximate number of unique readers of the article within the window.
+     */
+    @Override
+    public UniqueReadersDto getUniqueReadersOfNews(int newsID, int days) {
+
+        return estimateUniqueReaders(UniqueReaderSubject.NEWS, newsID, days);
+    }
+
+    /**
+     * Estimates the number of distinct readers of all news articles of a reporter over the last days, including today.
+     *
+     * @param reporterID The ID of the reporter.
+     * @param days       The number of days of the window.
+     * @return The approximate number of unique readers of the reporter within the window.
+     */
+    @Override
+    public UniqueReadersDto getUniqueReadersOfReporter(int reporterID, int days) {
+
+        return estimateUniqueReaders(UniqueReaderSubject.REPORTER, reporterID, days);
+    }
+
+    /**
+     * Deletes the pending and stored sketches of a deleted news article.
+     *
+     * @param newsIDs The IDs of the news articles.
+     */
+    @Override
+    public synchronized void removeNews(Collection<Integer> newsIDs) {
+
+        removeSubjects(UniqueReaderSubject.NEWS, new HashSet<>(newsIDs));
+    }
+
+    /**
+     * Deletes the pending and stored sketches of a deleted reporter.
+     *
+     * @param reporterID The ID of the reporter.
+     */
+    @Override
+    public synchronized void removeReporter(int reporterID) {
+
+        removeSubjects(UniqueReaderSubject.REPORTER, Collections.singleton(reporterID));
+    }
+
+    /**
+     * Merges copies of the pending sketches into the stored sketches, then removes the pending sketches that have not
+     * changed since they were copied. Sketches that gained readers meanwhile, or could not be stored, are kept pending
+     * and stored again on the next flush.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${newslinker.views.unique-readers-flush-interval-ms:10000}")
+    public synchronized void flushSketches() {
+
+        Map<SketchKey, HyperLogLog> flushedSketches = new HashMap<>();
+
+        for (SketchKey key : new ArrayList<>(pendingSketches.keySet())) {
+
+            // Copying inside computeIfPresent does not race with readers being added to the same sketch
+            pendingSketches.computeIfPresent(key, (sketchKey, sketch) -> {
+
+                flushedSketches.put(sketchKey, sketch.copy());
+
+                return sketch;
+            });
+        }
+
+        if (flushedSketches.isEmpty()) {
+
+            return;
+        }
+
+        try {
+
+            storeSketches(flushedSketches);
+
+        } catch (RuntimeException exception) {
+
+            logger.error("Could not store {} unique reader sketches: {}", flushedSketches.size(), exception.getMessage());
+
+            return;
+        }
+
+        flushedSketches.forEach((key, flushedSketch) ->
+                pendingSketches.computeIfPresent(key, (sketchKey, sketch) -> sketch.equals(flushedSketch) ? null : sketch));
+    }
+
+    /**
+     * Deletes the pending and stored sketches of the days that no window can reach any more,
+     * so the unique_reader_sketches table does not grow without limit.
+     *
+     * @return The number of deleted stored sketches.
+     */
+    @Override
+    public synchronized int pruneSketches() {
+
+        // The longest window covers today and the MAX_WINDOW_DAYS - 1 days before it
+        LocalDate cutoffDate = LocalDate.now().minusDays(MAX_WINDOW_DAYS);
+
+        pendingSketches.keySet().removeIf(key -> key.day.isBefore(cutoffDate));
+
+        int prunedSketches = uniqueReaderSketchRepository.deleteSketchesBefore(cutoffDate);
+
+        logger.info("Pruned {} unique reader sketches of days before {}", prunedSketches, cutoffDate);
+
+        return prunedSketches;
+    }
+
+    /**
+     * Stores the pending sketches before the application shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+
+        flushSketches();
+    }
+
+    private void addToPendingSketch(SketchKey key, int userID) {
+
+        pendingSketches.compute(key, (sketchKey, sketch) -> {
+
+            HyperLogLog readers = sketch == null ? new HyperLogLog() : sketch;
+
+            readers.add(userID);
+
+            return readers;
+        });
+    }
+
+    /**
+     * Merges the stored and pending sketches of the days of the window and estimates the distinct readers of the result.
+     */
+    private UniqueReadersDto estimateUniqueReaders(UniqueReaderSubject subject, int subjectID, int days) {
+
+        LocalDate endDate = LocalDate.now();
+
+        LocalDate startDate = endDate.minusDays(days - 1L);
+
+        HyperLogLog windowSketch = new HyperLogLog();
+
+        for (UniqueReaderSketch storedSketch : uniqueReaderSketchRepository
+                .findUniqueReaderSketchesBySubjectTypeAndSubjectIDAndSketchDateBetween(subject.getType(), subjectID, startDate, endDate)) {
+
+            windowSketch.merge(HyperLogLog.fromByteArray(storedSketch.getRegisters()));
+        }
+
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+
+            pendingSketches.computeIfPresent(new SketchKey(subject, subjectID, day), (sketchKey, sketch) -> {
+
+                windowSketch.merge(sketch);
+
+                return sketch;
+            });
+        }
+
+        return new UniqueReadersDto(subjectID, startDate, endDate, windowSketch.estimate());
+    }
+
+    /**
+     * Merges sketches into the stored sketches. The stored sketches are read with one query per subject type, day and
+     * chunk of subjects, and the merged sketches are written with JDBC batch upserts. Only the flusher writes sketches,
+     * so no other write can slip in between the read and the upsert.
+     */
+    private void storeSketches(Map<SketchKey, HyperLogLog> flushedSketches) {
+
+        Map<UniqueReaderSubject, Map<LocalDate, List<Integer>>> subjectIDsByTypeAndDay = new EnumMap<>(UniqueReaderSubject.class);
+
+        for (SketchKey key : flushedSketches.keySet()) {
+
+            subjectIDsByTypeAndDay.computeIfAbsent(key.subject, subject -> new HashMap<>())
+                    .computeIfAbsent(key.day, day -> new ArrayList<>())
+                    .add(key.subjectID);
+        }
+
+        // Subjects without a stored sketch of the day are inserted with their pending readers only
+        Map<SketchKey, HyperLogLog> mergedSketches = new HashMap<>(flushedSketches);
+
+        subjectIDsByTypeAndDay.forEach((subject, subjectIDsByDay) -> subjectIDsByDay.forEach((day, subjectIDs) -> {
+
+            for (int start = 0; start < subjectIDs.size(); start += flushBatchSize) {
+
+                List<Integer> subjectIDsChunk = subjectIDs.subList(start, Math.min(start + flushBatchSize, subjectIDs.size()));
+
+                for (UniqueReaderSketch storedSketch : uniqueReaderSketchRepository
+                        .findUniqueReaderSketchesBySubjectTypeAndSketchDateAndSubjectIDIn(subject.getType(), day, subjectIDsChunk)) {
+
+                    HyperLogLog mergedSketch = HyperLogLog.fromByteArray(storedSketch.getRegisters());
+
+                    SketchKey key = new SketchKey(subject, storedSketch.getSubjectID(), day);
+
+                    mergedSketch.merge(flushedSketches.get(key));
+
+                    mergedSketches.put(key, mergedSketch);
+                }
+            }
+        }));
+
+        jdbcTemplate.batchUpdate(UPSERT_SKETCH_SQL, new ArrayList<>(mergedSketches.entrySet()), flushBatchSize, (statement, mergedSketch) -> {
+
+            SketchKey key = mergedSketch.getKey();
+
+            statement.setString(1, key.subject.getType());
+            statement.setInt(2, key.subjectID);
+            statement.setDate(3, Date.valueOf(key.day));
+            statement.setBytes(4, mergedSketch.getValue().toByteArray());
+        });
+    }
+
+    private void removeSubjects(UniqueReaderSubject subject, Set<Integer> subjectIDs) {
+
+        if (subjectIDs.isEmpty()) {
+
+            return;
+        }
+
+        pendingSketches.keySet().removeIf(key -> key.subject == subject && subjectIDs.contains(key.subjectID));
+
+        uniqueReaderSketchRepository.deleteSketchesOfSubjects(subject.getType(), subjectIDs);
+    }
+
+    private static final class SketchKey {
+
+        private final UniqueReaderSubject subject;
+
+        private final int subjectID;
+
+        private final LocalDate day;
+
+        private SketchKey(UniqueReaderSubject subject, int subjectID, LocalDate day) {
+
+            this.subject = subject;
+            this.subjectID = subjectID;
+            this.day = day;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SketchKey sketchKey = (SketchKey) o;
+            return subjectID == sketchKey.subjectID && subject == sketchKey.subject && day.equals(sketchKey.day);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(subject, subjectID, day);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package erkamber.services.implementations;
+
+import erkamber.collections.BoundedLruCache;
+import erkamber.repositories.UserRepository;
+import erkamber.services.interfaces.UserExistenceService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers whether a user exists with an indexed primary key lookup, caching the answers.
+ * <p>
+ * Known existing and known missing user IDs are kept in two bounded LRU caches, so repeated checks of the same
+ * user do not reach the database. Both caches are updated when a user is registered or deleted.
+ * <p>
+ * A lookup only caches its answer if no user was registered or deleted while it ran, so a lookup that started before
+ * a deletion committed cannot put the deleted user back into the cache of existing users.
+ * <p>
+ * Users whose deletion is running in the background are kept in a separate, unbounded set until the deletion finishes,
+ * so they are reported as missing however many other users pass through the LRU caches meanwhile.
+ */
+@Service
+public class UserExistenceServiceImpl implements UserExistenceService {
+
+    private final UserRepository userRepository;
+
+    private final BoundedLruCache<Integer, Boolean> existingUserIDs;
+
+    private final BoundedLruCache<Integer, Boolean> missingUserIDs;
+
+    // Users being deleted in the background, added and removed under the state lock
+    private final Set<Integer> pendingDeletionUserIDs = ConcurrentHashMap.newKeySet();
+
+    private final Object stateLock = new Object();
+
+    // Incremented on every registration and deletion, guarded by the state lock
+    private long stateVersion;
+
+    public UserExistenceServiceImpl(UserRepository userRepository,
+                                    @Value("${newslinker.users.existing-cache-size:100000}") int existingCacheSize,
+                                    @Value("${newslinker.users.missing-cache-size:10000}") int missingCacheSize) {
+
+        this.userRepository = userRepository;
+        this.existingUserIDs = new BoundedLruCache<>(existingCacheSize);
+        this.missingUserIDs = new BoundedLruCache<>(missingCacheSize);
+    }
+
+    /**
+     * Checks whether a user with the given ID exists.
+     *
+     * @param userID The ID of the user.
+     * @return True if the user exists, false otherwise.
+     */
+    @Override
+    public boolean isUserExisting(int userID) {
+
+        if (pendingDeletionUserIDs.contains(userID)) {
+
+            return false;
+        }
+
+        if (existingUserIDs.containsKey(userID)) {
+
+            return true;
+        }
+
+        if (missingUserIDs.containsKey(userID)) {
+
+            return false;
+        }
+
+        long versionBeforeLookup;
+
+        synchronized (stateLock) {
+
+            versionBeforeLookup = stateVersion;
+        }
+
+        boolean isUserExisting = userRepository.existsById(userID);
+
+        synchronized (stateLock) {
+
+            // A registration or deletion during the lookup may have made its answer stale, so it is not cached
+            if (stateVersion == versionBeforeLookup) {
+
+                if (isUserExisting) {
+
+                    existingUserIDs.put(userID, Boolean.TRUE);
+
+                } else {
+
+                    missingUserIDs.put(userID, Boolean.TRUE);
+                }
+            }
+        }
+
+        return isUserExisting;
+    }
+
+    /**
+     * Records that a user was registered, or is found again after a failed deletion, so a cached "missing" answer
+     * for its ID is discarded.
+     *
+     * @param userID The ID of the registered user.
+     */
+    @Override
+    public void markUserRegistered(int userID) {
+
+        synchronized (stateLock) {
+
+            stateVersion++;
+
+            pendingDeletionUserIDs.remove(userID);
+
+            missingUserIDs.remove(userID);
+
+            existingUserIDs.put(userID, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Records that a user was deleted, so a cached "existing" answer for its ID is discarded.
+     *
+     * @param userID The ID of the deleted user.
+     */
+    @Override
+    public void markUserDeleted(int userID) {
+
+        synchronized (stateLock) {
+
+            stateVersion++;
+
+            pendingDeletionUserIDs.remove(userID);
+
+            existingUserIDs.remove(userID);
+
+            missingUserIDs.put(userID, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Records that a user is being deleted in the background. The user is reported as missing until the deletion
+     * finishes with {@link #markUserDeleted(int)}, or fails and the user is found again with {@link #markUserRegistered(int)}.
+     *
+     * @param userID The ID of the user being deleted.
+     */
+    @Override
+    public void markUserDeletionPending(int userID) {
+
+        synchronized (stateLock) {
+
+            stateVersion++;
+
+            existingUserIDs.remove(userID);
+
+            pendingDeletionUserIDs.add(userID);
+        }
+    }
+}
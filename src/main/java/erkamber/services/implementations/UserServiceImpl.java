@@ -1,19 +1,24 @@
 package erkamber.services.implementations;
 
-import erkamber.configurations.PasswordEncoderConfiguration;
+import erkamber.collections.BoundedLruCache;
+import erkamber.dtos.AuthorSummaryDto;
 import erkamber.dtos.UserDto;
 import erkamber.entities.User;
 import erkamber.exceptions.InvalidInputException;
 import erkamber.exceptions.NotMatchingPasswordsException;
 import erkamber.exceptions.ResourceNotFoundException;
 import erkamber.mappers.UserMapper;
+import erkamber.projections.AuthorSummary;
 import erkamber.repositories.UserRepository;
+import erkamber.services.interfaces.PasswordHashingService;
+import erkamber.services.interfaces.CascadeDeleteService;
+import erkamber.services.interfaces.UserExistenceService;
 import erkamber.services.interfaces.UserService;
 import erkamber.validations.UserValidation;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 public class UserServiceImpl implements UserService {
@@ -24,15 +29,36 @@ public class UserServiceImpl implements UserService {
 
     private final UserValidation userValidation;
 
-    private final PasswordEncoderConfiguration passwordEncoderConfiguration;
+    private final PasswordHashingService passwordHashingService;
+
+    private final UserExistenceService userExistenceService;
+
+    private final CascadeDeleteService cascadeDeleteService;
+
+    // Matched against when a login email is unknown, so failed logins take as long as wrong passwords
+    private final String dummyEncodedPassword;
+
+    // Author summaries resolved by user ID, shared by all requests and invalidated whenever a user is updated or deleted
+    private final BoundedLruCache<Integer, AuthorSummaryDto> authorSummariesByID;
+
+    private final Object authorSummaryLock = new Object();
+
+    // Incremented whenever an author summary is evicted, guarded by the author summary lock
+    private long authorSummaryVersion;
 
     public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, UserValidation userValidation,
-                           PasswordEncoderConfiguration passwordEncoderConfiguration) {
+                           PasswordHashingService passwordHashingService, UserExistenceService userExistenceService,
+                           CascadeDeleteService cascadeDeleteService,
+                           @Value("${newslinker.users.author-cache-size:10000}") int authorCacheSize) {
 
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.userValidation = userValidation;
-        this.passwordEncoderConfiguration = passwordEncoderConfiguration;
+        this.passwordHashingService = passwordHashingService;
+        this.userExistenceService = userExistenceService;
+        this.cascadeDeleteService = cascadeDeleteService;
+        this.dummyEncodedPassword = passwordHashingService.encode("dummy-login-password");
+        this.authorSummariesByID = new BoundedLruCache<>(authorCacheSize);
     }
 
     /**
@@ -47,7 +73,7 @@ public class UserServiceImpl implements UserService {
 
         isNewUserCredentialsValid(userDto);
 
-        String encodedUserPassword = passwordEncoderConfiguration.passwordEncoder().encode(userDto.getUserPassword());
+        String encodedUserPassword = passwordHashingService.encode(userDto.getUserPassword());
 
         userDto.setUserPassword(encodedUserPassword);
 
@@ -55,6 +81,8 @@ public class UserServiceImpl implements UserService {
 
         userRepository.save(newUser);
 
+        userExistenceService.markUserRegistered(newUser.getUserID());
+
         return newUser.getUserID();
     }
 
@@ -105,6 +133,8 @@ public class UserServiceImpl implements UserService {
         }
 
         userRepository.save(userToUpdate);
+
+        evictAuthorSummary(userID);
     }
 
     /**
@@ -137,11 +167,20 @@ public class UserServiceImpl implements UserService {
 
         areNewPasswordsMatching(newPassword, newPasswordRepeat);
 
-        searchedUser.setUserPassword(passwordEncoderConfiguration.passwordEncoder().encode(newPassword));
+        searchedUser.setUserPassword(passwordHashingService.encode(newPassword));
 
         userRepository.save(searchedUser);
     }
 
+    /**
+     * Copies a cached AuthorSummaryDto, so callers cannot modify the cached instance.
+     */
+    private static AuthorSummaryDto copyAuthorSummaryDto(AuthorSummaryDto authorSummaryDto) {
+
+        return new AuthorSummaryDto(authorSummaryDto.getUserID(), authorSummaryDto.getUserName(), authorSummaryDto.getUserDisplayName(),
+                authorSummaryDto.getUserPhoto(), authorSummaryDto.isUserReporter());
+    }
+
     /**
      * Checks if the provided old password matches the encoded old password from the DB.
      * <p>
@@ -179,7 +218,8 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Deletes a user by their user ID.
+     * Deletes a user by their user ID, together with their news articles, comments, votes, views, bookmarks,
+     * subscriptions and feedbacks.
      *
      * @param userID The ID of the user to be deleted.
      * @throws ResourceNotFoundException If the user with the given ID is not found.
@@ -187,12 +227,28 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUserByID(int userID) {
 
-        Optional<User> searchedUser = userRepository.findById(userID);
+        isUserIDExisting(userID);
 
-        User userToDelete = searchedUser.orElseThrow(() ->
-                new ResourceNotFoundException("User ID not Found:" + userID, "User"));
+        cascadeDeleteService.deleteUser(userID);
+
+        evictAuthorSummary(userID);
+    }
+
+    /**
+     * Queues the deletion of a user by their user ID. The user is reported as not existing at once, while their
+     * content is deleted in chunks in the background.
+     *
+     * @param userID The ID of the user to be deleted.
+     * @throws ResourceNotFoundException If the user with the given ID is not found.
+     */
+    @Override
+    public void deleteUserByIDInBackground(int userID) {
 
-        userRepository.delete(userToDelete);
+        isUserIDExisting(userID);
+
+        evictAuthorSummary(userID);
+
+        cascadeDeleteService.deleteUserInBackground(userID);
     }
 
     /**
@@ -209,7 +265,60 @@ public class UserServiceImpl implements UserService {
         User userToDelete = searchedUser.orElseThrow(() ->
                 new ResourceNotFoundException("User ID not Found:" + userName, "User"));
 
-        userRepository.delete(userToDelete);
+        cascadeDeleteService.deleteUser(userToDelete.getUserID());
+
+        evictAuthorSummary(userToDelete.getUserID());
+    }
+
+    private long getAuthorSummaryVersion() {
+
+        synchronized (authorSummaryLock) {
+
+            return authorSummaryVersion;
+        }
+    }
+
+    /**
+     * Caches an author summary read from the database, unless a summary was evicted since the read started. The read may
+     * then have returned the user as they were before an update or deletion, and caching it would keep the stale name
+     * or photo until the entry is evicted again.
+     */
+    private void cacheAuthorSummary(AuthorSummaryDto authorSummaryDto, long versionBeforeLookup) {
+
+        synchronized (authorSummaryLock) {
+
+            if (authorSummaryVersion == versionBeforeLookup) {
+
+                authorSummariesByID.put(authorSummaryDto.getUserID(), authorSummaryDto);
+            }
+        }
+    }
+
+    /**
+     * Evicts the cached summary of an updated or deleted user, and keeps summaries read before the eviction from being cached.
+     */
+    private void evictAuthorSummary(int userID) {
+
+        synchronized (authorSummaryLock) {
+
+            authorSummaryVersion++;
+
+            authorSummariesByID.remove(userID);
+        }
+    }
+
+    /**
+     * Validates whether a user with the given ID exists.
+     *
+     * @param userID The ID of the user to be validated.
+     * @throws ResourceNotFoundException If the user with the given ID is not found.
+     */
+    private void isUserIDExisting(int userID) {
+
+        if (!userRepository.existsById(userID)) {
+
+            throw new ResourceNotFoundException("User ID not Found:" + userID, "User");
+        }
     }
 
     /**
@@ -230,6 +339,91 @@ public class UserServiceImpl implements UserService {
         return userMapper.mapUserToUserDto(user);
     }
 
+    /**
+     * Retrieves the summary of a user embedded as the author of other content, from the author cache if present.
+     *
+     * @param userID The ID of the user to retrieve.
+     * @return The AuthorSummaryDto of the user.
+     * @throws ResourceNotFoundException If the user with the given ID is not found.
+     */
+    @Override
+    public AuthorSummaryDto getAuthorSummaryByID(int userID) {
+
+        AuthorSummaryDto cachedAuthorSummary = authorSummariesByID.get(userID);
+
+        if (cachedAuthorSummary != null) {
+
+            return copyAuthorSummaryDto(cachedAuthorSummary);
+        }
+
+        long versionBeforeLookup = getAuthorSummaryVersion();
+
+        Optional<AuthorSummary> searchedAuthorSummary = userRepository.findAuthorSummaryByUserID(userID);
+
+        AuthorSummaryDto authorSummaryDto = userMapper.mapAuthorSummaryToAuthorSummaryDto(searchedAuthorSummary.orElseThrow(() ->
+                new ResourceNotFoundException("User ID not Found:" + userID, "User")));
+
+        cacheAuthorSummary(authorSummaryDto, versionBeforeLookup);
+
+        return copyAuthorSummaryDto(authorSummaryDto);
+    }
+
+    /**
+     * Retrieves the summaries of several users by their user IDs. Summaries found in the author cache are not read again,
+     * and all others are read with a single query, so converting a list of rows costs at most one query for its authors.
+     *
+     * @param userIDs The IDs of the users to retrieve; duplicates are resolved once.
+     * @return A map of user ID to the AuthorSummaryDto of the user.
+     * @throws ResourceNotFoundException If one of the users is not found.
+     */
+    @Override
+    public Map<Integer, AuthorSummaryDto> getAuthorSummariesByIDs(Collection<Integer> userIDs) {
+
+        Map<Integer, AuthorSummaryDto> resolvedAuthorSummaries = new HashMap<>();
+
+        Set<Integer> missingUserIDs = new HashSet<>();
+
+        for (Integer userID : userIDs) {
+
+            AuthorSummaryDto cachedAuthorSummary = authorSummariesByID.get(userID);
+
+            if (cachedAuthorSummary != null) {
+
+                resolvedAuthorSummaries.put(userID, copyAuthorSummaryDto(cachedAuthorSummary));
+
+            } else {
+
+                missingUserIDs.add(userID);
+            }
+        }
+
+        if (missingUserIDs.isEmpty()) {
+
+            return resolvedAuthorSummaries;
+        }
+
+        long versionBeforeLookup = getAuthorSummaryVersion();
+
+        for (AuthorSummary authorSummary : userRepository.findAuthorSummariesByUserIDIn(missingUserIDs)) {
+
+            AuthorSummaryDto authorSummaryDto = userMapper.mapAuthorSummaryToAuthorSummaryDto(authorSummary);
+
+            cacheAuthorSummary(authorSummaryDto, versionBeforeLookup);
+
+            resolvedAuthorSummaries.put(authorSummary.getUserID(), copyAuthorSummaryDto(authorSummaryDto));
+        }
+
+        for (Integer userID : missingUserIDs) {
+
+            if (!resolvedAuthorSummaries.containsKey(userID)) {
+
+                throw new ResourceNotFoundException("User ID not Found:" + userID, "User");
+            }
+        }
+
+        return resolvedAuthorSummaries;
+    }
+
     /**
      * Retrieves a user's information by their username.
      *
@@ -434,7 +628,9 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Method used to find and return the user trying to log in by userEmail and password
+     * Method used to find and return the user trying to log in by userEmail and password.
+     * The user is looked up through the unique user_email column and the password is checked with a single BCrypt match.
+     * When no user has that email, a dummy hash is matched instead, so the response time does not reveal registered emails.
      *
      * @param userEmail the userEmail of the user trying to log in
      * @param password  the password of the user trying to log in
@@ -442,12 +638,17 @@ public class UserServiceImpl implements UserService {
      */
     private User getLoginUser(String userEmail, String password) {
 
-        List<User> allUsers = userRepository.findAll();
+        Optional<User> searchedUser = userRepository.findUserByUserEmail(userEmail);
+
+        String encodedPassword = searchedUser.map(User::getUserPassword).orElse(dummyEncodedPassword);
+
+        boolean isPasswordMatching = passwordHashingService.matches(password, encodedPassword);
+
+        if (searchedUser.isEmpty() || !isPasswordMatching) {
+
+            throw new ResourceNotFoundException("Incorrect email or password!", "User");
+        }
 
-        return allUsers.stream()
-                .filter(user -> user.getUserEmail().equals(userEmail) &&
-                        passwordEncoderConfiguration.passwordEncoder().matches(password, user.getUserPassword()))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("Incorrect email or password!", "User"));
+        return searchedUser.get();
     }
 }
@@ -0,0 +1,216 @@
+package erkamber.services.implementations;
+
+import erkamber.entities.ViewCount;
+import erkamber.repositories.ViewCountRepository;
+import erkamber.services.interfaces.ViewCountService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains the number of views of every news article as an aggregate, instead of counting View rows.
+ * <p>
+ * Counts are stored in the view_counts table, keyed by news ID, so reading a count is a primary key lookup.
+ * New views are first added to an in-memory write-behind buffer, which is flushed to the table in batches,
+ * and the buffered deltas are added to the stored counts on read so that counts are never behind.
+ * A delta stays in the buffer until its write has succeeded, so a flush never hides it from readers.
+ */
+@Service
+public class ViewCountServiceImpl implements ViewCountService {
+
+    // How long views of a deleted news article are ignored, which covers views that were queued before the deletion
+    private static final long DELETED_NEWS_RETENTION_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final Logger logger = LogManager.getLogger(ViewCountServiceImpl.class);
+
+    private final ViewCountRepository viewCountRepository;
+
+    // View count deltas that have not been written to the database yet, keyed by news ID
+    private final ConcurrentHashMap<Integer, Long> pendingViewCounts = new ConcurrentHashMap<>();
+
+    // Deletion times of recently deleted news, whose late views must not recreate their view count rows
+    private final ConcurrentHashMap<Integer, Long> deletedNewsTimestamps = new ConcurrentHashMap<>();
+
+    public ViewCountServiceImpl(ViewCountRepository viewCountRepository) {
+
+        this.viewCountRepository = viewCountRepository;
+    }
+
+    /**
+     * Seeds the view_counts table from the existing View rows the first time the application starts with it.
+     */
+    @PostConstruct
+    public void seedViewCounts() {
+
+        if (viewCountRepository.count() == 0) {
+
+            int seededViewCounts = viewCountRepository.seedViewCountsFromViews();
+
+            logger.info("Seeded view counts of {} news articles", seededViewCounts);
+        }
+    }
+
+    /**
+     * Adds one view to the view count of a news article. The view is buffered and written on the next flush.
+     *
+     * @param newsID The ID of the viewed news article.
+     */
+    @Override
+    public void incrementViewCount(int newsID) {
+
+        if (deletedNewsTimestamps.containsKey(newsID)) {
+
+            return;
+        }
+
+        pendingViewCounts.merge(newsID, 1L, Long::sum);
+    }
+
+    /**
+     * Removes views from the view count of a news article. The change is buffered and written on the next flush.
+     *
+     * @param newsID        The ID of the news article.
+     * @param numberOfViews The number of views that were deleted.
+     */
+    @Override
+    public void decrementViewCount(int newsID, long numberOfViews) {
+
+        if (deletedNewsTimestamps.containsKey(newsID)) {
+
+            return;
+        }
+
+        pendingViewCounts.merge(newsID, -numberOfViews, Long::sum);
+    }
+
+    /**
+     * Deletes the view counts of news articles together with their buffered changes, using a single statement.
+     * Views of these articles that arrive later are ignored, so no flush recreates their rows.
+     *
+     * @param newsIDs The IDs of the news articles.
+     */
+    @Override
+    public synchronized void deleteViewCounts(Collection<Integer> newsIDs) {
+
+        if (newsIDs.isEmpty()) {
+
+            return;
+        }
+
+        long deletionTime = System.currentTimeMillis();
+
+        newsIDs.forEach(newsID -> deletedNewsTimestamps.put(newsID, deletionTime));
+
+        pendingViewCounts.keySet().removeAll(newsIDs);
+
+        viewCountRepository.deleteAllByIdInBatch(newsIDs);
+    }
+
+    /**
+     * Retrieves the number of views of a news article with a single primary key lookup.
+     *
+     * @param newsID The ID of the news article.
+     * @return The number of views of the news article.
+     */
+    @Override
+    public int getViewCount(int newsID) {
+
+        long storedViewCount = viewCountRepository.findById(newsID).map(ViewCount::getViewCount).orElse(0L);
+
+        return toViewCount(storedViewCount + pendingViewCounts.getOrDefault(newsID, 0L));
+    }
+
+    /**
+     * Retrieves the number of views of several news articles with one query.
+     *
+     * @param newsIDs The IDs of the news articles.
+     * @return A map of news ID to number of views, containing every provided news ID.
+     */
+    @Override
+    public Map<Integer, Integer> getViewCounts(Collection<Integer> newsIDs) {
+
+        Map<Integer, Long> storedViewCounts = new HashMap<>();
+
+        for (ViewCount viewCount : viewCountRepository.findAllById(newsIDs)) {
+
+            storedViewCounts.put(viewCount.getNewsID(), viewCount.getViewCount());
+        }
+
+        Map<Integer, Integer> viewCountsByNewsID = new HashMap<>();
+
+        for (Integer newsID : newsIDs) {
+
+            long viewCount = storedViewCounts.getOrDefault(newsID, 0L) + pendingViewCounts.getOrDefault(newsID, 0L);
+
+            viewCountsByNewsID.put(newsID, toViewCount(viewCount));
+        }
+
+        return viewCountsByNewsID;
+    }
+
+    /**
+     * Writes the buffered view count deltas to the database with one upsert per news article.
+     * A delta is only taken out of the buffer once it has been written, so readers see it the whole time,
+     * and deltas that could not be written stay buffered and are retried on the next flush.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${newslinker.views.flush-interval-ms:5000}")
+    public synchronized void flushPendingViewCounts() {
+
+        long retentionStart = System.currentTimeMillis() - DELETED_NEWS_RETENTION_MILLIS;
+
+        deletedNewsTimestamps.values().removeIf(deletionTime -> deletionTime < retentionStart);
+
+        for (Integer newsID : new ArrayList<>(pendingViewCounts.keySet())) {
+
+            Long delta = pendingViewCounts.get(newsID);
+
+            if (delta == null) {
+
+                continue;
+            }
+
+            if (delta == 0 || deletedNewsTimestamps.containsKey(newsID)) {
+
+                pendingViewCounts.remove(newsID, delta);
+
+                continue;
+            }
+
+            try {
+
+                viewCountRepository.addToViewCount(newsID, delta);
+
+            } catch (RuntimeException exception) {
+
+                logger.error("Could not flush view count of news {}: {}", newsID, exception.getMessage());
+
+                continue;
+            }
+
+            // Only the views added since the delta was read are left pending
+            pendingViewCounts.computeIfPresent(newsID, (key, pendingDelta) -> pendingDelta == delta.longValue() ? null : pendingDelta - delta);
+        }
+    }
+
+    /**
+     * Flushes the buffered view counts before the application shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+
+        flushPendingViewCounts();
+    }
+
+    private int toViewCount(long viewCount) {
+
+        return (int) Math.max(0, Math.min(viewCount, Integer.MAX_VALUE));
+    }
+}
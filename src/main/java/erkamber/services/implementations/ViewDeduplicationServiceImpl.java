@@ -0,0 +1,158 @@
+package erkamber.services.implementations;
+
+import erkamber.collections.BloomFilter;
+import erkamber.dtos.ViewDeduplicationMetricsDto;
+import erkamber.repositories.ViewRepository;
+import erkamber.services.interfaces.ViewDeduplicationService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts at most one view per user, news article and day.
+ * <p>
+ * The (user, news) pairs that viewed an article today are kept in a Bloom filter, which is replaced by an empty one
+ * when the day changes, so deciding whether a view is new needs no database lookup. A false positive makes a first
+ * view of the day be treated as a repeat, at a rate bounded by the configured false positive rate.
+ */
+@Service
+public class ViewDeduplicationServiceImpl implements ViewDeduplicationService {
+
+    private final Logger logger = LogManager.getLogger(ViewDeduplicationServiceImpl.class);
+
+    private final ViewRepository viewRepository;
+
+    private final long expectedDailyViews;
+
+    private final double falsePositiveRate;
+
+    private final LongAdder countedViews = new LongAdder();
+
+    private final LongAdder duplicateViews = new LongAdder();
+
+    private volatile DailyViewFilter currentFilter;
+
+    public ViewDeduplicationServiceImpl(ViewRepository viewRepository,
+                                        @Value("${newslinker.views.dedup-expected-daily-views:1000000}") long expectedDailyViews,
+                                        @Value("${newslinker.views.dedup-false-positive-rate:0.001}") double falsePositiveRate) {
+
+        this.viewRepository = viewRepository;
+        this.expectedDailyViews = expectedDailyViews;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Fills the filter of the current day with the views already stored today, so a restart does not count them again.
+     */
+    @PostConstruct
+    public void loadViewsOfToday() {
+
+        LocalDate today = LocalDate.now();
+
+        DailyViewFilter todayFilter = new DailyViewFilter(today, new BloomFilter(expectedDailyViews, falsePositiveRate));
+
+        for (Object[] row : viewRepository.findViewerIDsAndNewsIDsByViewCreationDate(today)) {
+
+            todayFilter.viewedPairs.add(toViewKey((Integer) row[0], (Integer) row[1]));
+        }
+
+        currentFilter = todayFilter;
+
+        logger.info("Loaded {} distinct views of {} into the view deduplication filter", todayFilter.viewedPairs.size(), today);
+    }
+
+    /**
+     * Marks that a user has viewed a news article on a day.
+     *
+     * @param userID   The ID of the viewing user.
+     * @param newsID   The ID of the viewed news article.
+     * @param viewDate The day of the view.
+     * @return True if this is the first view of the article by the user on that day and should be counted, false otherwise.
+     */
+    @Override
+    public boolean markViewed(int userID, int newsID, LocalDate viewDate) {
+
+        DailyViewFilter filter = getFilterOfDay(viewDate);
+
+        // Views of a day that was already rotated out cannot be deduplicated and are counted
+        boolean firstView = filter == null || filter.viewedPairs.add(toViewKey(userID, newsID));
+
+        if (firstView) {
+
+            countedViews.increment();
+
+        } else {
+
+            duplicateViews.increment();
+        }
+
+        return firstView;
+    }
+
+    /**
+     * Retrieves the size and fill of the current day's filter and the number of counted and skipped views.
+     *
+     * @return The view deduplication metrics.
+     */
+    @Override
+    public ViewDeduplicationMetricsDto getMetrics() {
+
+        DailyViewFilter filter = currentFilter;
+
+        return new ViewDeduplicationMetricsDto(filter.day, expectedDailyViews, filter.viewedPairs.getNumberOfBits(),
+                filter.viewedPairs.size(), countedViews.sum(), duplicateViews.sum(), filter.viewedPairs.estimateFalsePositiveRate());
+    }
+
+    /**
+     * Retrieves the filter of a day, replacing the current filter with an empty one when the day has changed.
+     *
+     * @return The filter of the day, or null if the day is older than the current filter.
+     */
+    private DailyViewFilter getFilterOfDay(LocalDate day) {
+
+        DailyViewFilter filter = currentFilter;
+
+        if (filter.day.equals(day)) {
+
+            return filter;
+        }
+
+        if (day.isBefore(filter.day)) {
+
+            return null;
+        }
+
+        synchronized (this) {
+
+            if (currentFilter.day.isBefore(day)) {
+
+                currentFilter = new DailyViewFilter(day, new BloomFilter(expectedDailyViews, falsePositiveRate));
+            }
+
+            return currentFilter.day.equals(day) ? currentFilter : null;
+        }
+    }
+
+    private static long toViewKey(int userID, int newsID) {
+
+        return ((long) userID << Integer.SIZE) | (newsID & 0xFFFFFFFFL);
+    }
+
+    private static final class DailyViewFilter {
+
+        private final LocalDate day;
+
+        private final BloomFilter viewedPairs;
+
+        private DailyViewFilter(LocalDate day, BloomFilter viewedPairs) {
+
+            this.day = day;
+            this.viewedPairs = viewedPairs;
+        }
+    }
+}
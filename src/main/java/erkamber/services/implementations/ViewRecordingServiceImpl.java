@@ -0,0 +1,298 @@
+package erkamber.services.implementations;
+
+import erkamber.dtos.ViewRecordingMetricsDto;
+import erkamber.entities.View;
+import erkamber.services.interfaces.ViewRecordingService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Writes View rows off the request thread.
+ * <p>
+ * Recorded views are put on a bounded in-memory queue, which a scheduled flusher drains and writes with JDBC batch inserts.
+ * When the queue is full, the view is rejected and counted instead, so a slow database neither grows the queue without
+ * limit nor blocks readers behind a running flush. Views still queued at shutdown are written before the application stops.
+ * <p>
+ * Every write holds the flush lock, so once the queued views of a news article or user have been removed, none of their
+ * views is being written. A failed batch is retried one view at a time: a view the database rejects is dropped on its own,
+ * and the rest are retried on the next flush if the database is unavailable.
+ */
+@Service
+public class ViewRecordingServiceImpl implements ViewRecordingService {
+
+    private static final String INSERT_VIEW_SQL = "INSERT INTO views (view_creation_date, view_news_id, view_user_id) VALUES (?, ?, ?)";
+
+    private final Logger logger = LogManager.getLogger(ViewRecordingServiceImpl.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ArrayBlockingQueue<View> queuedViews;
+
+    private final int queueCapacity;
+
+    private final int batchSize;
+
+    private final LongAdder recordedViews = new LongAdder();
+
+    private final LongAdder writtenViews = new LongAdder();
+
+    private final LongAdder writtenBatches = new LongAdder();
+
+    private final LongAdder rejectedViews = new LongAdder();
+
+    private final LongAdder failedBatches = new LongAdder();
+
+    private final LongAdder droppedViews = new LongAdder();
+
+    public ViewRecordingServiceImpl(JdbcTemplate jdbcTemplate,
+                                    @Value("${newslinker.views.recording-queue-capacity:10000}") int queueCapacity,
+                                    @Value("${newslinker.views.recording-batch-size:500}") int batchSize) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.queuedViews = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Queues a view to be written by the next flush. If the queue is full, the view is rejected and counted.
+     *
+     * @param view The view to be recorded.
+     * @return True if the view was queued, false if it was rejected because the queue is full.
+     */
+    @Override
+    public boolean recordView(View view) {
+
+        recordedViews.increment();
+
+        if (queuedViews.offer(view)) {
+
+            return true;
+        }
+
+        rejectedViews.increment();
+
+        return false;
+    }
+
+    /**
+     * Removes the queued views of news articles, so they are not written after the articles' views were deleted.
+     *
+     * @param newsIDs The IDs of the news articles.
+     * @return The removed views.
+     */
+    @Override
+    public List<View> removeQueuedViewsOfNews(Collection<Integer> newsIDs) {
+
+        Set<Integer> removedNewsIDs = new HashSet<>(newsIDs);
+
+        return removeQueuedViews(view -> removedNewsIDs.contains(view.getViewNewsID()));
+    }
+
+    /**
+     * Removes the queued views of a user, so they are not written after the user's views were deleted.
+     *
+     * @param userID The ID of the user.
+     * @return The removed views.
+     */
+    @Override
+    public List<View> removeQueuedViewsOfUser(int userID) {
+
+        return removeQueuedViews(view -> view.getViewUserID() == userID);
+    }
+
+    /**
+     * Writes the queued views in batches. A run writes at most the views that were queued when it started,
+     * so a steady stream of new views cannot keep the flusher busy indefinitely.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${newslinker.views.recording-interval-ms:200}")
+    public synchronized void flushQueuedViews() {
+
+        int remainingBatches = queuedViews.size() / batchSize + 1;
+
+        List<View> batch = new ArrayList<>(batchSize);
+
+        while (remainingBatches-- > 0 && queuedViews.drainTo(batch, batchSize) > 0) {
+
+            List<View> unwrittenViews = writeViews(batch);
+
+            if (!unwrittenViews.isEmpty()) {
+
+                requeue(unwrittenViews);
+
+                return;
+            }
+
+            batch.clear();
+        }
+    }
+
+    /**
+     * Retrieves the state of the view queue and the number of written, failed and dropped views.
+     *
+     * @return The view recording metrics.
+     */
+    @Override
+    public ViewRecordingMetricsDto getMetrics() {
+
+        return new ViewRecordingMetricsDto(queuedViews.size(), queueCapacity, batchSize, recordedViews.sum(), writtenViews.sum(),
+                writtenBatches.sum(), rejectedViews.sum(), failedBatches.sum(), droppedViews.sum());
+    }
+
+    /**
+     * Writes every queued view before the application shuts down.
+     */
+    @PreDestroy
+    public synchronized void drainOnShutdown() {
+
+        List<View> batch = new ArrayList<>(batchSize);
+
+        while (queuedViews.drainTo(batch, batchSize) > 0) {
+
+            List<View> unwrittenViews = writeViews(batch);
+
+            if (!unwrittenViews.isEmpty()) {
+
+                droppedViews.add(unwrittenViews.size() + queuedViews.size());
+
+                logger.error("Could not write {} queued views on shutdown", unwrittenViews.size() + queuedViews.size());
+
+                return;
+            }
+
+            batch.clear();
+        }
+    }
+
+    /**
+     * Removes the matching views from the queue. Runs under the flush lock, so a view is either already written
+     * or removed from the queue when this method returns.
+     */
+    private synchronized List<View> removeQueuedViews(Predicate<View> viewFilter) {
+
+        List<View> removedViews = new ArrayList<>();
+
+        queuedViews.removeIf(view -> {
+
+            if (viewFilter.test(view)) {
+
+                removedViews.add(view);
+
+                return true;
+            }
+
+            return false;
+        });
+
+        return removedViews;
+    }
+
+    /**
+     * Writes views with one JDBC batch insert. If the batch fails, the views are written one at a time, so a single view
+     * the database rejects does not take the whole batch down with it. Rejected views are dropped and counted.
+     *
+     * @param views The views to be written.
+     * @return The views that could not be written because the database is unavailable, in their original order.
+     */
+    private List<View> writeViews(List<View> views) {
+
+        if (writeBatch(views)) {
+
+            return Collections.emptyList();
+        }
+
+        for (int index = 0; index < views.size(); index++) {
+
+            View view = views.get(index);
+
+            try {
+
+                jdbcTemplate.update(INSERT_VIEW_SQL, Date.valueOf(view.getViewCreationDate()), view.getViewNewsID(), view.getViewUserID());
+
+            } catch (DataIntegrityViolationException exception) {
+
+                droppedViews.increment();
+
+                logger.error("Dropped a view of news {} by user {}: {}", view.getViewNewsID(), view.getViewUserID(),
+                        exception.getMessage());
+
+                continue;
+
+            } catch (DataAccessException exception) {
+
+                logger.error("Could not write {} views: {}", views.size() - index, exception.getMessage());
+
+                return views.subList(index, views.size());
+            }
+
+            writtenViews.increment();
+        }
+
+        return Collections.emptyList();
+    }
+
+    /**
+     * Writes views with one JDBC batch insert.
+     *
+     * @param views The views to be written.
+     * @return True if the views were written, false if the insert failed.
+     */
+    private boolean writeBatch(List<View> views) {
+
+        try {
+
+            jdbcTemplate.batchUpdate(INSERT_VIEW_SQL, views, views.size(), (statement, view) -> {
+
+                statement.setDate(1, Date.valueOf(view.getViewCreationDate()));
+                statement.setInt(2, view.getViewNewsID());
+                statement.setInt(3, view.getViewUserID());
+            });
+
+        } catch (DataAccessException exception) {
+
+            failedBatches.increment();
+
+            logger.error("Could not write a batch of {} views: {}", views.size(), exception.getMessage());
+
+            return false;
+        }
+
+        writtenViews.add(views.size());
+        writtenBatches.increment();
+
+        return true;
+    }
+
+    /**
+     * Puts the views of a failed batch back in the queue to be retried on the next flush. Views that no longer fit are dropped.
+     */
+    private void requeue(List<View> views) {
+
+        for (View view : views) {
+
+            if (!queuedViews.offer(view)) {
+
+                droppedViews.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package erkamber.services.implementations;
+
+import erkamber.dtos.DailyViewCountDto;
+import erkamber.entities.DailyViewCount;
+import erkamber.exceptions.InvalidInputException;
+import erkamber.repositories.DailyViewCountRepository;
+import erkamber.repositories.ViewRepository;
+import erkamber.services.interfaces.UniqueReaderService;
+import erkamber.services.interfaces.ViewRecordingService;
+import erkamber.services.interfaces.ViewRollupService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Compacts the raw View rows into per-article daily counts and prunes the raw rows past a retention window.
+ * <p>
+ * Every night the views of the days that ended since the last run are rolled up into the daily_view_counts table,
+ * after the queued views have been written. The last few finished days are rolled up again on every run, so views
+ * written late, such as views queued just before midnight or retried after a database outage, are still counted.
+ * The daily counts are authoritative for every rolled-up day, and the raw rows only for the days after it, so date range
+ * counts and the trending window read the small rollup table for the past and the raw rows for today.
+ * Raw rows older than the retention window are deleted in batches once their days have been rolled up, and so are the
+ * unique reader sketches of the days no unique reader window reaches.
+ */
+@Service
+public class ViewRollupServiceImpl implements ViewRollupService {
+
+    private final Logger logger = LogManager.getLogger(ViewRollupServiceImpl.class);
+
+    private final DailyViewCountRepository dailyViewCountRepository;
+
+    private final ViewRepository viewRepository;
+
+    private final UniqueReaderService uniqueReaderService;
+
+    private final ViewRecordingService viewRecordingService;
+
+    private final int retentionDays;
+
+    private final int rerollDays;
+
+    private final int pruneBatchSize;
+
+    // Last day whose views are counted by the rollups instead of the raw rows, null before the first rollup
+    private volatile LocalDate lastRolledUpDate;
+
+    public ViewRollupServiceImpl(DailyViewCountRepository dailyViewCountRepository, ViewRepository viewRepository,
+                                 UniqueReaderService uniqueReaderService, ViewRecordingService viewRecordingService,
+                                 @Value("${newslinker.views.raw-retention-days:90}") int retentionDays,
+                                 @Value("${newslinker.views.rollup-reroll-days:2}") int rerollDays,
+                                 @Value("${newslinker.views.prune-batch-size:10000}") int pruneBatchSize) {
+
+        this.dailyViewCountRepository = dailyViewCountRepository;
+        this.viewRepository = viewRepository;
+        this.uniqueReaderService = uniqueReaderService;
+        this.viewRecordingService = viewRecordingService;
+        this.retentionDays = Math.max(1, retentionDays);
+        // Rerolled days must still have their raw rows
+        this.rerollDays = Math.max(1, Math.min(rerollDays, this.retentionDays));
+        this.pruneBatchSize = pruneBatchSize;
+    }
+
+    @PostConstruct
+    public void loadLastRolledUpDate() {
+
+        lastRolledUpDate = dailyViewCountRepository.findLastRolledUpDate().orElse(null);
+    }
+
+    /**
+     * Writes the queued views, rolls up the views of every finished day that was not rolled up yet and rolls up the
+     * trailing days again to count late views, then deletes the raw rows older than the
+     * retention window and the expired unique reader sketches. Runs every night and can be run again safely,
+     * since rolling up a day replaces its counts.
+     */
+    @Override
+    @Scheduled(cron = "${newslinker.views.rollup-cron:0 15 0 * * *}")
+    public synchronized void rollUpAndPruneViews() {
+
+        // Views recorded before midnight may still be queued
+        viewRecordingService.flushQueuedViews();
+
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        LocalDate firstRerolledDate = yesterday.minusDays(rerollDays - 1L);
+
+        Optional<LocalDate> firstUnrolledDate = lastRolledUpDate != null
+                ? Optional.of(lastRolledUpDate.plusDays(1).isBefore(firstRerolledDate) ? lastRolledUpDate.plusDays(1) : firstRerolledDate)
+                : viewRepository.findFirstViewCreationDate();
+
+        if (firstUnrolledDate.isPresent() && !firstUnrolledDate.get().isAfter(yesterday)) {
+
+            int rolledUpCounts = dailyViewCountRepository.rollUpViewsBetween(firstUnrolledDate.get(), yesterday);
+
+            logger.info("Rolled up {} daily view counts from {} to {}", rolledUpCounts, firstUnrolledDate.get(), yesterday);
+        }
+
+        if (lastRolledUpDate == null || lastRolledUpDate.isBefore(yesterday)) {
+
+            lastRolledUpDate = yesterday;
+        }
+
+        // The retention window is at least one day, so every day before the cutoff has been rolled up above
+        LocalDate cutoffDate = LocalDate.now().minusDays(retentionDays);
+
+        long prunedViews = 0;
+
+        int deletedViews;
+
+        do {
+
+            deletedViews = viewRepository.deleteViewsCreatedBefore(cutoffDate, pruneBatchSize);
+
+            prunedViews += deletedViews;
+
+        } while (deletedViews == pruneBatchSize);
+
+        logger.info("Pruned {} raw views created before {}", prunedViews, cutoffDate);
+
+        uniqueReaderService.pruneSketches();
+    }
+
+    /**
+     * Retrieves the number of views of a news article per day within a date range. Days without views are omitted.
+     *
+     * @param newsID    The ID of the news article.
+     * @param startDate The first day of the range.
+     * @param endDate   The last day of the range.
+     * @return The daily view counts of the article, ordered by day.
+     * @throws InvalidInputException If the start date is after the end date.
+     */
+    @Override
+    public List<DailyViewCountDto> getDailyViewCounts(int newsID, LocalDate startDate, LocalDate endDate) {
+
+        if (startDate.isAfter(endDate)) {
+
+            throw new InvalidInputException("Start date must not be after the end date");
+        }
+
+        LocalDate rolledUpDate = lastRolledUpDate;
+
+        Map<LocalDate, Long> viewCountsByDay = new TreeMap<>();
+
+        if (rolledUpDate != null && !startDate.isAfter(rolledUpDate)) {
+
+            LocalDate rolledUpEndDate = endDate.isAfter(rolledUpDate) ? rolledUpDate : endDate;
+
+            for (DailyViewCount dailyViewCount : dailyViewCountRepository
+                    .findDailyViewCountsByNewsIDAndViewDateBetweenOrderByViewDateAsc(newsID, startDate, rolledUpEndDate)) {
+
+                viewCountsByDay.put(dailyViewCount.getViewDate(), dailyViewCount.getViewCount());
+            }
+        }
+
+        LocalDate rawStartDate = rolledUpDate != null && !startDate.isAfter(rolledUpDate) ? rolledUpDate.plusDays(1) : startDate;
+
+        if (!rawStartDate.isAfter(endDate)) {
+
+            for (Object[] row : viewRepository.countViewsOfNewsGroupedByDay(newsID, rawStartDate, endDate)) {
+
+                viewCountsByDay.put((LocalDate) row[0], (Long) row[1]);
+            }
+        }
+
+        List<DailyViewCountDto> dailyViewCounts = new ArrayList<>(viewCountsByDay.size());
+
+        viewCountsByDay.forEach((day, viewCount) -> {
+
+            if (viewCount > 0) {
+
+                dailyViewCounts.add(new DailyViewCountDto(day, viewCount));
+            }
+        });
+
+        return dailyViewCounts;
+    }
+
+    /**
+     * Counts the views per news article and day since a date, from the rollups for rolled-up days and from the raw rows after them.
+     *
+     * @param startDate The first day to be counted.
+     * @return Rows of news ID, day and number of views.
+     */
+    @Override
+    public List<Object[]> countViewsGroupedByNewsIDAndDay(LocalDate startDate) {
+
+        LocalDate rolledUpDate = lastRolledUpDate;
+
+        if (rolledUpDate == null || startDate.isAfter(rolledUpDate)) {
+
+            return viewRepository.countViewsGroupedByNewsIDAndDay(startDate);
+        }
+
+        List<Object[]> viewCounts = new ArrayList<>(dailyViewCountRepository.findViewCountsGroupedByNewsIDAndDay(startDate));
+
+        viewCounts.addAll(viewRepository.countViewsGroupedByNewsIDAndDay(rolledUpDate.plusDays(1)));
+
+        return viewCounts;
+    }
+
+    /**
+     * Subtracts deleted views from the rollup of their day, if that day has already been rolled up.
+     *
+     * @param newsID        The ID of the news article of the deleted views.
+     * @param viewDate      The day of the deleted views.
+     * @param numberOfViews The number of deleted views.
+     */
+    @Override
+    public void removeViews(int newsID, LocalDate viewDate, long numberOfViews) {
+
+        LocalDate rolledUpDate = lastRolledUpDate;
+
+        if (rolledUpDate != null && !viewDate.isAfter(rolledUpDate)) {
+
+            dailyViewCountRepository.subtractViews(newsID, viewDate, numberOfViews);
+        }
+    }
+
+    /**
+     * Deletes the rollups of deleted news articles with a single statement.
+     *
+     * @param newsIDs The IDs of the news articles.
+     */
+    @Override
+    public void removeNews(Collection<Integer> newsIDs) {
+
+        if (!newsIDs.isEmpty()) {
+
+            dailyViewCountRepository.deleteDailyViewCountsOfNews(newsIDs);
+        }
+    }
+}
@@ -1,23 +1,33 @@
 package erkamber.services.implementations;
 
-import erkamber.dtos.UserDto;
+import erkamber.configurations.PaginationConfiguration;
+import erkamber.dtos.AuthorSummaryDto;
+import erkamber.dtos.CursorPageDto;
+import erkamber.dtos.DailyViewCountDto;
 import erkamber.dtos.ViewDetailedDto;
 import erkamber.dtos.ViewDto;
 import erkamber.entities.News;
 import erkamber.entities.View;
 import erkamber.exceptions.ResourceNotFoundException;
+import erkamber.mappers.CursorMapper;
 import erkamber.mappers.NewsMapper;
 import erkamber.mappers.ViewMapper;
 import erkamber.repositories.NewsRepository;
 import erkamber.repositories.ViewRepository;
+import erkamber.services.interfaces.TrendingNewsService;
+import erkamber.services.interfaces.UniqueReaderService;
 import erkamber.services.interfaces.UserService;
+import erkamber.services.interfaces.ViewCountService;
+import erkamber.services.interfaces.ViewDeduplicationService;
+import erkamber.services.interfaces.ViewRecordingService;
+import erkamber.services.interfaces.ViewRollupService;
 import erkamber.services.interfaces.ViewService;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -33,14 +43,42 @@ public class ViewServiceImpl implements ViewService {
 
     private final NewsMapper newsMapper;
 
+    private final CursorMapper cursorMapper;
+
+    private final PaginationConfiguration paginationConfiguration;
+
+    private final ViewCountService viewCountService;
+
+    private final TrendingNewsService trendingNewsService;
+
+    private final ViewRecordingService viewRecordingService;
+
+    private final ViewDeduplicationService viewDeduplicationService;
+
+    private final UniqueReaderService uniqueReaderService;
+
+    private final ViewRollupService viewRollupService;
+
     public ViewServiceImpl(ViewMapper viewMapper, ViewRepository viewRepository, UserService userService,
-                           NewsRepository newsRepository, NewsMapper newsMapper) {
+                           NewsRepository newsRepository, NewsMapper newsMapper, CursorMapper cursorMapper,
+                           PaginationConfiguration paginationConfiguration, ViewCountService viewCountService,
+                           TrendingNewsService trendingNewsService, ViewRecordingService viewRecordingService,
+                           ViewDeduplicationService viewDeduplicationService, UniqueReaderService uniqueReaderService,
+                           ViewRollupService viewRollupService) {
 
         this.viewMapper = viewMapper;
         this.viewRepository = viewRepository;
         this.userService = userService;
         this.newsRepository = newsRepository;
         this.newsMapper = newsMapper;
+        this.cursorMapper = cursorMapper;
+        this.paginationConfiguration = paginationConfiguration;
+        this.viewCountService = viewCountService;
+        this.trendingNewsService = trendingNewsService;
+        this.viewRecordingService = viewRecordingService;
+        this.viewDeduplicationService = viewDeduplicationService;
+        this.uniqueReaderService = uniqueReaderService;
+        this.viewRollupService = viewRollupService;
     }
 
     /**
@@ -56,6 +94,12 @@ public class ViewServiceImpl implements ViewService {
                 .orElseThrow(() -> new ResourceNotFoundException("View with that ID, could not be found", "View"));
 
         viewRepository.deleteById(viewID);
+
+        viewCountService.decrementViewCount(view.getViewNewsID(), 1);
+
+        trendingNewsService.removeViews(view.getViewNewsID(), view.getViewCreationDate(), 1);
+
+        viewRollupService.removeViews(view.getViewNewsID(), view.getViewCreationDate(), 1);
     }
 
     /**
@@ -66,9 +110,22 @@ public class ViewServiceImpl implements ViewService {
     @Override
     public void deleteViewsByUserID(int userID) {
 
-        List<View> viewsByUserID = viewRepository.findViewByViewUserID(userID);
+        List<View> queuedViews = viewRecordingService.removeQueuedViewsOfUser(userID);
+
+        // Count the stored views per article and day before deleting them with a single statement
+        List<Object[]> storedViewCounts = viewRepository.countViewsOfUserGroupedByNewsIDAndDay(userID);
+
+        viewRepository.deleteViewsByUserID(userID);
+
+        for (View view : queuedViews) {
+
+            removeDeletedViews(view.getViewNewsID(), view.getViewCreationDate(), 1);
+        }
+
+        for (Object[] storedViewCount : storedViewCounts) {
 
-        viewRepository.deleteAll(viewsByUserID);
+            removeDeletedViews((Integer) storedViewCount[0], (LocalDate) storedViewCount[1], (Long) storedViewCount[2]);
+        }
     }
 
     /**
@@ -79,9 +136,26 @@ public class ViewServiceImpl implements ViewService {
     @Override
     public void deleteViewsByNewsID(int newsID) {
 
-        List<View> viewsByNewsID = viewRepository.findViewByViewNewsID(newsID);
+        List<Integer> newsIDs = Collections.singletonList(newsID);
+
+        viewRecordingService.removeQueuedViewsOfNews(newsIDs);
+
+        viewRepository.deleteViewsByNewsIDs(newsIDs);
+
+        viewCountService.deleteViewCounts(newsIDs);
+
+        trendingNewsService.removeNews(newsID);
+
+        viewRollupService.removeNews(newsIDs);
+    }
+
+    private void removeDeletedViews(int newsID, LocalDate viewDate, long numberOfViews) {
+
+        viewCountService.decrementViewCount(newsID, numberOfViews);
+
+        trendingNewsService.removeViews(newsID, viewDate, numberOfViews);
 
-        viewRepository.deleteAll(viewsByNewsID);
+        viewRollupService.removeViews(newsID, viewDate, numberOfViews);
     }
 
     /**
@@ -99,11 +173,64 @@ public class ViewServiceImpl implements ViewService {
 
         viewRepository.save(newView);
 
+        viewCountService.incrementViewCount(newView.getViewNewsID());
+
+        trendingNewsService.recordView(newView.getViewNewsID(), newView.getViewCreationDate());
+
         return newView.getViewID();
     }
 
     /**
-     * Retrieves the number of Views associated with a specific news article ID.
+     * Records that a user has read a news article, without waiting for the View row to be written.
+     * Only the first view of the article by the user on a day is recorded, repeated reads of the same day are ignored.
+     * The view counters are updated at once, while the row is queued and written by the batched view recorder.
+     * A view the recorder rejects because its queue is full is not counted either, so the counters match the View rows.
+     *
+     * @param newsID     The ID of the viewed news article.
+     * @param reporterID The ID of the reporter of the viewed news article.
+     * @param userID     The ID of the user viewing the article.
+     */
+    @Override
+    public void recordNewsView(int newsID, int reporterID, int userID) {
+
+        View newView = new View(LocalDate.now(), newsID, userID);
+
+        // Adding a reader again leaves the sketches unchanged, so they do not depend on the deduplication below
+        uniqueReaderService.recordReader(newsID, reporterID, userID, newView.getViewCreationDate());
+
+        if (!viewDeduplicationService.markViewed(userID, newsID, newView.getViewCreationDate())) {
+
+            return;
+        }
+
+        if (!viewRecordingService.recordView(newView)) {
+
+            return;
+        }
+
+        viewCountService.incrementViewCount(newsID);
+
+        trendingNewsService.recordView(newsID, newView.getViewCreationDate());
+    }
+
+    /**
+     * Retrieves the number of Views of a news article per day within a date range, from the daily rollups for days
+     * that have been rolled up and from the raw Views for the days after them.
+     *
+     * @param newsID    The ID of the news article.
+     * @param startDate The first day of the range.
+     * @param endDate   The last day of the range.
+     * @return The daily view counts of the article, ordered by day. Days without views are omitted.
+     * @throws erkamber.exceptions.InvalidInputException If the start date is after the end date.
+     */
+    @Override
+    public List<DailyViewCountDto> getDailyViewCountsOfNews(int newsID, LocalDate startDate, LocalDate endDate) {
+
+        return viewRollupService.getDailyViewCounts(newsID, startDate, endDate);
+    }
+
+    /**
+     * Retrieves the number of Views associated with a specific news article ID from the maintained view counter.
      *
      * @param newsID The ID of the news article for which the number of Views will be retrieved.
      * @return The number of Views associated with the specified news article.
@@ -111,9 +238,7 @@ public class ViewServiceImpl implements ViewService {
     @Override
     public int getNumberOfViewsOfNews(int newsID) {
 
-        List<View> viewsByNewsID = viewRepository.findViewByViewNewsID(newsID);
-
-        return viewsByNewsID.size();
+        return viewCountService.getViewCount(newsID);
     }
 
     /**
@@ -133,16 +258,22 @@ public class ViewServiceImpl implements ViewService {
     }
 
     /**
-     * Retrieves a list of detailed DTOs (Data Transfer Objects) representing all Views.
+     * Retrieves a page of detailed DTOs (Data Transfer Objects) representing all Views, ordered by view ID.
      *
-     * @return A list of detailed DTOs representing all Views.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The requested page size, or null for the default page size.
+     * @return A page of detailed DTOs representing Views, with the cursor of the next page.
+     * @throws erkamber.exceptions.InvalidInputException If the provided cursor is invalid.
      */
     @Override
-    public List<ViewDetailedDto> getAllViews() {
+    public CursorPageDto<ViewDetailedDto> getAllViews(String cursor, Integer pageSize) {
+
+        int resolvedPageSize = paginationConfiguration.getPageSize(pageSize);
 
-        List<View> listOfAllViews = viewRepository.findAll();
+        List<View> listOfViews = viewRepository.findViewByViewIDGreaterThanOrderByViewIDAsc(cursorMapper.mapCursorToID(cursor),
+                cursorMapper.mapToPageable(resolvedPageSize));
 
-        return convertListOfViewToViewDetailedDto(listOfAllViews);
+        return cursorMapper.mapToCursorPage(listOfViews, resolvedPageSize, View::getViewID, this::convertListOfViewToViewDetailedDto);
     }
 
     /**
@@ -220,6 +351,7 @@ public class ViewServiceImpl implements ViewService {
 
     /**
      * Converts a list of View entities to a list of detailed DTOs (Data Transfer Objects).
+     * The viewers and the viewed news of the whole list are resolved with one query each.
      *
      * @param listOfViews The list of View entities to be converted.
      * @return A list of detailed DTOs representing the given list of Views.
@@ -228,9 +360,25 @@ public class ViewServiceImpl implements ViewService {
 
         List<ViewDetailedDto> allViewsAsDetailedDto = new ArrayList<>();
 
+        Map<Integer, AuthorSummaryDto> usersByID = userService.getAuthorSummariesByIDs(listOfViews.stream()
+                .map(View::getViewUserID)
+                .collect(Collectors.toSet()));
+
+        Map<Integer, News> newsByID = newsRepository.findAllById(listOfViews.stream()
+                        .map(View::getViewNewsID)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(News::getNewsID, Function.identity()));
+
         for (View view : listOfViews) {
 
-            allViewsAsDetailedDto.add(fetchViewDetailedDtoData(view));
+            News viewedNews = newsByID.get(view.getViewNewsID());
+
+            if (viewedNews == null) {
+
+                throw new ResourceNotFoundException("News not Found: " + view.getViewNewsID(), "News");
+            }
+
+            allViewsAsDetailedDto.add(mapToViewDetailedDto(view, viewedNews, usersByID.get(view.getViewUserID())));
         }
 
         return allViewsAsDetailedDto;
@@ -245,15 +393,20 @@ public class ViewServiceImpl implements ViewService {
      */
     private ViewDetailedDto fetchViewDetailedDtoData(View view) {
 
-        UserDto userDto = userService.getUserByID(view.getViewUserID());
+        AuthorSummaryDto viewer = userService.getAuthorSummaryByID(view.getViewUserID());
 
         Optional<News> news = newsRepository.findById(view.getViewNewsID());
 
         News searchedNews = news.orElseThrow(() ->
                 new ResourceNotFoundException("News not Found: " + view.getViewNewsID(), "News"));
 
+        return mapToViewDetailedDto(view, searchedNews, viewer);
+    }
+
+    private ViewDetailedDto mapToViewDetailedDto(View view, News viewedNews, AuthorSummaryDto viewer) {
+
         ViewDto viewDto = viewMapper.mapViewToViewDto(view);
 
-        return viewMapper.mapToViewDetailedDto(viewDto, newsMapper.mapNewsToNewsDto(searchedNews), userDto);
+        return viewMapper.mapToViewDetailedDto(viewDto, newsMapper.mapNewsToNewsDto(viewedNews), viewer);
     }
 }
@@ -1,10 +1,18 @@
 package erkamber.services.implementations;
 
+import erkamber.configurations.PaginationConfiguration;
+import erkamber.dtos.CursorPageDto;
 import erkamber.dtos.VoteDto;
 import erkamber.entities.Vote;
+import erkamber.enums.VoteToggleOutcome;
+import erkamber.enums.VoteTypeComment;
+import erkamber.enums.VoteTypeNews;
 import erkamber.exceptions.InvalidInputException;
 import erkamber.exceptions.ResourceNotFoundException;
+import erkamber.mappers.CursorMapper;
 import erkamber.mappers.VoteMapper;
+import erkamber.repositories.CommentRepository;
+import erkamber.repositories.NewsRepository;
 import erkamber.repositories.VoteRepository;
 import erkamber.services.interfaces.VoteService;
 import erkamber.validations.VoteValidation;
@@ -12,8 +20,9 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
 
 @Service
 public class VoteServiceImpl implements VoteService {
@@ -29,22 +38,38 @@ public class VoteServiceImpl implements VoteService {
     @Lazy
     private final NewsServiceImpl newsService;
 
+    private final CursorMapper cursorMapper;
+
+    private final PaginationConfiguration paginationConfiguration;
+
+    private final NewsRepository newsRepository;
+
+    private final CommentRepository commentRepository;
+
     public VoteServiceImpl(VoteRepository voteRepository, VoteMapper voteMapper,
-                           VoteValidation voteValidation, CommentServiceImpl commentService, NewsServiceImpl newsService) {
+                           VoteValidation voteValidation, CommentServiceImpl commentService, NewsServiceImpl newsService,
+                           CursorMapper cursorMapper, PaginationConfiguration paginationConfiguration,
+                           NewsRepository newsRepository, CommentRepository commentRepository) {
 
         this.voteRepository = voteRepository;
         this.voteMapper = voteMapper;
         this.voteValidation = voteValidation;
         this.commentService = commentService;
         this.newsService = newsService;
+        this.cursorMapper = cursorMapper;
+        this.paginationConfiguration = paginationConfiguration;
+        this.newsRepository = newsRepository;
+        this.commentRepository = commentRepository;
     }
 
     /**
-     * Adds a new vote based on the provided VoteDto.
+     * Adds a new vote based on the provided VoteDto. Voting again in the same direction removes the vote,
+     * and voting in the other direction swaps it. The vote row is resolved with a single statement on the
+     * unique (user, content, type) index, so the cost does not depend on how many votes the user has cast.
      *
      * @param newVoteDto The VoteDto containing information about the new vote.
-     * @return The result of handling the new vote, which may include updating an existing vote.
-     * @throws IllegalArgumentException If the voted content type is incorrect.
+     * @return The ID of the added or swapped vote, or 0 if the vote was removed.
+     * @throws InvalidInputException If the voted content type is incorrect.
      */
     @Override
     @Transactional
@@ -52,36 +77,47 @@ public class VoteServiceImpl implements VoteService {
 
         isVotedContentTypeCorrect(newVoteDto.getVotedContentType());
 
-        Vote pastVote = hasVotedBefore(newVoteDto.getUserID(), newVoteDto.getVotedContentID(), newVoteDto.getVotedContentType());
+        String votedContentType = newVoteDto.getVotedContentType().toLowerCase(Locale.ROOT);
 
-        if (pastVote == null) {
+        List<Object[]> toggleResult = voteRepository.toggleVote(newVoteDto.getUserID(), newVoteDto.getVotedContentID(),
+                votedContentType, newVoteDto.isUpVote());
 
-            return handleNewVote(newVoteDto);
+        // No row means a concurrent request inserted the same vote first, so this request changes nothing
+        if (toggleResult.isEmpty()) {
 
-        } else {
-
-            return handleNotNewVote(pastVote, newVoteDto);
+            return 0;
         }
+
+        VoteToggleOutcome outcome = VoteToggleOutcome.valueOf((String) toggleResult.get(0)[0]);
+
+        int voteID = ((Number) toggleResult.get(0)[1]).intValue();
+
+        updateVotedContentCounters(outcome, votedContentType, newVoteDto.getVotedContentID(), newVoteDto.isUpVote());
+
+        return outcome == VoteToggleOutcome.REMOVED ? 0 : voteID;
     }
 
     /**
-     * Deletes all votes associated with a specific user ID.
+     * Deletes all votes associated with a specific user ID. The votes are taken off the counters of the voted
+     * news articles and comments, and then deleted, with one statement each in a single transaction.
      *
      * @param userID The ID of the user whose votes will be deleted.
      * @throws ResourceNotFoundException If the user has no votes or does not exist.
      */
     @Override
+    @Transactional
     public void deleteVotesUserID(int userID) {
 
-        List<Vote> voteListByUserID = voteRepository.getVoteByUserID(userID);
+        voteRepository.subtractNewsVotesOfUser(userID);
 
-        validateVoteList(voteListByUserID);
+        voteRepository.subtractCommentVotesOfUser(userID);
 
-        voteRepository.deleteAll(voteListByUserID);
+        validateNumberOfDeletedVotes(voteRepository.deleteVotesByUserID(userID));
     }
 
     /**
-     * Deletes all votes of a specific content type associated with a given user ID.
+     * Deletes all votes of a specific content type associated with a given user ID. The votes are taken off the
+     * counters of the voted content, and then deleted, with one statement each in a single transaction.
      *
      * @param votedContentType The type of content for which votes will be deleted.
      * @param userID           The ID of the user whose votes will be deleted.
@@ -89,21 +125,28 @@ public class VoteServiceImpl implements VoteService {
      * @throws ResourceNotFoundException If the user has no votes or does not exist.
      */
     @Override
+    @Transactional
     public void deleteAllVotesByContentTypeAndUserID(String votedContentType, int userID) {
 
         isVotedContentTypeCorrect(votedContentType);
 
-        List<Vote> voteListByUserID = voteRepository.getVoteByUserID(userID);
+        String contentType = votedContentType.toLowerCase(Locale.ROOT);
+
+        if (contentType.equals(VoteTypeComment.COMMENT.getType())) {
+
+            voteRepository.subtractCommentVotesOfUser(userID);
 
-        voteListByUserID.removeIf(vote -> !vote.getVotedContentType().equalsIgnoreCase(votedContentType));
+        } else {
 
-        validateVoteList(voteListByUserID);
+            voteRepository.subtractNewsVotesOfUser(userID);
+        }
 
-        voteRepository.deleteAll(voteListByUserID);
+        validateNumberOfDeletedVotes(voteRepository.deleteVotesByUserIDAndContentType(userID, contentType));
     }
 
     /**
-     * Deletes all votes of a specific content type associated with a given voted content ID.
+     * Deletes all votes of a specific content type associated with a given voted content ID. The votes are counted,
+     * deleted with a single statement and taken off the counters of the content, in one transaction.
      *
      * @param votedContentType The type of content for which votes will be deleted.
      * @param votedContentID   The ID of the content for which votes will be deleted.
@@ -111,102 +154,84 @@ public class VoteServiceImpl implements VoteService {
      * @throws ResourceNotFoundException If there are no votes for the specified content or the content does not exist.
      */
     @Override
+    @Transactional
     public void deleteAllVotesByContentTypeAndVotedContentID(String votedContentType, int votedContentID) {
 
         isVotedContentTypeCorrect(votedContentType);
 
-        List<Vote> voteListByUserID = voteRepository.getVoteByVotedContentID(votedContentID);
-
-        voteListByUserID.removeIf(vote -> !vote.getVotedContentType().equalsIgnoreCase(votedContentType));
-
-        validateVoteList(voteListByUserID);
-
-        voteRepository.deleteAll(voteListByUserID);
-    }
-
-    /**
-     * Handles updating an existing vote based on the provided pastVote and voteDto.
-     *
-     * @param pastVote   The previous vote associated with the content.
-     * @param newVoteDto The VoteDto containing information about the updated vote.
-     * @return The ID of the updated vote, if applicable.
-     */
-    @Transactional
-    int handleNotNewVote(Vote pastVote, VoteDto newVoteDto) {
+        String contentType = votedContentType.toLowerCase(Locale.ROOT);
 
-        if (pastVote.isUpVote() == newVoteDto.isUpVote()) {
+        Object[] votesOfContent = voteRepository.countUpVotesAndDownVotesOfContent(votedContentID, contentType).get(0);
 
-            if (pastVote.getVotedContentType().equalsIgnoreCase("comment")) {
+        int upVotes = ((Number) votesOfContent[0]).intValue();
 
-                commentService.updateCommentVoteByRemovingVote(newVoteDto.getVotedContentID(), newVoteDto.isUpVote());
+        int downVotes = ((Number) votesOfContent[1]).intValue();
 
-            } else if (pastVote.getVotedContentType().equalsIgnoreCase("news")) {
+        validateNumberOfDeletedVotes(voteRepository.deleteVotesByContentTypeAndContentIDs(contentType,
+                Collections.singletonList(votedContentID)));
 
-                newsService.updateNewsVoteByRemovingVote(newVoteDto.getVotedContentID(), newVoteDto.isUpVote());
-            }
+        if (contentType.equals(VoteTypeComment.COMMENT.getType())) {
 
-            voteRepository.deleteById(pastVote.getVoteID());
+            commentRepository.updateCommentVotes(votedContentID, -upVotes, -downVotes);
 
         } else {
 
-            if (pastVote.getVotedContentType().equalsIgnoreCase("comment")) {
-
-                commentService.updateCommentVoteBySwappingVotes(newVoteDto.getVotedContentID(), newVoteDto.isUpVote());
-
-            } else if (pastVote.getVotedContentType().equalsIgnoreCase("news")) {
-
-                newsService.updateNewsVoteBySwappingVotes(newVoteDto.getVotedContentID(), newVoteDto.isUpVote());
-            }
-
-            pastVote.setUpVote(newVoteDto.isUpVote());
-
-            voteRepository.save(pastVote);
-
-            return newVoteDto.getVoteID();
+            newsRepository.updateNewsVotes(votedContentID, -upVotes, -downVotes);
         }
-
-        return 0;
     }
 
     /**
-     * Handles adding a new vote based on the provided VoteDto.
+     * Updates the vote counters of the voted news article or comment after a vote was added, removed or swapped.
      *
-     * @param voteDto The VoteDto containing information about the new vote.
-     * @return The ID of the newly added vote.
+     * @param outcome          The outcome of the vote.
+     * @param votedContentType The type of the voted content.
+     * @param votedContentID   The ID of the voted content.
+     * @param isUpVote         Whether the new vote is an upvote.
      */
-    @Transactional
-    int handleNewVote(VoteDto voteDto) {
-
-        Vote newVote = voteMapper.mapVoteDtoToVote(voteDto);
+    private void updateVotedContentCounters(VoteToggleOutcome outcome, String votedContentType, int votedContentID, boolean isUpVote) {
 
-        if (voteDto.isUpVote()) {
+        boolean isComment = votedContentType.equals(VoteTypeComment.COMMENT.getType());
 
-            if (voteDto.getVotedContentType().equalsIgnoreCase("comment")) {
+        switch (outcome) {
 
-                commentService.addCommentUpVote(voteDto.getVotedContentID());
+            case ADDED:
 
-            } else if (voteDto.getVotedContentType().equalsIgnoreCase("news")) {
+                if (isComment) {
 
-                newsService.addNewsNewUpVote(voteDto.getVotedContentID());
-            }
+                    if (isUpVote) {
+                        commentService.addCommentUpVote(votedContentID);
+                    } else {
+                        commentService.addCommentDownVote(votedContentID);
+                    }
 
-        } else {
-
-            if (voteDto.getVotedContentType().equalsIgnoreCase("comment")) {
+                } else if (isUpVote) {
+                    newsService.addNewsNewUpVote(votedContentID);
+                } else {
+                    newsService.addNewsNewDownVote(votedContentID);
+                }
+                break;
 
-                commentService.addCommentDownVote(voteDto.getVotedContentID());
+            case REMOVED:
 
-            } else if (voteDto.getVotedContentType().equalsIgnoreCase("news")) {
+                if (isComment) {
+                    commentService.updateCommentVoteByRemovingVote(votedContentID, isUpVote);
+                } else {
+                    newsService.updateNewsVoteByRemovingVote(votedContentID, isUpVote);
+                }
+                break;
 
-                newsService.addNewsNewDownVote(voteDto.getVotedContentID());
-            }
+            case SWAPPED:
 
+                if (isComment) {
+                    commentService.updateCommentVoteBySwappingVotes(votedContentID, isUpVote);
+                } else {
+                    newsService.updateNewsVoteBySwappingVotes(votedContentID, isUpVote);
+                }
+                break;
 
+            default:
+                break;
         }
-
-        voteRepository.save(newVote);
-
-        return newVote.getVoteID();
     }
 
     /**
@@ -292,19 +317,53 @@ public class VoteServiceImpl implements VoteService {
     }
 
     /**
-     * Retrieves a list of all VoteDtos representing all votes.
+     * Retrieves a page of VoteDtos representing all votes, ordered by vote ID.
      *
-     * @return A list of VoteDtos representing all votes.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The requested page size, or null for the default page size.
+     * @return A page of VoteDtos with the cursor of the next page.
      * @throws ResourceNotFoundException If there are no votes.
+     * @throws InvalidInputException     If the provided cursor is invalid.
+     */
+    @Override
+    public CursorPageDto<VoteDto> getAllVotes(String cursor, Integer pageSize) {
+
+        int lastVoteID = cursorMapper.mapCursorToID(cursor);
+
+        int resolvedPageSize = paginationConfiguration.getPageSize(pageSize);
+
+        List<Vote> listOfVotes = voteRepository.getVoteByVoteIDGreaterThanOrderByVoteIDAsc(lastVoteID,
+                cursorMapper.mapToPageable(resolvedPageSize));
+
+        // An empty first page means there are no votes at all
+        if (lastVoteID == 0) {
+
+            validateVoteList(listOfVotes);
+        }
+
+        return cursorMapper.mapToCursorPage(listOfVotes, resolvedPageSize, Vote::getVoteID, voteMapper::mapListOfVoteToMVoteDto);
+    }
+
+    /**
+     * Retrieves a page of VoteDtos representing the votes of a news article, ordered by vote ID.
+     *
+     * @param newsID   The ID of the news article.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param pageSize The requested page size, or null for the default page size.
+     * @return A page of VoteDtos with the cursor of the next page, empty if the article has no votes.
+     * @throws InvalidInputException If the provided cursor is invalid.
      */
     @Override
-    public List<VoteDto> getAllVotes() {
+    public CursorPageDto<VoteDto> getVotesByNewsID(int newsID, String cursor, Integer pageSize) {
+
+        int lastVoteID = cursorMapper.mapCursorToID(cursor);
 
-        List<Vote> listOfAllVotes = voteRepository.findAll();
+        int resolvedPageSize = paginationConfiguration.getPageSize(pageSize);
 
-        validateVoteList(listOfAllVotes);
+        List<Vote> listOfVotes = voteRepository.getVoteByVotedContentIDAndVotedContentTypeAndVoteIDGreaterThanOrderByVoteIDAsc(newsID,
+                VoteTypeNews.NEWS.getType(), lastVoteID, cursorMapper.mapToPageable(resolvedPageSize));
 
-        return voteMapper.mapListOfVoteToMVoteDto(listOfAllVotes);
+        return cursorMapper.mapToCursorPage(listOfVotes, resolvedPageSize, Vote::getVoteID, voteMapper::mapListOfVoteToMVoteDto);
     }
 
     /**
@@ -371,21 +430,16 @@ public class VoteServiceImpl implements VoteService {
     }
 
     /**
-     * Checks if a user has voted for a specific content before.
+     * Validates whether a set-based delete removed any votes.
      *
-     * @param userID         The ID of the user to check for previous votes.
-     * @param votedContentID The ID of the content to check for previous votes.
-     * @param contentType    The type of content to check for previous votes.
-     * @return The previous vote by the user for the specified content, if any; otherwise, null.
+     * @param numberOfDeletedVotes The number of votes removed by the delete statement.
+     * @throws ResourceNotFoundException If no votes were removed.
      */
-    private Vote hasVotedBefore(int userID, int votedContentID, String contentType) {
+    private void validateNumberOfDeletedVotes(int numberOfDeletedVotes) {
 
-        List<Vote> votesByUser = voteRepository.getVoteByUserID(userID);
+        if (numberOfDeletedVotes == 0) {
 
-        Optional<Vote> foundVote = votesByUser.stream()
-                .filter(vote -> vote.getVotedContentID() == votedContentID && vote.getVotedContentType().equalsIgnoreCase(contentType))
-                .findFirst();
-
-        return foundVote.orElse(null);
+            throw new ResourceNotFoundException("Votes not Found", "Vote");
+        }
     }
 }
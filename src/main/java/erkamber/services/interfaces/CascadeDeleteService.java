@@ -0,0 +1,18 @@
+package erkamber.services.interfaces;
+
+import erkamber.dtos.CascadeDeleteMetricsDto;
+
+public interface CascadeDeleteService {
+
+    void deleteNews(int newsID);
+
+    void deleteNewsOfAuthor(int authorID);
+
+    void deleteNewsOfAuthorInBackground(int authorID);
+
+    void deleteUser(int userID);
+
+    void deleteUserInBackground(int userID);
+
+    CascadeDeleteMetricsDto getMetrics();
+}
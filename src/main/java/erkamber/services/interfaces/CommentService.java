@@ -2,6 +2,7 @@ package erkamber.services.interfaces;
 
 import erkamber.dtos.CommentDetailedDto;
 import erkamber.dtos.CommentDto;
+import erkamber.dtos.CursorPageDto;
 
 import javax.mail.MessagingException;
 import java.time.LocalDate;
@@ -25,11 +26,13 @@ public interface CommentService {
 
     List<CommentDetailedDto> getCommentsByNewsID(int newsID);
 
-    List<CommentDetailedDto> getCommentsByNewsIDAndIDCreationDate(int newsID, LocalDate creationDate);
+    CursorPageDto<CommentDetailedDto> getCommentsByNewsIDAndIDCreationDate(int newsID, LocalDate creationDate, String cursor, Integer pageSize);
 
     List<CommentDetailedDto> getCommentsByNewsIDAndCreationDateBefore(int newsID, LocalDate creationDate);
 
     List<CommentDetailedDto> getCommentsByNewsIDAndCreationDateAfter(int newsID, LocalDate creationDate);
 
-    List<CommentDetailedDto> getAllComments();
+    CursorPageDto<CommentDetailedDto> getAllComments(String cursor, Integer pageSize);
+
+    CursorPageDto<CommentDetailedDto> getCommentsByContainingWord(String word, String cursor, Integer pageSize);
 }
@@ -0,0 +1,16 @@
+package erkamber.services.interfaces;
+
+public interface ContentIndexService {
+
+    void indexComment(int commentID, String commentContent);
+
+    void removeComment(int commentID);
+
+    int[] findCommentCandidateIDs(String substring);
+
+    void indexFeedback(int feedbackID, String feedbackContent);
+
+    void removeFeedback(int feedbackID);
+
+    int[] findFeedbackCandidateIDs(String substring);
+}
@@ -1,5 +1,6 @@
 package erkamber.services.interfaces;
 
+import erkamber.dtos.CursorPageDto;
 import erkamber.dtos.FeedbackDto;
 
 import java.time.LocalDate;
@@ -17,7 +18,7 @@ public interface FeedbackService {
 
     FeedbackDto getFeedbackById(int feedbackId);
 
-    List<FeedbackDto> getAllFeedbacks();
+    CursorPageDto<FeedbackDto> getAllFeedbacks(String cursor, Integer pageSize);
 
     List<FeedbackDto> getFeedbacksByAuthorID(int authorID);
 
@@ -27,5 +28,5 @@ public interface FeedbackService {
 
     List<FeedbackDto> getFeedbackOnCreationDate(LocalDate creationDate);
 
-    List<FeedbackDto> getFeedbackByContainingWord(String word);
+    CursorPageDto<FeedbackDto> getFeedbackByContainingWord(String word, String cursor, Integer pageSize);
 }
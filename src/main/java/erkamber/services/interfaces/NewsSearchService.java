@@ -0,0 +1,12 @@
+package erkamber.services.interfaces;
+
+import java.util.List;
+
+public interface NewsSearchService {
+
+    void scheduleIndexing(int newsID);
+
+    int rebuildIndex();
+
+    List<Integer> searchNewsIDs(String query, int offset, int limit);
+}
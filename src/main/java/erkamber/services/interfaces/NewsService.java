@@ -1,5 +1,6 @@
 package erkamber.services.interfaces;
 
+import erkamber.dtos.CursorPageDto;
 import erkamber.dtos.NewsDetailedDto;
 import erkamber.dtos.NewsDto;
 
@@ -18,18 +19,24 @@ public interface NewsService {
 
     void deleteNewsByAuthorID(int authorID);
 
+    void deleteNewsByAuthorIDInBackground(int authorID);
+
     NewsDto getNewsByNewsID(int newsID);
 
     NewsDetailedDto getNewsDetailedByNewsID(int newsID);
 
     NewsDetailedDto getNewsAsLoggedUser(int userID, int newsID);
 
-    List<NewsDetailedDto> getAllNews();
+    CursorPageDto<NewsDetailedDto> getAllNews(String cursor, Integer pageSize);
 
     List<NewsDetailedDto> findNewsByUserID(int userID);
 
     List<NewsDetailedDto> findNewsByNewsTitle(String newsTitle);
 
+    CursorPageDto<NewsDetailedDto> searchNews(String query, String cursor, Integer pageSize);
+
+    int rebuildSearchIndex();
+
     List<NewsDetailedDto> findNewsByCreationDateBefore(LocalDate beforeDate);
 
     List<NewsDetailedDto> findNewsByCreationDateAfter(LocalDate afterDate);
@@ -1,5 +1,7 @@
 package erkamber.services.interfaces;
 
+import erkamber.dtos.CursorPageDto;
+import erkamber.dtos.NewsDetailedDto;
 import erkamber.dtos.NewsTagDetailedDto;
 import erkamber.dtos.NewsTagDto;
 import erkamber.requests.NewsTagDtoResponse;
@@ -25,4 +27,7 @@ public interface NewsTagService {
     List<NewsTagDetailedDto> getNewsOfTag(int tagID);
 
     List<NewsTagDetailedDto> getAllNewsTags();
+
+    CursorPageDto<NewsDetailedDto> findNewsByTags(List<Integer> allTagIDs, List<Integer> anyTagIDs, List<Integer> notTagIDs,
+                                                  String cursor, Integer pageSize);
 }
@@ -0,0 +1,12 @@
+package erkamber.services.interfaces;
+
+import erkamber.dtos.PasswordHashingMetricsDto;
+
+public interface PasswordHashingService {
+
+    String encode(String rawPassword);
+
+    boolean matches(String rawPassword, String encodedPassword);
+
+    PasswordHashingMetricsDto getMetrics();
+}
@@ -1,5 +1,6 @@
 package erkamber.services.interfaces;
 
+import erkamber.dtos.CursorPageDto;
 import erkamber.dtos.SubscribeDetailedDto;
 import erkamber.dtos.SubscribeDto;
 
@@ -21,7 +22,7 @@ public interface SubscribeService {
 
     SubscribeDetailedDto getSubscriptionBySubscriberIDAndReporterID(int subscriberID, int reporterID);
 
-    List<SubscribeDetailedDto> getAllSubscriptions();
+    CursorPageDto<SubscribeDetailedDto> getAllSubscriptions(String cursor, Integer pageSize);
 
     List<SubscribeDetailedDto> getSubscriptionsBySubscriberID(int subscriberID);
 
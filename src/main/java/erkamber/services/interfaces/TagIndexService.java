@@ -0,0 +1,17 @@
+package erkamber.services.interfaces;
+
+import java.util.Collection;
+
+public interface TagIndexService {
+
+    void addNewsTag(int newsID, int tagID);
+
+    void removeNewsTag(int newsID, int tagID);
+
+    void removeNews(int newsID);
+
+    void removeTag(int tagID);
+
+    int[] findNewsIDsByTags(Collection<Integer> allTagIDs, Collection<Integer> anyTagIDs, Collection<Integer> notTagIDs,
+                            int afterNewsID, int limit);
+}
@@ -0,0 +1,17 @@
+package erkamber.services.interfaces;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TagPopularityService {
+
+    void recordTagUsage(int tagID, LocalDate newsCreationDate);
+
+    void removeTagUsage(int tagID, LocalDate newsCreationDate);
+
+    void removeTag(int tagID);
+
+    List<Integer> getTrendingTagIDs();
+
+    List<Integer> getTrendingTagIDs(int days);
+}
@@ -1,8 +1,11 @@
 package erkamber.services.interfaces;
 
+import erkamber.dtos.TagDictionaryMetricsDto;
 import erkamber.dtos.TagDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface TagService {
 
@@ -20,7 +23,13 @@ public interface TagService {
 
     TagDto findTagByTagName(String tagName);
 
+    Map<Integer, TagDto> findTagsByTagIDs(Collection<Integer> tagIDs);
+
     List<TagDto> getAllTags();
 
     List<TagDto> getTrendingTags();
+
+    List<TagDto> getTrendingTags(int days);
+
+    TagDictionaryMetricsDto getTagDictionaryMetrics();
 }
@@ -0,0 +1,15 @@
+package erkamber.services.interfaces;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TrendingNewsService {
+
+    void recordView(int newsID, LocalDate viewDate);
+
+    void removeViews(int newsID, LocalDate viewDate, long numberOfViews);
+
+    void removeNews(int newsID);
+
+    List<Integer> getTopTrendingNewsIDs(int countOfTrendingNews);
+}
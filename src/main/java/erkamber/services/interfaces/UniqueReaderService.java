@@ -0,0 +1,23 @@
+package erkamber.services.interfaces;
+
+import erkamber.dtos.UniqueReadersDto;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface UniqueReaderService {
+
+    void recordReader(int newsID, int reporterID, int userID, LocalDate viewDate);
+
+    UniqueReadersDto getUniqueReadersOfNews(int newsID, int days);
+
+    UniqueReadersDto getUniqueReadersOfReporter(int reporterID, int days);
+
+    void removeNews(Collection<Integer> newsIDs);
+
+    void removeReporter(int reporterID);
+
+    void flushSketches();
+
+    int pruneSketches();
+}
@@ -0,0 +1,12 @@
+package erkamber.services.interfaces;
+
+public interface UserExistenceService {
+
+    boolean isUserExisting(int userID);
+
+    void markUserRegistered(int userID);
+
+    void markUserDeleted(int userID);
+
+    void markUserDeletionPending(int userID);
+}
@@ -1,8 +1,11 @@
 package erkamber.services.interfaces;
 
+import erkamber.dtos.AuthorSummaryDto;
 import erkamber.dtos.UserDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface UserService {
 
@@ -16,10 +19,16 @@ public interface UserService {
 
     void deleteUserByID(int userID);
 
+    void deleteUserByIDInBackground(int userID);
+
     void deleteUserByUserName(String userName);
 
     UserDto getUserByID(int userID);
 
+    AuthorSummaryDto getAuthorSummaryByID(int userID);
+
+    Map<Integer, AuthorSummaryDto> getAuthorSummariesByIDs(Collection<Integer> userIDs);
+
     UserDto getUserByUserName(String userName);
 
     UserDto getUserByEmail(String userEmail);
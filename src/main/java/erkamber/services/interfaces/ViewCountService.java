@@ -0,0 +1,19 @@
+package erkamber.services.interfaces;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ViewCountService {
+
+    void incrementViewCount(int newsID);
+
+    void decrementViewCount(int newsID, long numberOfViews);
+
+    void deleteViewCounts(Collection<Integer> newsIDs);
+
+    int getViewCount(int newsID);
+
+    Map<Integer, Integer> getViewCounts(Collection<Integer> newsIDs);
+
+    void flushPendingViewCounts();
+}
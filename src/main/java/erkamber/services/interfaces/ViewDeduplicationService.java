@@ -0,0 +1,12 @@
+package erkamber.services.interfaces;
+
+import erkamber.dtos.ViewDeduplicationMetricsDto;
+
+import java.time.LocalDate;
+
+public interface ViewDeduplicationService {
+
+    boolean markViewed(int userID, int newsID, LocalDate viewDate);
+
+    ViewDeduplicationMetricsDto getMetrics();
+}
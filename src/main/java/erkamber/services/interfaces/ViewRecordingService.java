@@ -0,0 +1,20 @@
+package erkamber.services.interfaces;
+
+import erkamber.dtos.ViewRecordingMetricsDto;
+import erkamber.entities.View;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ViewRecordingService {
+
+    boolean recordView(View view);
+
+    List<View> removeQueuedViewsOfNews(Collection<Integer> newsIDs);
+
+    List<View> removeQueuedViewsOfUser(int userID);
+
+    void flushQueuedViews();
+
+    ViewRecordingMetricsDto getMetrics();
+}
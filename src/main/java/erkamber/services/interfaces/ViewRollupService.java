@@ -0,0 +1,20 @@
+package erkamber.services.interfaces;
+
+import erkamber.dtos.DailyViewCountDto;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ViewRollupService {
+
+    void rollUpAndPruneViews();
+
+    List<DailyViewCountDto> getDailyViewCounts(int newsID, LocalDate startDate, LocalDate endDate);
+
+    List<Object[]> countViewsGroupedByNewsIDAndDay(LocalDate startDate);
+
+    void removeViews(int newsID, LocalDate viewDate, long numberOfViews);
+
+    void removeNews(Collection<Integer> newsIDs);
+}
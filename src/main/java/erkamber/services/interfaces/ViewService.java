@@ -1,5 +1,7 @@
 package erkamber.services.interfaces;
 
+import erkamber.dtos.CursorPageDto;
+import erkamber.dtos.DailyViewCountDto;
 import erkamber.dtos.ViewDetailedDto;
 import erkamber.dtos.ViewDto;
 
@@ -10,8 +12,12 @@ public interface ViewService {
 
     int addNewView(ViewDto viewDto);
 
+    void recordNewsView(int newsID, int reporterID, int userID);
+
     int getNumberOfViewsOfNews(int newsID);
 
+    List<DailyViewCountDto> getDailyViewCountsOfNews(int newsID, LocalDate startDate, LocalDate endDate);
+
     void deleteViewsByViewID(int viewID);
 
     void deleteViewsByUserID(int userID);
@@ -20,7 +26,7 @@ public interface ViewService {
 
     ViewDetailedDto getViewByID(int viewID);
 
-    List<ViewDetailedDto> getAllViews();
+    CursorPageDto<ViewDetailedDto> getAllViews(String cursor, Integer pageSize);
 
     List<ViewDetailedDto> findViewByViewNewsID(int newsID);
 
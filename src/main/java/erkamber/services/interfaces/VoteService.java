@@ -1,5 +1,6 @@
 package erkamber.services.interfaces;
 
+import erkamber.dtos.CursorPageDto;
 import erkamber.dtos.VoteDto;
 
 import java.util.List;
@@ -22,7 +23,9 @@ public interface VoteService {
 
     List<VoteDto> getAllDownVotesByUserID(int userID);
 
-    List<VoteDto> getAllVotes();
+    CursorPageDto<VoteDto> getAllVotes(String cursor, Integer pageSize);
+
+    CursorPageDto<VoteDto> getVotesByNewsID(int newsID, String cursor, Integer pageSize);
 
     List<VoteDto> getAllUpVotes();
 
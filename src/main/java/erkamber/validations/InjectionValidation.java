@@ -3,28 +3,156 @@ package erkamber.validations;
 import erkamber.configurations.InjectionPatternConfiguration;
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+/**
+ * Scans text for possible injections in a single pass, without regular expressions and without allocating.
+ * <p>
+ * Injection characters are looked up in a bitmap of the ASCII range. SQL keywords are matched as whole words
+ * (maximal runs of letters, digits and underscores, the same boundaries as the regex {@code \b}) by walking
+ * each word through a keyword trie, so every character of the text is visited once.
+ */
 @Component
 public class InjectionValidation {
 
-    private final InjectionPatternConfiguration injectionPatternConfiguration;
+    private static final int ALPHABET_SIZE = 26;
+
+    private static final int NO_NODE = -1;
+
+    private final boolean[] isInjectionCharacter = new boolean[128];
+
+    // Trie of the SQL keywords over the letters A-Z: keywordTransitions[node][letter] is the next node or NO_NODE
+    private final int[][] keywordTransitions;
+
+    private final boolean[] isKeywordEnd;
 
     public InjectionValidation(InjectionPatternConfiguration injectionPatternConfiguration) {
-        this.injectionPatternConfiguration = injectionPatternConfiguration;
+
+        for (char injectionCharacter : injectionPatternConfiguration.getInjectionCharacters().toCharArray()) {
+
+            isInjectionCharacter[injectionCharacter] = true;
+        }
+
+        List<int[]> transitions = new ArrayList<>();
+        List<Boolean> keywordEnds = new ArrayList<>();
+
+        transitions.add(newTrieNode());
+        keywordEnds.add(false);
+
+        for (String keyword : injectionPatternConfiguration.getSqlInjectionKeywords()) {
+
+            int node = 0;
+
+            for (char letter : keyword.toCharArray()) {
+
+                int letterIndex = letter - 'A';
+
+                if (transitions.get(node)[letterIndex] == NO_NODE) {
+
+                    transitions.get(node)[letterIndex] = transitions.size();
+                    transitions.add(newTrieNode());
+                    keywordEnds.add(false);
+                }
+
+                node = transitions.get(node)[letterIndex];
+            }
+
+            keywordEnds.set(node, true);
+        }
+
+        this.keywordTransitions = transitions.toArray(new int[0][]);
+        this.isKeywordEnd = new boolean[keywordEnds.size()];
+
+        for (int node = 0; node < isKeywordEnd.length; node++) {
+
+            isKeywordEnd[node] = keywordEnds.get(node);
+        }
     }
 
+    /**
+     * Checks whether the text contains any injection character.
+     *
+     * @param text The text to be checked.
+     * @return True if the text contains an injection character, false otherwise.
+     */
     public boolean isTextContainingInjection(String text) {
 
-        String injectionPattern = injectionPatternConfiguration.getInjectionPattern();
+        for (int index = 0; index < text.length(); index++) {
+
+            char character = text.charAt(index);
+
+            if (character < isInjectionCharacter.length && isInjectionCharacter[character]) {
 
-        return Pattern.compile(injectionPattern).matcher(text).matches();
+                return true;
+            }
+        }
+
+        return false;
     }
 
+    /**
+     * Checks whether the text contains an SQL keyword as a whole word.
+     *
+     * @param text The text to be checked.
+     * @return True if the text contains an SQL keyword, false otherwise.
+     */
     public boolean isTextContainingSqlInjection(String text) {
 
-        String sqlInjectionPattern = injectionPatternConfiguration.getSqlInjectionPattern();
+        int index = 0;
+
+        while (index < text.length()) {
+
+            int codePoint = text.codePointAt(index);
+
+            if (!isWordCharacter(codePoint)) {
+
+                index += Character.charCount(codePoint);
+
+                continue;
+            }
+
+            // Walk the word through the keyword trie until the word ends or no keyword can match any more
+            int node = 0;
+
+            while (index < text.length()) {
+
+                codePoint = text.codePointAt(index);
+
+                if (!isWordCharacter(codePoint)) {
+
+                    break;
+                }
+
+                if (node != NO_NODE) {
+
+                    node = codePoint >= 'A' && codePoint <= 'Z' ? keywordTransitions[node][codePoint - 'A'] : NO_NODE;
+                }
+
+                index += Character.charCount(codePoint);
+            }
+
+            if (node != NO_NODE && isKeywordEnd[node]) {
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isWordCharacter(int codePoint) {
+
+        return Character.isLetterOrDigit(codePoint) || codePoint == '_';
+    }
+
+    private static int[] newTrieNode() {
+
+        int[] transitions = new int[ALPHABET_SIZE];
+
+        Arrays.fill(transitions, NO_NODE);
 
-        return Pattern.compile(sqlInjectionPattern).matcher(text).matches();
+        return transitions;
     }
 }
@@ -5,7 +5,6 @@ import erkamber.entities.News;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 @Component
 public class NewsValidation {
@@ -18,9 +17,7 @@ public class NewsValidation {
 
     public boolean isNewsTitleValid(String newsTitle) {
 
-        String charAndNumberPattern = newsTitlePatternConfiguration.getNewsTitlePattern();
-
-        return Pattern.compile(charAndNumberPattern).matcher(newsTitle).matches();
+        return newsTitlePatternConfiguration.getNewsTitlePattern().matcher(newsTitle).matches();
     }
 
     public boolean isUserTheAuthorOfNews(int authorID, int userID) {
@@ -4,8 +4,6 @@ package erkamber.validations;
 import erkamber.configurations.OnlyCharPatternConfiguration;
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Pattern;
-
 @Component
 public class TagValidation {
 
@@ -17,9 +15,7 @@ public class TagValidation {
 
     public boolean isTagNameValid(String tagName) {
 
-        String nameTagPattern = onlyCharPatternConfiguration.getOnlyCharPattern();
-
-        return Pattern.compile(nameTagPattern).matcher(tagName).matches();
+        return onlyCharPatternConfiguration.getOnlyCharPattern().matcher(tagName).matches();
 
     }
 }
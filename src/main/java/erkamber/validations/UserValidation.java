@@ -3,13 +3,12 @@ package erkamber.validations;
 
 import erkamber.configurations.CharAndNumberPatternConfiguration;
 import erkamber.configurations.OnlyCharPatternConfiguration;
-import erkamber.configurations.PasswordEncoderConfiguration;
 import erkamber.configurations.PasswordPatternConfiguration;
 import erkamber.entities.User;
+import erkamber.services.interfaces.PasswordHashingService;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 @Component
 public class UserValidation {
@@ -20,44 +19,33 @@ public class UserValidation {
 
     private final PasswordPatternConfiguration passwordPatternConfiguration;
 
-    private final PasswordEncoderConfiguration passwordEncoderConfiguration;
+    private final PasswordHashingService passwordHashingService;
 
     public UserValidation(OnlyCharPatternConfiguration onlyCharPatternConfiguration,
                           CharAndNumberPatternConfiguration charAndNumberPatternConfiguration,
                           PasswordPatternConfiguration passwordPatternConfiguration,
-                          PasswordEncoderConfiguration passwordEncoderConfiguration) {
+                          PasswordHashingService passwordHashingService) {
 
         this.onlyCharPatternConfiguration = onlyCharPatternConfiguration;
         this.charAndNumberPatternConfiguration = charAndNumberPatternConfiguration;
         this.passwordPatternConfiguration = passwordPatternConfiguration;
-        this.passwordEncoderConfiguration = passwordEncoderConfiguration;
+        this.passwordHashingService = passwordHashingService;
     }
 
     public boolean isUserNameValid(String userName) {
 
-        String userNamePattern = charAndNumberPatternConfiguration.getCharAndNumberPattern();
-
-        return Pattern.compile(userNamePattern).matcher(userName).matches();
+        return charAndNumberPatternConfiguration.getCharAndNumberPattern().matcher(userName).matches();
     }
 
     public boolean isUserPasswordValid(String password) {
 
-        String passwordPattern = passwordPatternConfiguration.getPasswordPattern();
-
-        return Pattern.compile(passwordPattern).matcher(password).matches();
+        return passwordPatternConfiguration.getPasswordPattern().matcher(password).matches();
     }
 
     public boolean isUserFirstOrLastNameValid(String name) {
 
-        String userFirstLastNamePatterns = onlyCharPatternConfiguration.getOnlyCharPattern();
-
-        return Pattern.compile(userFirstLastNamePatterns).matcher(name).matches();
-
-    }
-
-    public boolean isUserExistsByUserID(List<User> allUsers, int searchedUserID) {
+        return onlyCharPatternConfiguration.getOnlyCharPattern().matcher(name).matches();
 
-        return allUsers.stream().anyMatch(user -> user.getUserID() == searchedUserID);
     }
 
     public boolean isListEmpty(List<User> listOfNews) {
@@ -67,7 +55,7 @@ public class UserValidation {
 
     public boolean areOldPasswordMatching(String oldPassword, String oldPasswordEncoded) {
 
-        return  passwordEncoderConfiguration.passwordEncoder().matches(oldPassword, oldPasswordEncoded);
+        return passwordHashingService.matches(oldPassword, oldPasswordEncoded);
     }
 
     public boolean areNewPasswordsMatching(String newPassword, String newPasswordRepeat) {
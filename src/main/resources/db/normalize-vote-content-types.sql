@@ -0,0 +1,55 @@
+-- Normalizes votes cast before the content type was lower-cased on write, so that the unique
+-- (user_id, content_id, voted_content_type) constraint can be created by the schema update.
+-- Runs before Hibernate on every startup and does nothing once the votes are normalized.
+-- Statements are separated by ^; so the block below is sent as a single statement.
+DO $$
+BEGIN
+
+    IF to_regclass('votes') IS NULL THEN
+        RETURN;
+    END IF;
+
+    -- Contents whose votes are about to change, so their counters can be recomputed afterwards
+    CREATE TEMPORARY TABLE normalized_vote_contents ON COMMIT DROP AS
+    SELECT DISTINCT vote.content_id, LOWER(vote.voted_content_type) AS content_type
+    FROM votes vote
+    WHERE vote.voted_content_type <> LOWER(vote.voted_content_type)
+       OR EXISTS (SELECT 1 FROM votes other
+                  WHERE other.user_id = vote.user_id AND other.content_id = vote.content_id
+                    AND LOWER(other.voted_content_type) = LOWER(vote.voted_content_type) AND other.vote_id <> vote.vote_id);
+
+    IF NOT EXISTS (SELECT 1 FROM normalized_vote_contents) THEN
+        RETURN;
+    END IF;
+
+    -- Keeps the first vote of a user on a content, whatever the case of its type
+    DELETE FROM votes duplicate
+    USING votes kept
+    WHERE duplicate.user_id = kept.user_id AND duplicate.content_id = kept.content_id
+      AND LOWER(duplicate.voted_content_type) = LOWER(kept.voted_content_type) AND duplicate.vote_id > kept.vote_id;
+
+    UPDATE votes SET voted_content_type = LOWER(voted_content_type) WHERE voted_content_type <> LOWER(voted_content_type);
+
+    UPDATE news
+    SET news_up_votes = counts.up_votes, news_down_votes = counts.down_votes
+    FROM (SELECT normalized.content_id,
+                 COUNT(vote.vote_id) FILTER (WHERE vote.is_upvote) AS up_votes,
+                 COUNT(vote.vote_id) FILTER (WHERE NOT vote.is_upvote) AS down_votes
+          FROM normalized_vote_contents normalized
+          LEFT JOIN votes vote ON vote.content_id = normalized.content_id AND vote.voted_content_type = normalized.content_type
+          WHERE normalized.content_type = 'news'
+          GROUP BY normalized.content_id) counts
+    WHERE news.news_id = counts.content_id;
+
+    UPDATE comments
+    SET up_votes = counts.up_votes, down_votes = counts.down_votes
+    FROM (SELECT normalized.content_id,
+                 COUNT(vote.vote_id) FILTER (WHERE vote.is_upvote) AS up_votes,
+                 COUNT(vote.vote_id) FILTER (WHERE NOT vote.is_upvote) AS down_votes
+          FROM normalized_vote_contents normalized
+          LEFT JOIN votes vote ON vote.content_id = normalized.content_id AND vote.voted_content_type = normalized.content_type
+          WHERE normalized.content_type = 'comment'
+          GROUP BY normalized.content_id) counts
+    WHERE comments.comment_id = counts.content_id;
+
+END $$^;
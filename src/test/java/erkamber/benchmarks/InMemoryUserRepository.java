@@ -0,0 +1,76 @@
+package erkamber.benchmarks;
+
+import erkamber.entities.User;
+import erkamber.repositories.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds a UserRepository over generated users held in memory, so benchmarks measure the service code rather than
+ * the database. Only the lookups used by the benchmarked services are supported.
+ */
+final class InMemoryUserRepository {
+
+    private InMemoryUserRepository() {
+    }
+
+    /**
+     * Generates users with the IDs 1 to numberOfUsers and the emails user{ID}@newslinker.test.
+     */
+    static List<User> generateUsers(int numberOfUsers, String encodedPassword) {
+
+        List<User> users = new ArrayList<>(numberOfUsers);
+
+        for (int userID = 1; userID <= numberOfUsers; userID++) {
+
+            users.add(new User(userID, "First", "Last", "user" + userID, emailOf(userID), encodedPassword, false));
+        }
+
+        return users;
+    }
+
+    static String emailOf(int userID) {
+
+        return "user" + userID + "@newslinker.test";
+    }
+
+    static UserRepository of(List<User> users) {
+
+        Map<Integer, User> usersByID = new HashMap<>();
+
+        Map<String, User> usersByEmail = new HashMap<>();
+
+        for (User user : users) {
+
+            usersByID.put(user.getUserID(), user);
+            usersByEmail.put(user.getUserEmail(), user);
+        }
+
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(), new Class<?>[]{UserRepository.class},
+                (proxy, method, arguments) -> {
+
+                    switch (method.getName()) {
+
+                        case "existsById":
+                            return usersByID.containsKey((Integer) arguments[0]);
+
+                        case "findById":
+                            return Optional.ofNullable(usersByID.get((Integer) arguments[0]));
+
+                        case "findUserByUserEmail":
+                            return Optional.ofNullable(usersByEmail.get((String) arguments[0]));
+
+                        case "findAll":
+                            return users;
+
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,92 @@
+package erkamber.benchmarks;
+
+import erkamber.configurations.PasswordEncoderConfiguration;
+import erkamber.entities.User;
+import erkamber.services.implementations.PasswordHashingServiceImpl;
+import erkamber.services.implementations.UserServiceImpl;
+import erkamber.services.interfaces.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures login throughput under a login storm: several threads logging in at once through the email lookup and
+ * the hashing pool. The replaced login, which scanned every user for the email before matching the password,
+ * runs against the same users for comparison.
+ * <p>
+ * All users share one password hash, so setting up a million users does not run a million BCrypt hashes. The
+ * repository is held in memory, so the email lookup costs a map access instead of an indexed query.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "correct-horse-battery-staple";
+
+    @Param({"1000", "100000", "1000000"})
+    public int numberOfUsers;
+
+    @Param({"4", "10"})
+    public int bcryptStrength;
+
+    private List<User> users;
+
+    private PasswordEncoderConfiguration passwordEncoderConfiguration;
+
+    private PasswordHashingServiceImpl passwordHashingService;
+
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        passwordEncoderConfiguration = new PasswordEncoderConfiguration(bcryptStrength);
+
+        int poolSize = Runtime.getRuntime().availableProcessors();
+
+        passwordHashingService = new PasswordHashingServiceImpl(passwordEncoderConfiguration, poolSize, 1024);
+
+        users = InMemoryUserRepository.generateUsers(numberOfUsers, passwordEncoderConfiguration.passwordEncoder().encode(PASSWORD));
+
+        // Login only needs the repository and the hashing service
+        userService = new UserServiceImpl(InMemoryUserRepository.of(users), null, null, passwordHashingService, null, null, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        passwordHashingService.shutdown();
+    }
+
+    @Benchmark
+    public int loginByEmailLookup() {
+
+        return userService.loginUser(randomEmail(), PASSWORD);
+    }
+
+    /**
+     * The login this service replaced: streaming over all users for the email, then matching the password.
+     */
+    @Benchmark
+    public boolean loginByFullScan() {
+
+        String userEmail = randomEmail();
+
+        Optional<User> searchedUser = users.stream().filter(user -> user.getUserEmail().equals(userEmail)).findFirst();
+
+        return searchedUser.isPresent() && passwordEncoderConfiguration.passwordEncoder().matches(PASSWORD, searchedUser.get().getUserPassword());
+    }
+
+    private String randomEmail() {
+
+        return InMemoryUserRepository.emailOf(ThreadLocalRandom.current().nextInt(numberOfUsers) + 1);
+    }
+}
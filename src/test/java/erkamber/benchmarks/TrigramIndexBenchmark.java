@@ -0,0 +1,81 @@
+package erkamber.benchmarks;
+
+import erkamber.collections.TrigramIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures bulk indexing of comment-like texts into a trigram index, as done when the comment and feedback indexes
+ * are built at startup, and the candidate lookup of a search on the built index.
+ * <p>
+ * The texts are generated from a fixed vocabulary with a fixed seed, so every run indexes the same texts.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TrigramIndexBenchmark {
+
+    private static final String[] VOCABULARY = {"the", "article", "about", "election", "results", "was", "great", "but",
+            "missing", "sources", "interesting", "point", "disagree", "with", "author", "economy", "football", "match",
+            "weather", "tomorrow", "thanks", "for", "sharing", "really", "helpful", "summary", "local", "council", "report"};
+
+    private static final int WORDS_PER_TEXT = 12;
+
+    @Param({"10000", "100000"})
+    public int numberOfTexts;
+
+    private String[] texts;
+
+    private TrigramIndex builtIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        Random random = new Random(42);
+
+        texts = new String[numberOfTexts];
+
+        for (int index = 0; index < numberOfTexts; index++) {
+
+            StringBuilder text = new StringBuilder();
+
+            for (int word = 0; word < WORDS_PER_TEXT; word++) {
+
+                text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]).append(' ');
+            }
+
+            texts[index] = text.toString().trim();
+        }
+
+        builtIndex = bulkIndex();
+    }
+
+    /**
+     * Indexes every text into a new index. Texts per second are numberOfTexts divided by the reported time.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public TrigramIndex bulkIndex() {
+
+        TrigramIndex trigramIndex = new TrigramIndex();
+
+        for (int index = 0; index < texts.length; index++) {
+
+            trigramIndex.put(index + 1, texts[index]);
+        }
+
+        return trigramIndex;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] findCandidatesOfRareWord() {
+
+        return builtIndex.findCandidateIDs("council report");
+    }
+}
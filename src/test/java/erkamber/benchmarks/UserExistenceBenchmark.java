@@ -0,0 +1,72 @@
+package erkamber.benchmarks;
+
+import erkamber.entities.User;
+import erkamber.services.implementations.UserExistenceServiceImpl;
+import erkamber.services.interfaces.UserExistenceService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures user existence checks at growing user counts. The indexed, cached check should keep the same throughput
+ * from a thousand to a million users, while the replaced full scan of all users slows down linearly.
+ * <p>
+ * The repository is held in memory, so the uncached check measures the service without the primary key lookup
+ * it would send to the database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserExistenceBenchmark {
+
+    // Checks of these users are answered from the cache of existing users
+    private static final int HOT_USERS = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int numberOfUsers;
+
+    private List<User> users;
+
+    private UserExistenceService userExistenceService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        users = InMemoryUserRepository.generateUsers(numberOfUsers, "encoded-password");
+
+        userExistenceService = new UserExistenceServiceImpl(InMemoryUserRepository.of(users), 100_000, 10_000);
+    }
+
+    @Benchmark
+    public boolean cachedExistenceCheck() {
+
+        return userExistenceService.isUserExisting(randomUserID(Math.min(HOT_USERS, numberOfUsers)));
+    }
+
+    @Benchmark
+    public boolean existenceCheckOfAnyUser() {
+
+        return userExistenceService.isUserExisting(randomUserID(numberOfUsers));
+    }
+
+    /**
+     * The check this service replaced: loading every user and scanning them for the ID.
+     */
+    @Benchmark
+    public boolean fullScanExistenceCheck() {
+
+        int userID = randomUserID(numberOfUsers);
+
+        return users.stream().anyMatch(user -> user.getUserID() == userID);
+    }
+
+    private int randomUserID(int bound) {
+
+        return ThreadLocalRandom.current().nextInt(bound) + 1;
+    }
+}
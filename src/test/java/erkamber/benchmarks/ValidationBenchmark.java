@@ -0,0 +1,97 @@
+package erkamber.benchmarks;
+
+import erkamber.configurations.CharAndNumberPatternConfiguration;
+import erkamber.configurations.NewsTitlePatternConfiguration;
+import erkamber.configurations.OnlyCharPatternConfiguration;
+import erkamber.configurations.PasswordPatternConfiguration;
+import erkamber.validations.NewsValidation;
+import erkamber.validations.TagValidation;
+import erkamber.validations.UserValidation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures validations per second with the precompiled patterns of the configuration beans against compiling the
+ * pattern on every call, as the validations did before. Each operation validates one registration (user name,
+ * password, first and last name), one news title and one tag name.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final String USER_NAME = "newsreader_2023";
+
+    private static final String PASSWORD = "Secret_Pass1";
+
+    private static final String FIRST_NAME = "Erkam";
+
+    private static final String LAST_NAME = "Ber";
+
+    private static final String NEWS_TITLE = "Local elections: turnout reaches a record high, officials say.";
+
+    private static final String TAG_NAME = "Politics";
+
+    private final OnlyCharPatternConfiguration onlyCharPatternConfiguration = new OnlyCharPatternConfiguration();
+
+    private final CharAndNumberPatternConfiguration charAndNumberPatternConfiguration = new CharAndNumberPatternConfiguration();
+
+    private final PasswordPatternConfiguration passwordPatternConfiguration = new PasswordPatternConfiguration();
+
+    private final NewsTitlePatternConfiguration newsTitlePatternConfiguration = new NewsTitlePatternConfiguration();
+
+    // Password matching is not validated here, so the hashing service is not needed
+    private final UserValidation userValidation = new UserValidation(onlyCharPatternConfiguration, charAndNumberPatternConfiguration,
+            passwordPatternConfiguration, null);
+
+    private final NewsValidation newsValidation = new NewsValidation(newsTitlePatternConfiguration);
+
+    private final TagValidation tagValidation = new TagValidation(onlyCharPatternConfiguration);
+
+    private String onlyCharRegex;
+
+    private String charAndNumberRegex;
+
+    private String passwordRegex;
+
+    private String newsTitleRegex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        onlyCharRegex = onlyCharPatternConfiguration.getOnlyCharPattern().pattern();
+        charAndNumberRegex = charAndNumberPatternConfiguration.getCharAndNumberPattern().pattern();
+        passwordRegex = passwordPatternConfiguration.getPasswordPattern().pattern();
+        newsTitleRegex = newsTitlePatternConfiguration.getNewsTitlePattern().pattern();
+    }
+
+    @Benchmark
+    public boolean precompiledPatterns() {
+
+        return userValidation.isUserNameValid(USER_NAME)
+                & userValidation.isUserPasswordValid(PASSWORD)
+                & userValidation.isUserFirstOrLastNameValid(FIRST_NAME)
+                & userValidation.isUserFirstOrLastNameValid(LAST_NAME)
+                & newsValidation.isNewsTitleValid(NEWS_TITLE)
+                & tagValidation.isTagNameValid(TAG_NAME);
+    }
+
+    /**
+     * The validations before the patterns were precompiled: every call compiles its pattern string.
+     */
+    @Benchmark
+    public boolean patternCompiledPerCall() {
+
+        return Pattern.compile(charAndNumberRegex).matcher(USER_NAME).matches()
+                & Pattern.compile(passwordRegex).matcher(PASSWORD).matches()
+                & Pattern.compile(onlyCharRegex).matcher(FIRST_NAME).matches()
+                & Pattern.compile(onlyCharRegex).matcher(LAST_NAME).matches()
+                & Pattern.compile(newsTitleRegex).matcher(NEWS_TITLE).matches()
+                & Pattern.compile(onlyCharRegex).matcher(TAG_NAME).matches();
+    }
+}
@@ -0,0 +1,103 @@
+package erkamber.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the sizing of BloomFilter, that it never loses an added key and that its false positive rate stays near the target.
+ */
+class BloomFilterTest {
+
+    private static final int EXPECTED_KEYS = 100_000;
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void invalidSizingIsRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, FALSE_POSITIVE_RATE));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(EXPECTED_KEYS, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(EXPECTED_KEYS, 1));
+    }
+
+    @Test
+    void filterIsSizedForExpectedKeysAndRate() {
+
+        long optimalBits = (long) Math.ceil(-EXPECTED_KEYS * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+
+        long numberOfBits = new BloomFilter(EXPECTED_KEYS, FALSE_POSITIVE_RATE).getNumberOfBits();
+
+        assertTrue(numberOfBits >= optimalBits && numberOfBits < optimalBits + Long.SIZE, "Filter bits: " + numberOfBits);
+        assertEquals(0, numberOfBits % Long.SIZE);
+    }
+
+    @Test
+    void addReportsWhetherKeyIsNew() {
+
+        BloomFilter filter = new BloomFilter(EXPECTED_KEYS, FALSE_POSITIVE_RATE);
+
+        assertFalse(filter.mightContain(42));
+        assertTrue(filter.add(42));
+        assertFalse(filter.add(42));
+        assertTrue(filter.mightContain(42));
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    void addedKeysAreNeverReportedAbsent() {
+
+        BloomFilter filter = new BloomFilter(EXPECTED_KEYS, FALSE_POSITIVE_RATE);
+
+        for (long key = 0; key < EXPECTED_KEYS; key++) {
+
+            filter.add(toViewKey(key));
+        }
+
+        for (long key = 0; key < EXPECTED_KEYS; key++) {
+
+            assertTrue(filter.mightContain(toViewKey(key)), "Added key reported absent: " + key);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTargetAtExpectedKeys() {
+
+        BloomFilter filter = new BloomFilter(EXPECTED_KEYS, FALSE_POSITIVE_RATE);
+
+        for (long key = 0; key < EXPECTED_KEYS; key++) {
+
+            filter.add(toViewKey(key));
+        }
+
+        int falsePositives = 0;
+
+        for (long key = EXPECTED_KEYS; key < 2L * EXPECTED_KEYS; key++) {
+
+            if (filter.mightContain(toViewKey(key))) {
+
+                falsePositives++;
+            }
+        }
+
+        double measuredRate = (double) falsePositives / EXPECTED_KEYS;
+
+        assertTrue(measuredRate < FALSE_POSITIVE_RATE * 1.5, "Measured false positive rate: " + measuredRate);
+
+        double estimatedRate = filter.estimateFalsePositiveRate();
+
+        assertTrue(estimatedRate > FALSE_POSITIVE_RATE / 2 && estimatedRate < FALSE_POSITIVE_RATE * 1.5,
+                "Estimated false positive rate: " + estimatedRate);
+    }
+
+    /**
+     * Builds keys shaped like the (user, news) keys of the view deduplication, where neighbouring keys differ in few bits.
+     */
+    private static long toViewKey(long index) {
+
+        return ((index / 1000) << Integer.SIZE) | (index % 1000);
+    }
+}
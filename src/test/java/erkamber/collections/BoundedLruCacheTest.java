@@ -0,0 +1,107 @@
+package erkamber.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that BoundedLruCache never holds more than its maximum size and evicts the least recently used entry.
+ */
+class BoundedLruCacheTest {
+
+    @Test
+    void nonPositiveSizeIsRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> new BoundedLruCache<Integer, String>(0));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedLruCache<Integer, String>(-1));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+
+        BoundedLruCache<Integer, String> cache = new BoundedLruCache<>(3);
+
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+
+        // Reading the eldest entry makes the second one the least recently used
+        assertEquals("one", cache.get(1));
+
+        cache.put(4, "four");
+
+        assertEquals(3, cache.size());
+        assertFalse(cache.containsKey(2));
+        assertTrue(cache.containsKey(1));
+        assertTrue(cache.containsKey(3));
+        assertTrue(cache.containsKey(4));
+    }
+
+    @Test
+    void sizeNeverExceedsMaximum() {
+
+        BoundedLruCache<Integer, Integer> cache = new BoundedLruCache<>(100);
+
+        for (int key = 0; key < 10_000; key++) {
+
+            cache.put(key, key);
+
+            assertTrue(cache.size() <= cache.getMaxSize());
+        }
+
+        assertEquals(100, cache.size());
+        assertTrue(cache.containsKey(9_999));
+        assertFalse(cache.containsKey(9_899));
+    }
+
+    @Test
+    void computeIfAbsentLoadsOnceAndSkipsNullValues() {
+
+        BoundedLruCache<Integer, String> cache = new BoundedLruCache<>(10);
+
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("1", cache.computeIfAbsent(1, key -> {
+
+            loads.incrementAndGet();
+
+            return String.valueOf(key);
+        }));
+
+        assertEquals("1", cache.computeIfAbsent(1, key -> {
+
+            loads.incrementAndGet();
+
+            return "reloaded";
+        }));
+
+        assertEquals(1, loads.get());
+
+        assertNull(cache.computeIfAbsent(2, key -> null));
+        assertFalse(cache.containsKey(2));
+    }
+
+    @Test
+    void removeAndClearDropEntries() {
+
+        BoundedLruCache<Integer, String> cache = new BoundedLruCache<>(10);
+
+        cache.put(1, "one");
+        cache.put(2, "two");
+
+        cache.remove(1);
+
+        assertNull(cache.get(1));
+        assertEquals(1, cache.size());
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+    }
+}
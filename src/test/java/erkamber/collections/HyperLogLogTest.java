@@ -0,0 +1,133 @@
+package erkamber.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the estimates of HyperLogLog against the exact number of distinct values, and that merging, copying and
+ * serializing sketches keep their registers.
+ */
+class HyperLogLogTest {
+
+    // Three standard errors of the estimate, which is about 1.04 / sqrt(number of registers)
+    private static final double TOLERANCE = 3 * 1.04 / Math.sqrt(HyperLogLog.NUMBER_OF_REGISTERS);
+
+    @Test
+    void emptySketchEstimatesZero() {
+
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void estimatesStayWithinTheStandardError() {
+
+        for (int distinctValues : new int[]{10, 1_000, 10_000, 100_000, 1_000_000}) {
+
+            HyperLogLog sketch = new HyperLogLog();
+
+            for (long value = 0; value < distinctValues; value++) {
+
+                sketch.add(value);
+            }
+
+            assertWithinTolerance(distinctValues, sketch.estimate());
+        }
+    }
+
+    @Test
+    void repeatedValuesAreNotCountedAgain() {
+
+        HyperLogLog sketch = new HyperLogLog();
+
+        assertTrue(sketch.add(42));
+        assertFalse(sketch.add(42));
+
+        for (int repeat = 0; repeat < 10; repeat++) {
+
+            for (long value = 0; value < 1_000; value++) {
+
+                sketch.add(value);
+            }
+        }
+
+        assertWithinTolerance(1_000, sketch.estimate());
+    }
+
+    @Test
+    void mergedSketchEqualsSketchOfTheUnion() {
+
+        HyperLogLog firstSketch = new HyperLogLog();
+
+        HyperLogLog secondSketch = new HyperLogLog();
+
+        HyperLogLog unionSketch = new HyperLogLog();
+
+        for (long value = 0; value < 50_000; value++) {
+
+            firstSketch.add(value);
+            secondSketch.add(value + 25_000);
+
+            unionSketch.add(value);
+            unionSketch.add(value + 25_000);
+        }
+
+        firstSketch.merge(secondSketch);
+
+        assertEquals(unionSketch, firstSketch);
+        assertWithinTolerance(75_000, firstSketch.estimate());
+
+        // Merging the same readers again, as a retried flush does, changes nothing
+        firstSketch.merge(secondSketch);
+
+        assertEquals(unionSketch, firstSketch);
+    }
+
+    @Test
+    void copyIsNotChangedByLaterValues() {
+
+        HyperLogLog sketch = new HyperLogLog();
+
+        sketch.add(1);
+
+        HyperLogLog copy = sketch.copy();
+
+        assertEquals(sketch, copy);
+
+        for (long value = 2; value < 1_000; value++) {
+
+            sketch.add(value);
+        }
+
+        assertNotEquals(sketch, copy);
+        assertEquals(1, copy.estimate());
+    }
+
+    @Test
+    void registersRoundTripThroughByteArrays() {
+
+        HyperLogLog sketch = new HyperLogLog();
+
+        for (long value = 0; value < 10_000; value++) {
+
+            sketch.add(value);
+        }
+
+        byte[] registers = sketch.toByteArray();
+
+        assertEquals(HyperLogLog.NUMBER_OF_REGISTERS, registers.length);
+        assertEquals(sketch, HyperLogLog.fromByteArray(registers));
+
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromByteArray(new byte[HyperLogLog.NUMBER_OF_REGISTERS - 1]));
+    }
+
+    private static void assertWithinTolerance(long distinctValues, long estimate) {
+
+        assertTrue(Math.abs(estimate - distinctValues) <= Math.max(1, distinctValues * TOLERANCE),
+                "Estimated " + estimate + " distinct values instead of " + distinctValues);
+    }
+}
@@ -0,0 +1,207 @@
+package erkamber.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the sorted int set and its merge-based set operations against java.util sets.
+ */
+class SortedIntSetTest {
+
+    @Test
+    void addAndRemoveKeepTheValuesSortedAndDistinct() {
+
+        SortedIntSet set = new SortedIntSet();
+
+        assertTrue(set.add(5));
+        assertTrue(set.add(1));
+        assertTrue(set.add(9));
+        assertTrue(set.add(3));
+        assertTrue(set.add(7));
+        assertFalse(set.add(5));
+
+        assertArrayEquals(new int[]{1, 3, 5, 7, 9}, valuesOf(set));
+
+        assertTrue(set.remove(1));
+        assertFalse(set.remove(1));
+        assertTrue(set.remove(9));
+
+        assertArrayEquals(new int[]{3, 5, 7}, valuesOf(set));
+        assertTrue(set.contains(5));
+        assertFalse(set.contains(9));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    void setOperationsOfEmptySetsAreEmpty() {
+
+        SortedIntSet empty = new SortedIntSet();
+
+        SortedIntSet values = setOf(1, 2, 3);
+
+        assertTrue(SortedIntSet.intersect(empty, values).isEmpty());
+        assertTrue(SortedIntSet.intersect(values, empty).isEmpty());
+        assertTrue(SortedIntSet.intersect(empty, empty).isEmpty());
+
+        assertArrayEquals(new int[]{1, 2, 3}, valuesOf(SortedIntSet.union(empty, values)));
+        assertArrayEquals(new int[]{1, 2, 3}, valuesOf(SortedIntSet.union(values, empty)));
+        assertTrue(SortedIntSet.union(empty, empty).isEmpty());
+
+        assertArrayEquals(new int[]{1, 2, 3}, valuesOf(SortedIntSet.difference(values, empty)));
+        assertTrue(SortedIntSet.difference(empty, values).isEmpty());
+    }
+
+    @Test
+    void setOperationsOfSetsOfDifferentSizes() {
+
+        SortedIntSet small = setOf(4, 50, 999);
+
+        SortedIntSet large = new SortedIntSet();
+
+        for (int value = 0; value < 1000; value += 2) {
+
+            large.add(value);
+        }
+
+        assertArrayEquals(new int[]{4, 50}, valuesOf(SortedIntSet.intersect(small, large)));
+        assertArrayEquals(new int[]{4, 50}, valuesOf(SortedIntSet.intersect(large, small)));
+        assertArrayEquals(new int[]{999}, valuesOf(SortedIntSet.difference(small, large)));
+        assertEquals(498, SortedIntSet.difference(large, small).size());
+        assertEquals(501, SortedIntSet.union(small, large).size());
+    }
+
+    @Test
+    void valuesPresentInBothSetsAreNotDuplicated() {
+
+        SortedIntSet first = setOf(1, 2, 3, 4);
+
+        SortedIntSet second = setOf(3, 4, 5);
+
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5}, valuesOf(SortedIntSet.union(first, second)));
+        assertArrayEquals(new int[]{3, 4}, valuesOf(SortedIntSet.intersect(first, second)));
+        assertArrayEquals(new int[]{1, 2}, valuesOf(SortedIntSet.difference(first, second)));
+        assertArrayEquals(new int[]{1, 2, 3, 4}, valuesOf(SortedIntSet.union(first, first)));
+        assertTrue(SortedIntSet.difference(first, first).isEmpty());
+    }
+
+    @Test
+    void resultsOfSetOperationsCanBeModified() {
+
+        SortedIntSet intersection = SortedIntSet.intersect(setOf(1, 2), setOf(2, 3));
+
+        for (int value = 10; value < 20; value++) {
+
+            intersection.add(value);
+        }
+
+        assertEquals(11, intersection.size());
+        assertTrue(intersection.contains(2));
+        assertTrue(intersection.contains(19));
+    }
+
+    @Test
+    void getValuesAfterRespectsTheBoundAndTheLimit() {
+
+        SortedIntSet set = setOf(10, 20, 30, 40);
+
+        assertArrayEquals(new int[]{30, 40}, set.getValuesAfter(20, 10));
+        assertArrayEquals(new int[]{30, 40}, set.getValuesAfter(25, 10));
+        assertArrayEquals(new int[]{10, 20}, set.getValuesAfter(0, 2));
+        assertArrayEquals(new int[]{10, 20, 30, 40}, set.getValuesAfter(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertArrayEquals(new int[0], set.getValuesAfter(40, 10));
+        assertArrayEquals(new int[0], set.getValuesAfter(45, 10));
+        assertArrayEquals(new int[0], set.getValuesAfter(0, 0));
+        assertArrayEquals(new int[0], new SortedIntSet().getValuesAfter(0, 10));
+    }
+
+    @Test
+    void randomSetOperationsMatchJavaUtilSets() {
+
+        Random random = new Random(15);
+
+        for (int round = 0; round < 500; round++) {
+
+            Set<Integer> firstValues = randomValues(random);
+
+            Set<Integer> secondValues = randomValues(random);
+
+            SortedIntSet first = setOf(firstValues);
+
+            SortedIntSet second = setOf(secondValues);
+
+            Set<Integer> expectedIntersection = new TreeSet<>(firstValues);
+            expectedIntersection.retainAll(secondValues);
+
+            Set<Integer> expectedUnion = new TreeSet<>(firstValues);
+            expectedUnion.addAll(secondValues);
+
+            Set<Integer> expectedDifference = new TreeSet<>(firstValues);
+            expectedDifference.removeAll(secondValues);
+
+            assertArrayEquals(toArray(expectedIntersection), valuesOf(SortedIntSet.intersect(first, second)));
+            assertArrayEquals(toArray(expectedUnion), valuesOf(SortedIntSet.union(first, second)));
+            assertArrayEquals(toArray(expectedDifference), valuesOf(SortedIntSet.difference(first, second)));
+
+            int afterValue = random.nextInt(220) - 10;
+
+            int limit = random.nextInt(20);
+
+            int[] expectedValuesAfter = ((TreeSet<Integer>) firstValues).tailSet(afterValue, false).stream()
+                    .limit(limit).mapToInt(Integer::intValue).toArray();
+
+            assertArrayEquals(expectedValuesAfter, first.getValuesAfter(afterValue, limit));
+        }
+    }
+
+    /**
+     * Generates up to 100 random values between 0 and 199, so that random sets overlap.
+     */
+    private static Set<Integer> randomValues(Random random) {
+
+        Set<Integer> values = new TreeSet<>();
+
+        int numberOfValues = random.nextInt(100);
+
+        for (int i = 0; i < numberOfValues; i++) {
+
+            values.add(random.nextInt(200));
+        }
+
+        return values;
+    }
+
+    private static SortedIntSet setOf(int... values) {
+
+        SortedIntSet set = new SortedIntSet();
+
+        for (int value : values) {
+
+            set.add(value);
+        }
+
+        return set;
+    }
+
+    private static SortedIntSet setOf(Set<Integer> values) {
+
+        return setOf(toArray(values));
+    }
+
+    private static int[] toArray(Set<Integer> values) {
+
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] valuesOf(SortedIntSet set) {
+
+        return set.getValuesAfter(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,148 @@
+package erkamber.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the candidates of TrigramIndex always include every text containing the searched substring,
+ * and that replaced and removed texts leave the index.
+ */
+class TrigramIndexTest {
+
+    private static final String ALPHABET = "abcAB c";
+
+    @Test
+    void substringsShorterThanATrigramCannotBeNarrowed() {
+
+        TrigramIndex index = new TrigramIndex();
+
+        index.put(1, "breaking news");
+
+        assertNull(index.findCandidateIDs("br"));
+        assertNull(index.findCandidateIDs(""));
+        assertNull(index.findCandidateIDs(null));
+    }
+
+    @Test
+    void candidatesAreFoundIgnoringCase() {
+
+        TrigramIndex index = new TrigramIndex();
+
+        index.put(1, "Breaking News");
+        index.put(2, "breaking ground");
+        index.put(3, "weather report");
+
+        assertArrayEquals(new int[]{1, 2}, index.findCandidateIDs("BREAK"));
+        assertArrayEquals(new int[]{1}, index.findCandidateIDs("news"));
+        assertArrayEquals(new int[0], index.findCandidateIDs("sports"));
+    }
+
+    @Test
+    void replacedAndRemovedTextsLeaveTheIndex() {
+
+        TrigramIndex index = new TrigramIndex();
+
+        index.put(1, "first draft");
+        index.put(1, "final version");
+
+        assertArrayEquals(new int[0], index.findCandidateIDs("draft"));
+        assertArrayEquals(new int[]{1}, index.findCandidateIDs("version"));
+        assertEquals(1, index.size());
+
+        index.remove(1);
+
+        assertArrayEquals(new int[0], index.findCandidateIDs("version"));
+        assertEquals(0, index.size());
+
+        index.remove(1);
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void candidatesIncludeEveryMatchOfRandomTexts() {
+
+        Random random = new Random(17);
+
+        TrigramIndex index = new TrigramIndex();
+
+        Map<Integer, String> textsByID = new HashMap<>();
+
+        for (int id = 1; id <= 500; id++) {
+
+            String text = randomText(random, random.nextInt(40));
+
+            textsByID.put(id, text);
+            index.put(id, text);
+        }
+
+        // Remove and replace some texts, so the check also covers the posting lists they leave behind
+        for (int id = 1; id <= 100; id++) {
+
+            if (random.nextBoolean()) {
+
+                textsByID.remove(id);
+                index.remove(id);
+
+            } else {
+
+                String text = randomText(random, random.nextInt(40));
+
+                textsByID.put(id, text);
+                index.put(id, text);
+            }
+        }
+
+        for (int search = 0; search < 2_000; search++) {
+
+            String substring = randomText(random, 3 + random.nextInt(4));
+
+            List<Integer> matchingIDs = new ArrayList<>();
+
+            textsByID.forEach((id, text) -> {
+
+                if (text.toLowerCase().contains(substring.toLowerCase())) {
+
+                    matchingIDs.add(id);
+                }
+            });
+
+            int[] candidateIDs = index.findCandidateIDs(substring);
+
+            for (int id : matchingIDs) {
+
+                assertTrue(Arrays.binarySearch(candidateIDs, id) >= 0, "Text " + id + " matches \"" + substring + "\" but is no candidate");
+            }
+
+            for (int id : candidateIDs) {
+
+                assertTrue(textsByID.containsKey(id), "Removed text " + id + " is still a candidate");
+            }
+        }
+
+        assertEquals(textsByID.size(), index.size());
+    }
+
+    private static String randomText(Random random, int length) {
+
+        StringBuilder text = new StringBuilder(length);
+
+        for (int i = 0; i < length; i++) {
+
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+
+        return text.toString();
+    }
+}
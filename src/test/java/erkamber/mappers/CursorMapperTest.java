@@ -0,0 +1,67 @@
+package erkamber.mappers;
+
+import erkamber.exceptions.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that keyset and offset cursors round-trip and that tampered cursors are rejected as invalid input.
+ */
+class CursorMapperTest {
+
+    private static final int MAX_OFFSET = 1000;
+
+    private final CursorMapper cursorMapper = new CursorMapper();
+
+    @Test
+    void cursorsRoundTrip() {
+
+        assertEquals(42, cursorMapper.mapCursorToID(cursorMapper.mapIDToCursor(42)));
+        assertEquals(40, cursorMapper.mapCursorToOffset(cursorMapper.mapOffsetToCursor(40), MAX_OFFSET));
+        assertEquals(MAX_OFFSET, cursorMapper.mapCursorToOffset(cursorMapper.mapOffsetToCursor(MAX_OFFSET), MAX_OFFSET));
+    }
+
+    @Test
+    void missingCursorsStartAtTheFirstPage() {
+
+        assertEquals(0, cursorMapper.mapCursorToID(null));
+        assertEquals(0, cursorMapper.mapCursorToOffset(null, MAX_OFFSET));
+        assertEquals(0, cursorMapper.mapCursorToOffset(" ", MAX_OFFSET));
+    }
+
+    @Test
+    void tamperedOffsetCursorsAreRejected() {
+
+        assertInvalidOffsetCursor(encode("offset:-5"));
+        assertInvalidOffsetCursor(encode("offset:" + (MAX_OFFSET + 1)));
+        assertInvalidOffsetCursor(encode("offset:" + Integer.MAX_VALUE));
+        assertInvalidOffsetCursor(encode("offset:99999999999"));
+        assertInvalidOffsetCursor(encode("offset:abc"));
+        assertInvalidOffsetCursor(encode("offset:"));
+        assertInvalidOffsetCursor("not base64!");
+    }
+
+    @Test
+    void keysetAndOffsetCursorsAreNotInterchangeable() {
+
+        assertInvalidOffsetCursor(encode("id:-5"));
+        assertInvalidOffsetCursor(cursorMapper.mapIDToCursor(20));
+
+        assertThrows(InvalidInputException.class, () -> cursorMapper.mapCursorToID(cursorMapper.mapOffsetToCursor(20)));
+    }
+
+    private void assertInvalidOffsetCursor(String cursor) {
+
+        assertThrows(InvalidInputException.class, () -> cursorMapper.mapCursorToOffset(cursor, MAX_OFFSET));
+    }
+
+    private static String encode(String cursor) {
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,118 @@
+package erkamber.services.implementations;
+
+import erkamber.dtos.NewsDetailedDto;
+import erkamber.entities.*;
+import erkamber.repositories.*;
+import erkamber.services.interfaces.NewsService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the detailed DTOs of a list of news articles are assembled with a fixed number of queries,
+ * however many articles the list holds.
+ */
+@SpringBootTest(properties = "ENVIRONMENT_LOCAL=test")
+class NewsDetailedDtoAssemblerTest {
+
+    private static final AtomicInteger uniqueSuffix = new AtomicInteger();
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private NewsTagRepository newsTagRepository;
+
+    @Autowired
+    private MediaRepository mediaRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void findNewsByUserIDRunsTheSameNumberOfQueriesForEveryPageSize() {
+
+        long statementsOfOneArticle = countStatementsOfNewsList(1);
+
+        long statementsOfFiveArticles = countStatementsOfNewsList(5);
+
+        long statementsOfFiftyArticles = countStatementsOfNewsList(50);
+
+        assertEquals(statementsOfOneArticle, statementsOfFiveArticles);
+        assertEquals(statementsOfOneArticle, statementsOfFiftyArticles);
+    }
+
+    /**
+     * Creates an author with the given number of articles, each with its own tag, media and comment by another user,
+     * and counts the statements that retrieving the author's articles runs. Every author, commenter and tag is new,
+     * so no list is helped by the caches warmed up by a previous one.
+     */
+    private long countStatementsOfNewsList(int numberOfNews) {
+
+        int authorID = saveUser(true).getUserID();
+
+        for (int i = 0; i < numberOfNews; i++) {
+
+            News news = newsRepository.save(new News(0, authorID, "Title " + i, "Content of article " + i, 0, 0,
+                    LocalDateTime.now()));
+
+            Tag tag = tagRepository.save(new Tag(0, "tag-" + uniqueSuffix.incrementAndGet()));
+
+            newsTagRepository.save(new NewsTag(0, news.getNewsID(), tag.getTagID()));
+
+            mediaRepository.save(new Media(0, news.getNewsID(), "https://media.newslinker.test/" + uniqueSuffix.incrementAndGet()));
+
+            commentRepository.save(new Comment(0, saveUser(false).getUserID(), news.getNewsID(), "Comment " + i, 0, 0,
+                    LocalDateTime.now()));
+        }
+
+        statistics.clear();
+
+        List<NewsDetailedDto> listOfNews = newsService.findNewsByUserID(authorID);
+
+        long statementCount = statistics.getPrepareStatementCount();
+
+        assertEquals(numberOfNews, listOfNews.size());
+
+        return statementCount;
+    }
+
+    private User saveUser(boolean reporter) {
+
+        int suffix = uniqueSuffix.incrementAndGet();
+
+        return userRepository.save(new User(0, "First", "Last", "user" + suffix, "user" + suffix + "@newslinker.test",
+                "encoded-password", reporter));
+    }
+}
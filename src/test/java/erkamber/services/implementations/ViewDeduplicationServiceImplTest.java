@@ -0,0 +1,110 @@
+package erkamber.services.implementations;
+
+import erkamber.dtos.ViewDeduplicationMetricsDto;
+import erkamber.repositories.ViewRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that ViewDeduplicationServiceImpl counts one view per user, news article and day, and that its filter
+ * is replaced by an empty one when the day changes.
+ */
+class ViewDeduplicationServiceImplTest {
+
+    @Test
+    void repeatedViewOfTheSameDayIsNotCounted() {
+
+        ViewDeduplicationServiceImpl viewDeduplicationService = createService(List.of());
+
+        // The day the filter was loaded for, so a test running across midnight still views the loaded day
+        LocalDate today = viewDeduplicationService.getMetrics().getDay();
+
+        assertTrue(viewDeduplicationService.markViewed(1, 10, today));
+        assertFalse(viewDeduplicationService.markViewed(1, 10, today));
+        assertTrue(viewDeduplicationService.markViewed(1, 11, today));
+        assertTrue(viewDeduplicationService.markViewed(2, 10, today));
+
+        ViewDeduplicationMetricsDto metrics = viewDeduplicationService.getMetrics();
+
+        assertEquals(3, metrics.getCountedViews());
+        assertEquals(1, metrics.getDuplicateViews());
+        assertEquals(3, metrics.getDistinctViewsOfDay());
+    }
+
+    @Test
+    void viewsStoredTodayAreLoadedOnStartup() {
+
+        ViewDeduplicationServiceImpl viewDeduplicationService = createService(List.<Object[]>of(new Object[]{1, 10}));
+
+        LocalDate today = viewDeduplicationService.getMetrics().getDay();
+
+        assertFalse(viewDeduplicationService.markViewed(1, 10, today));
+        assertTrue(viewDeduplicationService.markViewed(1, 11, today));
+    }
+
+    @Test
+    void filterIsRotatedWhenTheDayChanges() {
+
+        ViewDeduplicationServiceImpl viewDeduplicationService = createService(List.of());
+
+        LocalDate today = viewDeduplicationService.getMetrics().getDay();
+
+        LocalDate tomorrow = today.plusDays(1);
+
+        assertTrue(viewDeduplicationService.markViewed(1, 10, today));
+        assertTrue(viewDeduplicationService.markViewed(2, 10, today));
+
+        assertTrue(viewDeduplicationService.markViewed(1, 10, tomorrow));
+        assertFalse(viewDeduplicationService.markViewed(1, 10, tomorrow));
+
+        ViewDeduplicationMetricsDto metrics = viewDeduplicationService.getMetrics();
+
+        assertEquals(tomorrow, metrics.getDay());
+        assertEquals(1, metrics.getDistinctViewsOfDay());
+    }
+
+    @Test
+    void viewsOfARotatedOutDayAreCounted() {
+
+        ViewDeduplicationServiceImpl viewDeduplicationService = createService(List.of());
+
+        LocalDate today = viewDeduplicationService.getMetrics().getDay();
+
+        assertTrue(viewDeduplicationService.markViewed(1, 10, today));
+        assertTrue(viewDeduplicationService.markViewed(1, 10, today.plusDays(1)));
+
+        assertTrue(viewDeduplicationService.markViewed(1, 10, today));
+        assertTrue(viewDeduplicationService.markViewed(1, 10, today));
+        assertEquals(today.plusDays(1), viewDeduplicationService.getMetrics().getDay());
+    }
+
+    /**
+     * Creates the service over a repository that holds the given (user ID, news ID) views of today, and loads them.
+     */
+    private static ViewDeduplicationServiceImpl createService(List<Object[]> viewsOfToday) {
+
+        ViewRepository viewRepository = (ViewRepository) Proxy.newProxyInstance(ViewRepository.class.getClassLoader(),
+                new Class<?>[]{ViewRepository.class}, (proxy, method, arguments) -> {
+
+                    if (method.getName().equals("findViewerIDsAndNewsIDsByViewCreationDate")) {
+
+                        return viewsOfToday;
+                    }
+
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        ViewDeduplicationServiceImpl viewDeduplicationService = new ViewDeduplicationServiceImpl(viewRepository, 10_000, 0.001);
+
+        viewDeduplicationService.loadViewsOfToday();
+
+        return viewDeduplicationService;
+    }
+}
@@ -0,0 +1,161 @@
+package erkamber.services.implementations;
+
+import erkamber.dtos.VoteDto;
+import erkamber.entities.Comment;
+import erkamber.entities.News;
+import erkamber.entities.User;
+import erkamber.enums.VoteTypeComment;
+import erkamber.enums.VoteTypeNews;
+import erkamber.repositories.CommentRepository;
+import erkamber.repositories.NewsRepository;
+import erkamber.repositories.UserRepository;
+import erkamber.repositories.VoteRepository;
+import erkamber.services.interfaces.VoteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that no vote is lost when many users vote on the same news article and comment at the same moment:
+ * after every round of concurrent votes, the counters of the content equal the votes that were applied.
+ */
+@SpringBootTest(properties = "ENVIRONMENT_LOCAL=test")
+class VoteServiceConcurrencyTest {
+
+    private static final int NUMBER_OF_THREADS = 64;
+
+    private static final AtomicInteger uniqueSuffix = new AtomicInteger();
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NewsRepository newsRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    void concurrentVotesAreAllCounted() throws Exception {
+
+        int authorID = saveUser(true).getUserID();
+
+        int newsID = newsRepository.save(new News(0, authorID, "Hot article", "Everybody votes on this article", 0, 0,
+                LocalDateTime.now())).getNewsID();
+
+        int commentID = commentRepository.save(new Comment(0, authorID, newsID, "Everybody votes on this comment", 0, 0,
+                LocalDateTime.now())).getCommentID();
+
+        List<Integer> voterIDs = new ArrayList<>();
+
+        for (int i = 0; i < NUMBER_OF_THREADS; i++) {
+
+            voterIDs.add(saveUser(false).getUserID());
+        }
+
+        // Round 1: the first half upvotes and the second half downvotes, adding 32 upvotes and 32 downvotes
+        voteConcurrently(voterIDs, newsID, commentID, voter -> voter < NUMBER_OF_THREADS / 2);
+
+        assertCounters(newsID, commentID, 32, 32);
+
+        // Round 2: every voter downvotes, so the upvoters swap their votes and the downvoters remove theirs
+        voteConcurrently(voterIDs, newsID, commentID, voter -> false);
+
+        assertCounters(newsID, commentID, 0, 32);
+
+        // Round 3: every voter upvotes, so the first half swaps back and the second half adds a new upvote
+        voteConcurrently(voterIDs, newsID, commentID, voter -> true);
+
+        assertCounters(newsID, commentID, 64, 0);
+    }
+
+    /**
+     * Starts one thread per voter and lets all of them vote on the news article and the comment at the same moment.
+     */
+    private void voteConcurrently(List<Integer> voterIDs, int newsID, int commentID, IntFunction<Boolean> isUpVoteOfVoter)
+            throws Exception {
+
+        ExecutorService voters = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+
+        CountDownLatch startSignal = new CountDownLatch(1);
+
+        List<Future<?>> votes = new ArrayList<>();
+
+        try {
+
+            for (int voter = 0; voter < voterIDs.size(); voter++) {
+
+                int userID = voterIDs.get(voter);
+
+                boolean isUpVote = isUpVoteOfVoter.apply(voter);
+
+                votes.add(voters.submit(() -> {
+
+                    startSignal.await();
+
+                    voteService.addNewVote(new VoteDto(newsID, userID, VoteTypeNews.NEWS.getType(), isUpVote));
+                    voteService.addNewVote(new VoteDto(commentID, userID, VoteTypeComment.COMMENT.getType(), isUpVote));
+
+                    return null;
+                }));
+            }
+
+            startSignal.countDown();
+
+            for (Future<?> vote : votes) {
+
+                vote.get(1, TimeUnit.MINUTES);
+            }
+
+        } finally {
+
+            voters.shutdownNow();
+        }
+    }
+
+    private void assertCounters(int newsID, int commentID, int expectedUpVotes, int expectedDownVotes) {
+
+        News news = newsRepository.findById(newsID).orElseThrow();
+
+        assertEquals(expectedUpVotes, news.getNewsUpVotes());
+        assertEquals(expectedDownVotes, news.getNewsDownVotes());
+        assertVoteRows(newsID, VoteTypeNews.NEWS.getType(), expectedUpVotes, expectedDownVotes);
+
+        Comment comment = commentRepository.findById(commentID).orElseThrow();
+
+        assertEquals(expectedUpVotes, comment.getCommentUpVotes());
+        assertEquals(expectedDownVotes, comment.getCommentDownVotes());
+        assertVoteRows(commentID, VoteTypeComment.COMMENT.getType(), expectedUpVotes, expectedDownVotes);
+    }
+
+    private void assertVoteRows(int contentID, String contentType, int expectedUpVotes, int expectedDownVotes) {
+
+        Object[] voteRows = voteRepository.countUpVotesAndDownVotesOfContent(contentID, contentType).get(0);
+
+        assertEquals(expectedUpVotes, ((Number) voteRows[0]).intValue());
+        assertEquals(expectedDownVotes, ((Number) voteRows[1]).intValue());
+    }
+
+    private User saveUser(boolean reporter) {
+
+        int suffix = uniqueSuffix.incrementAndGet();
+
+        return userRepository.save(new User(0, "First", "Last", "voter" + suffix, "voter" + suffix + "@newslinker.test",
+                "encoded-password", reporter));
+    }
+}
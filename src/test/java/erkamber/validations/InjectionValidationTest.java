@@ -0,0 +1,155 @@
+package erkamber.validations;
+
+import erkamber.configurations.InjectionPatternConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the single-pass scanner gives the same verdicts as the regular expressions it replaced.
+ * <p>
+ * The old patterns are compiled with DOTALL, because the scanner deliberately also checks text with line breaks,
+ * which "." never matched, and with UNICODE_CHARACTER_CLASS, so that {@code \b} treats non-ASCII letters as word
+ * characters on every JDK, as it did on the Java 11 runtime the patterns were written for.
+ */
+class InjectionValidationTest {
+
+    private static final Pattern OLD_INJECTION_PATTERN = Pattern.compile(".*[;|&$`\\'\"<>].*",
+            Pattern.DOTALL | Pattern.UNICODE_CHARACTER_CLASS);
+
+    private static final Pattern OLD_SQL_INJECTION_PATTERN = Pattern.compile(
+            ".*\\b(ALTER|CREATE|DELETE|DROP|EXEC(UTE){0,1}|INSERT( +INTO){0,1}|MERGE|SELECT|UPDATE)\\b.*",
+            Pattern.DOTALL | Pattern.UNICODE_CHARACTER_CLASS);
+
+    // Fragments random texts are assembled from: keywords, near-keywords, boundaries, injection and non-ASCII characters
+    private static final String[] FRAGMENTS = {"SELECT", "SELECTED", "select", "EXEC", "EXECUTE", "EXECUTED", "INSERT", "INTO",
+            "INSERT INTO", "DROP", "DROPS", "UPDATE", "MERGE", "ALTER", "CREATE", "DELETE", "ALT", "SEL", "_", "1", "9", " ", "  ",
+            "\n", "\t", ".", ",", "-", ";", "'", "\"", "<", ">", "$", "`", "|", "&", "\u00e9", "\u03a9", "\u0416", "\u00df", "news", "a", "Z"};
+
+    private final InjectionValidation injectionValidation = new InjectionValidation(new InjectionPatternConfiguration());
+
+    @Test
+    void everyKeywordIsDetectedAsAWholeWord() {
+
+        for (String keyword : List.of("ALTER", "CREATE", "DELETE", "DROP", "EXEC", "EXECUTE", "INSERT", "MERGE", "SELECT", "UPDATE")) {
+
+            assertTrue(injectionValidation.isTextContainingSqlInjection(keyword), keyword);
+            assertTrue(injectionValidation.isTextContainingSqlInjection("please " + keyword + " this"), keyword);
+            assertSameSqlVerdict(keyword);
+            assertSameSqlVerdict("(" + keyword + ")");
+        }
+    }
+
+    @Test
+    void insertIntoIsDetected() {
+
+        assertTrue(injectionValidation.isTextContainingSqlInjection("INSERT INTO users"));
+        assertTrue(injectionValidation.isTextContainingSqlInjection("INSERT   INTO users"));
+
+        assertSameSqlVerdict("INSERT INTO users");
+        assertSameSqlVerdict("INSERTINTO users");
+        assertSameSqlVerdict("INSERT INTOX");
+    }
+
+    @Test
+    void keywordsEmbeddedInOtherWordsAreIgnored() {
+
+        for (String text : List.of("SELECTED", "UNSELECT", "EXECUTED", "DROPS", "MERGED", "UPDATES", "ALTERNATIVE", "CREATED",
+                "select", "Select", "SEL ECT")) {
+
+            assertFalse(injectionValidation.isTextContainingSqlInjection(text), text);
+            assertSameSqlVerdict(text);
+        }
+    }
+
+    @Test
+    void underscoresAndDigitsAreWordCharacters() {
+
+        for (String text : List.of("_SELECT", "SELECT_", "SELECT1", "1SELECT", "DROP_TABLE", "x_DROP", "DROP-TABLE", "9 DROP 9",
+                "SELECT.", ".SELECT")) {
+
+            assertSameSqlVerdict(text);
+        }
+
+        assertFalse(injectionValidation.isTextContainingSqlInjection("SELECT_ALL"));
+        assertTrue(injectionValidation.isTextContainingSqlInjection("DROP-TABLE"));
+    }
+
+    @Test
+    void nonAsciiLettersAreWordCharacters() {
+
+        for (String text : List.of("\u00e9SELECT", "SELECT\u00e9", "\u03a9DROP", "DROP\u0416", "\u00e9 SELECT \u00df", "stra\u00dfe UPDATE", "\u65e5\u672cDELETE")) {
+
+            assertSameSqlVerdict(text);
+            assertSameInjectionVerdict(text);
+        }
+
+        assertFalse(injectionValidation.isTextContainingSqlInjection("\u00e9SELECT"));
+        assertTrue(injectionValidation.isTextContainingSqlInjection("\u00e9 SELECT \u00df"));
+    }
+
+    @Test
+    void multiLineTextIsChecked() {
+
+        assertTrue(injectionValidation.isTextContainingSqlInjection("first line\nDROP TABLE news\nlast line"));
+        assertTrue(injectionValidation.isTextContainingInjection("first line\n<script>\nlast line"));
+        assertFalse(injectionValidation.isTextContainingSqlInjection("first line\nSELECTED\r\nlast line"));
+        assertFalse(injectionValidation.isTextContainingInjection("first line\nsecond line"));
+
+        assertSameSqlVerdict("INSERT\nINTO");
+        assertSameSqlVerdict("SELECT\r\n");
+    }
+
+    @Test
+    void everyInjectionCharacterIsDetected() {
+
+        for (char injectionCharacter : ";|&$`'\"<>".toCharArray()) {
+
+            String text = "text " + injectionCharacter + " text";
+
+            assertTrue(injectionValidation.isTextContainingInjection(text), text);
+            assertSameInjectionVerdict(text);
+        }
+
+        assertFalse(injectionValidation.isTextContainingInjection("plain text, with punctuation: (a) - b! c? 100%"));
+    }
+
+    @Test
+    void randomTextsGetTheSameVerdictsAsTheOldPatterns() {
+
+        Random random = new Random(20231018);
+
+        for (int i = 0; i < 20_000; i++) {
+
+            StringBuilder text = new StringBuilder();
+
+            int numberOfFragments = random.nextInt(8);
+
+            for (int fragment = 0; fragment < numberOfFragments; fragment++) {
+
+                text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+
+            assertSameSqlVerdict(text.toString());
+            assertSameInjectionVerdict(text.toString());
+        }
+    }
+
+    private void assertSameSqlVerdict(String text) {
+
+        assertEquals(OLD_SQL_INJECTION_PATTERN.matcher(text).matches(), injectionValidation.isTextContainingSqlInjection(text),
+                "SQL injection verdict of \"" + text + "\"");
+    }
+
+    private void assertSameInjectionVerdict(String text) {
+
+        assertEquals(OLD_INJECTION_PATTERN.matcher(text).matches(), injectionValidation.isTextContainingInjection(text),
+                "Injection verdict of \"" + text + "\"");
+    }
+}